@@ -0,0 +1,70 @@
+package com.library.management.benchmark;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.pagination.PageTotals;
+import com.library.management.service.impl.BookServiceImpl;
+import com.library.management.service.impl.SearchServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog reads against a {@link SeededLibrary}, one 20-book page per invocation.
+ *
+ * <ul>
+ *   <li>{@code filtersByTitle}: {@code getBookListWithFilters} with a title only, answered
+ *       by the search index plus one lookup by id;</li>
+ *   <li>{@code filtersByCategoryAndAvailability}: the same call with non-text filters, a JPA
+ *       specification query for one slice, with no count;</li>
+ *   <li>{@code searchBooks}: the free-text search across title, author, category and ISBN.</li>
+ * </ul>
+ *
+ * Query terms rotate through the seeded title words so no single posting list dominates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogQueryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private BookServiceImpl bookService;
+    private SearchServiceImpl searchService;
+    private int next;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        bookService = library.bean(BookServiceImpl.class);
+        searchService = library.bean(SearchServiceImpl.class);
+    }
+
+    @Benchmark
+    public PaginatedResponse<BookDTO> filtersByTitle() {
+        BookSearchRequest request = new BookSearchRequest();
+        request.setTitle(nextWord());
+        return bookService.getBookListWithFilters(1, PAGE_SIZE, request, PageTotals.NONE);
+    }
+
+    @Benchmark
+    public PaginatedResponse<BookDTO> filtersByCategoryAndAvailability() {
+        BookSearchRequest request = new BookSearchRequest();
+        request.setCategory(SeededLibrary.CATEGORIES[next++ % SeededLibrary.CATEGORIES.length]);
+        request.setAvailable(true);
+        return bookService.getBookListWithFilters(1, PAGE_SIZE, request, PageTotals.NONE);
+    }
+
+    @Benchmark
+    public Page<BookDTO> searchBooks() {
+        return searchService.searchBooks(nextWord(), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    private String nextWord() {
+        return SeededLibrary.TITLE_WORDS[next++ % SeededLibrary.TITLE_WORDS.length];
+    }
+}
@@ -0,0 +1,50 @@
+package com.library.management.benchmark;
+
+import com.library.management.dto.LoanDTO;
+import com.library.management.service.impl.LoanServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One borrow followed by the matching return, i.e. a full circulation round trip through
+ * {@link LoanServiceImpl} with its copy and loan-limit checks, against a {@link SeededLibrary}.
+ * Each invocation picks a random book and member and leaves available copies and active
+ * loans as it found them; only the loan history grows. Run with {@code -t 8} to see
+ * contention on the copy and loan counters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CirculationBenchmark {
+
+    private LoanServiceImpl loanService;
+    private SplittableRandom random;
+    private int books;
+    private int members;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        loanService = library.bean(LoanServiceImpl.class);
+        random = new SplittableRandom(Thread.currentThread().threadId());
+        books = library.books;
+        members = library.members();
+    }
+
+    @Benchmark
+    public LoanDTO borrowAndReturn() {
+        LoanDTO request = new LoanDTO();
+        request.setBookId(1L + random.nextInt(books));
+        request.setMemberId(1L + random.nextInt(members));
+        try {
+            return loanService.returnBook(loanService.borrowBook(request).getId());
+        } catch (IllegalStateException e) {
+            // Another thread holds the last copy or the member's last loan slot.
+            return null;
+        }
+    }
+}
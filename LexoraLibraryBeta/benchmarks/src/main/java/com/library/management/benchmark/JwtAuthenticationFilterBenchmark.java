@@ -0,0 +1,92 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.User;
+import com.library.management.security.JwtAuthenticationFilter;
+import com.library.management.security.JwtService;
+import com.library.management.security.ValidatedTokenCache;
+import com.library.management.service.UserService;
+import io.jsonwebtoken.Claims;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a bearer token.
+ *
+ * <ul>
+ *   <li>{@code legacyValidation}: the sequence the filter used to run, three full JWT parses
+ *       and a user lookup;</li>
+ *   <li>{@code filter} with {@code tokenCache=false}: one parse and a user lookup;</li>
+ *   <li>{@code filter} with {@code tokenCache=true}: a hash and a cache lookup;</li>
+ *   <li>{@code isTokenValid}: {@link JwtService#isTokenValid(String, org.springframework.security.core.userdetails.UserDetails)}
+ *       on its own, one parse plus the subject and expiry checks.</li>
+ * </ul>
+ *
+ * The user lookup is a stub, so the database round trip a real miss pays is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtService jwtService;
+    private UserService userService;
+    private User user;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+
+        user = new User();
+        user.setUsername("librarian");
+        user.addRole("LIBRARIAN");
+        userService = Mockito.mock(UserService.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userService.loadUserByUsername("librarian")).thenReturn(user);
+
+        filter = new JwtAuthenticationFilter(jwtService, userService,
+                new ValidatedTokenCache(tokenCache, 10_000, Duration.ofMinutes(5)));
+        token = jwtService.generateToken(user);
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public void legacyValidation(Blackhole blackhole) {
+        String username = jwtService.extractUsername(token);
+        blackhole.consume(userService.loadUserByUsername(username));
+        blackhole.consume(jwtService.extractUsername(token));
+        blackhole.consume(jwtService.extractClaim(token, Claims::getExpiration).before(new Date()));
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,151 @@
+package com.library.management.benchmark;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.MemberDTO;
+import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.entity.Book;
+import com.library.management.entity.LateFee;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.mapper.BookMapper;
+import com.library.management.mapper.LateFeeMapper;
+import com.library.management.mapper.LoanMapper;
+import com.library.management.mapper.MemberMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for one page of {@code pageSize} rows, as the services do it after
+ * every read: the explicit mappers in {@code com.library.management.mapper}, the reflective
+ * {@link BeanUtils#copyProperties} they replaced (as a baseline), and wrapping the mapped
+ * page with {@link PaginatedResponse#from}. No database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private final List<Book> books = new ArrayList<>();
+    private final List<Member> members = new ArrayList<>();
+    private final List<Loan> loans = new ArrayList<>();
+    private final List<LateFee> lateFees = new ArrayList<>();
+    private PageImpl<BookDTO> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookDTO> dtos = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            Book book = new Book();
+            book.setId(i);
+            book.setTitle("Silent harbor " + i);
+            book.setAuthor("Ada Okafor");
+            book.setIsbn(String.valueOf(9780000000000L + i));
+            book.setCategory("Fiction");
+            book.setPublicationYear(2001);
+            book.setTotalCopies(3);
+            book.setAvailableCopies(2);
+            book.setCreatedAt(now);
+            book.setUpdatedAt(now);
+            books.add(book);
+
+            Member member = new Member();
+            member.setId(i);
+            member.setName("Reader " + i);
+            member.setEmail("reader" + i + "@example.com");
+            member.setMembershipId("M" + i);
+            member.setCreatedAt(now);
+            member.setUpdatedAt(now);
+            members.add(member);
+
+            Loan loan = new Loan();
+            loan.setId(i);
+            loan.setBook(book);
+            loan.setMember(member);
+            loan.setBorrowDate(now.minusDays(20));
+            loan.setExpectedReturnDate(now.minusDays(6));
+            loan.setStatus(Loan.LoanStatus.OVERDUE);
+            loans.add(loan);
+
+            LateFee fee = new LateFee();
+            fee.setId(i);
+            fee.setLoan(loan);
+            fee.setAmount(new BigDecimal("6.00"));
+            fee.setDaysOverdue(6);
+            fee.setStatus(LateFee.FeeStatus.PENDING);
+            lateFees.add(fee);
+
+            BookDTO dto = new BookDTO();
+            dto.setId(i);
+            dto.setTitle(book.getTitle());
+            dtos.add(dto);
+        }
+        page = new PageImpl<>(dtos, PageRequest.of(3, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public void bookToDto(Blackhole blackhole) {
+        for (Book book : books) {
+            blackhole.consume(BookMapper.toDTO(book));
+        }
+    }
+
+    @Benchmark
+    public void memberToDto(Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(MemberMapper.toDTO(member));
+        }
+    }
+
+    @Benchmark
+    public void loanToDto(Blackhole blackhole) {
+        for (Loan loan : loans) {
+            blackhole.consume(LoanMapper.toDTO(loan));
+        }
+    }
+
+    @Benchmark
+    public void lateFeeToDto(Blackhole blackhole) {
+        for (LateFee fee : lateFees) {
+            blackhole.consume(LateFeeMapper.toDTO(fee));
+        }
+    }
+
+    @Benchmark
+    public void bookCopyProperties(Blackhole blackhole) {
+        for (Book book : books) {
+            BookDTO dto = new BookDTO();
+            BeanUtils.copyProperties(book, dto);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void memberCopyProperties(Blackhole blackhole) {
+        for (Member member : members) {
+            MemberDTO dto = new MemberDTO();
+            BeanUtils.copyProperties(member, dto);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public PaginatedResponse<BookDTO> paginatedResponseFrom() {
+        return PaginatedResponse.from(page);
+    }
+}
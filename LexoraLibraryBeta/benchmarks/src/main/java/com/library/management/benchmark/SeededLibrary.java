@@ -0,0 +1,180 @@
+package com.library.management.benchmark;
+
+import com.library.management.LibraryManagementApplication;
+import com.library.management.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The application without its web layer, on an in-memory H2 database seeded with a
+ * synthetic catalog of {@code books} titles, one member per 20 books and one returned loan
+ * per two books. Ids are dense and start at 1. The seed is fixed, so every fork sees the
+ * same data.
+ *
+ * <p>Seeding runs before the search index warms up, and setup waits for the index, so
+ * measurements never hit the JPA fallback by accident.
+ */
+@State(Scope.Benchmark)
+public class SeededLibrary {
+    static final String[] TITLE_WORDS = {
+            "river", "shadow", "garden", "winter", "empire", "silent", "glass", "harbor", "iron", "paper",
+            "forest", "midnight", "golden", "storm", "lantern", "ocean", "broken", "hidden", "crimson", "distant"
+    };
+    static final String[] CATEGORIES = {
+            "Fiction", "Science", "History", "Poetry", "Biography", "Travel",
+            "Mystery", "Fantasy", "Philosophy", "Art", "Children", "Technology"
+    };
+    private static final String[] FIRST_NAMES = {"Ada", "Jorge", "Mei", "Olu", "Ingrid", "Ravi", "Lucia", "Tomas"};
+    private static final String[] LAST_NAMES = {"Okafor", "Lindqvist", "Moreau", "Tanaka", "Silva", "Novak", "Haddad", "Reyes"};
+    private static final int BATCH_SIZE = 5_000;
+    private static final Duration INDEX_TIMEOUT = Duration.ofMinutes(10);
+
+    @Param({"10000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws InterruptedException {
+        start(WebApplicationType.NONE);
+    }
+
+    /**
+     * Boots and seeds the application and waits for the search index. {@code overrides} are
+     * command line arguments that replace the defaults below with the same name.
+     */
+    public void start(WebApplicationType webApplicationType, String... overrides) throws InterruptedException {
+        SpringApplication application = new SpringApplication(LibraryManagementApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        application.addListeners((ApplicationListener<ApplicationStartedEvent>) event ->
+                seed(event.getApplicationContext().getBean(JdbcTemplate.class)));
+        // Command line arguments so they win over the application.properties on the classpath.
+        context = application.run(arguments(overrides,
+                "--spring.main.banner-mode=off",
+                // JPA auditing is enabled on both the application class and JpaConfig.
+                "--spring.main.allow-bean-definition-overriding=true",
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.flyway.enabled=false",
+                "--library.loans.overdue-sweep.cron=-",
+                "--library.fees.accrual.cron=-",
+                "--logging.level.root=WARN",
+                "--logging.level.com.library.management=WARN",
+                "--logging.level.org.hibernate=WARN"));
+
+        BookSearchIndex index = context.getBean(BookSearchIndex.class);
+        long deadline = System.nanoTime() + INDEX_TIMEOUT.toNanos();
+        while (!index.isReady()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Search index not ready after " + INDEX_TIMEOUT);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int members() {
+        return Math.max(100, books / 20);
+    }
+
+    // A repeated option would be joined with a comma rather than replaced, so drop the default.
+    private static String[] arguments(String[] overrides, String... defaults) {
+        List<String> arguments = new ArrayList<>();
+        for (String argument : defaults) {
+            String name = argument.substring(0, argument.indexOf('=') + 1);
+            if (Arrays.stream(overrides).noneMatch(override -> override.startsWith(name))) {
+                arguments.add(argument);
+            }
+        }
+        arguments.addAll(Arrays.asList(overrides));
+        return arguments.toArray(String[]::new);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= books; i++) {
+            int copies = 1 + random.nextInt(5);
+            rows.add(new Object[]{
+                    i, title(random), name(random), String.valueOf(9780000000000L + i),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], 1950 + random.nextInt(75),
+                    copies, copies, now, now});
+            flush(jdbcTemplate, rows, i == books, """
+                    INSERT INTO books (id, title, author, isbn, category, publication_year, total_copies,
+                                       available_copies, created_at, updated_at, version)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)""");
+        }
+        // Book ids come from a pooled sequence; the next value Hibernate reads is the top of its first block.
+        jdbcTemplate.execute("ALTER SEQUENCE books_seq RESTART WITH " + (books + 50));
+
+        int members = members();
+        for (int i = 1; i <= members; i++) {
+            rows.add(new Object[]{name(random), "reader" + i + "@example.com", "M" + i, now, now});
+            flush(jdbcTemplate, rows, i == members, """
+                    INSERT INTO members (name, email, membership_id, active, created_at, updated_at)
+                    VALUES (?, ?, ?, TRUE, ?, ?)""");
+        }
+
+        int loans = books / 2;
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        for (int i = 1; i <= loans; i++) {
+            LocalDateTime borrowed = start.plusMinutes(random.nextInt(500_000));
+            rows.add(new Object[]{
+                    i, 1 + random.nextInt(books), 1 + random.nextInt(members),
+                    Timestamp.valueOf(borrowed), Timestamp.valueOf(borrowed.plusDays(14)),
+                    Timestamp.valueOf(borrowed.plusDays(random.nextInt(20))), now, now});
+            flush(jdbcTemplate, rows, i == loans, """
+                    INSERT INTO loans (id, book_id, member_id, borrow_date, expected_return_date, actual_return_date,
+                                       status, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, 'RETURNED', ?, ?)""");
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE loans_seq RESTART WITH " + (loans + 50));
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> rows, boolean last, String sql) {
+        if (rows.size() == BATCH_SIZE || (last && !rows.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static String title(Random random) {
+        String first = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+        String second = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+        return Character.toUpperCase(first.charAt(0)) + first.substring(1) + " " + second + " " + random.nextInt(1000);
+    }
+
+    private static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.management.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Stands in for a slow database: every SQL statement Hibernate prepares waits
+ * {@code library.benchmark.db-latency} first, with its connection held, as it would for a
+ * round trip to a loaded server.
+ */
+public class SlowStatements implements StatementInspector {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    static final String LATENCY_PROPERTY = "library.benchmark.db-latency";
+
+    private final Duration latency = Duration.parse(System.getProperty(LATENCY_PROPERTY, "PT0S"));
+
+    @Override
+    public String inspect(String sql) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
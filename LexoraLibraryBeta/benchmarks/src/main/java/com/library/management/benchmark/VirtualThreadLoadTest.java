@@ -0,0 +1,237 @@
+package com.library.management.benchmark;
+
+import com.library.management.dto.UserDTO;
+import com.library.management.security.JwtService;
+import com.library.management.service.UserService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test for the virtual-thread mode. Boots the web application once with platform
+ * request threads and once with {@code spring.threads.virtual.enabled}, drives
+ * {@code GET /api/loans} from {@code clients} concurrent clients, and prints throughput and
+ * latency percentiles for each mode. Every SQL statement is slowed by {@code db-latency}
+ * ({@link SlowStatements}), so the platform run is bounded by Tomcat's 200 request threads
+ * while the virtual run is bounded by the {@code pool}-sized connection pool.
+ *
+ * <p>The virtual run also records {@code jdk.VirtualThreadPinned} events and prints the
+ * first non-JDK frame of each pinned stack, so a {@code synchronized} block that blocks
+ * (in our code, the JDBC driver or Hikari) shows up by name.
+ *
+ * <p>Arguments are {@code name=value} pairs; see {@link #DEFAULTS}. The clients run in the
+ * same JVM as the server, so compare runs from the same machine only.
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "modes", "platform,virtual",
+            "clients", "2000",
+            "warmup", "PT10S",
+            "duration", "PT30S",
+            "db-latency", "PT0.02S",
+            "pool", "400",
+            "books", "10000");
+    private static final Duration PIN_THRESHOLD = Duration.ofMillis(1);
+
+    private VirtualThreadLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0 || !DEFAULTS.containsKey(arg.substring(0, split))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected one of " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        System.setProperty(SlowStatements.LATENCY_PROPERTY, options.get("db-latency"));
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : options.get("modes").split(",")) {
+            results.add(run(mode.trim(), options));
+        }
+
+        System.out.printf("%nGET /api/loans, %s clients, %s per statement, pool of %s%n",
+                options.get("clients"), options.get("db-latency"), options.get("pool"));
+        System.out.printf("%-9s %10s %8s %12s %9s %9s %9s%n",
+                "mode", "requests", "errors", "requests/s", "p50 ms", "p99 ms", "max ms");
+        results.forEach(Result::print);
+    }
+
+    private static Result run(String mode, Map<String, String> options) throws Exception {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+        SeededLibrary library = new SeededLibrary();
+        library.books = Integer.parseInt(options.get("books"));
+        library.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=" + options.get("pool"),
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--library.metrics.statements.enabled=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SlowStatements.class.getName(),
+                "--library.audit.overflow-policy=DROP");
+        try (RecordingStream pinning = new RecordingStream()) {
+            Map<String, LongAdder> pinnedAt = new ConcurrentHashMap<>();
+            if (virtual) {
+                pinning.enable("jdk.VirtualThreadPinned").withThreshold(PIN_THRESHOLD).withStackTrace();
+                pinning.onEvent("jdk.VirtualThreadPinned", event ->
+                        pinnedAt.computeIfAbsent(firstApplicationFrame(event), frame -> new LongAdder()).increment());
+                pinning.startAsync();
+            }
+
+            URI uri = URI.create("http://localhost:" + library.bean(Environment.class).getProperty("local.server.port")
+                    + "/api/api/loans?pageNo=1&pageSize=10");
+            Result result = drive(mode, uri, token(library), Integer.parseInt(options.get("clients")),
+                    Duration.parse(options.get("warmup")), Duration.parse(options.get("duration")));
+
+            if (virtual) {
+                System.out.printf("%nPinned virtual threads (over %d ms) in the %s run:%n", PIN_THRESHOLD.toMillis(), mode);
+                if (pinnedAt.isEmpty()) {
+                    System.out.println("  none");
+                }
+                pinnedAt.entrySet().stream()
+                        .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                        .limit(15)
+                        .forEach(entry -> System.out.printf("  %8d  %s%n", entry.getValue().sum(), entry.getKey()));
+            }
+            return result;
+        } finally {
+            library.stop();
+        }
+    }
+
+    private static String token(SeededLibrary library) {
+        UserDTO librarian = new UserDTO();
+        librarian.setUsername("load-test");
+        librarian.setPassword("load-test-password");
+        librarian.setEmail("load-test@example.com");
+        librarian.setName("Load Test");
+        librarian.setRole("LIBRARIAN");
+        UserService userService = library.bean(UserService.class);
+        userService.createUser(librarian);
+        return library.bean(JwtService.class).generateToken(userService.loadUserByUsername("load-test"));
+    }
+
+    private static Result drive(String mode, URI uri, String token, int clients, Duration warmup, Duration duration)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        long[][] latencies = new long[clients][];
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int clientIndex = i;
+                executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < measureTo) {
+                        long sent = System.nanoTime();
+                        String error;
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            error = response.statusCode() == 200 ? null : "HTTP " + response.statusCode() + " " + response.body();
+                        } catch (Exception e) {
+                            error = e.toString();
+                        }
+                        long received = System.nanoTime();
+                        if (sent >= measureFrom && received <= measureTo) {
+                            if (error != null) {
+                                errors.increment();
+                                firstError.compareAndSet(null, error);
+                            }
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = received - sent;
+                        }
+                    }
+                    latencies[clientIndex] = Arrays.copyOf(samples, count);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(warmup.plus(duration).plusMinutes(5).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        if (firstError.get() != null) {
+            System.out.printf("%nFirst error in the %s run: %s%n", mode, firstError.get());
+        }
+        long[] all = Arrays.stream(latencies).filter(samples -> samples != null).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return new Result(mode, all, errors.sum(), duration);
+    }
+
+    private static String firstApplicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "(JDK frames only)";
+    }
+
+    private record Result(String mode, long[] sortedLatencies, long errors, Duration duration) {
+
+        void print() {
+            System.out.printf("%-9s %10d %8d %12.1f %9.1f %9.1f %9.1f%n",
+                    mode, sortedLatencies.length, errors,
+                    sortedLatencies.length / (duration.toNanos() / 1e9),
+                    millis(percentile(0.50)), millis(percentile(0.99)),
+                    millis(sortedLatencies.length == 0 ? 0 : sortedLatencies[sortedLatencies.length - 1]));
+        }
+
+        private long percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(quantile * sortedLatencies.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.library.management.audit;
+
+import com.library.management.entity.AuditLog;
+import com.library.management.repository.AuditLogRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind for audit entries. Callers hand entries to a bounded queue and return; a
+ * single background thread drains the queue and inserts up to {@code batch-size} entries
+ * per transaction as one JDBC batch.
+ *
+ * <p>When the queue is full the {@link OverflowPolicy} decides: {@code BLOCK} waits up to
+ * {@code block-timeout} for space and then drops, {@code DROP} drops straight away. Every
+ * dropped entry is logged and counted in {@code library.audit.dropped}. On shutdown the
+ * writer stops accepting entries and writes out whatever is still queued.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final boolean virtualThreads;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Timer writeLag;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${library.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${library.audit.batch-size:100}") int batchSize,
+                          @Value("${library.audit.flush-interval:PT1S}") Duration flushInterval,
+                          @Value("${library.audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                          @Value("${library.audit.block-timeout:PT0.5S}") Duration blockTimeout,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.virtualThreads = virtualThreads;
+
+        Gauge.builder("library.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("library.audit.written", written, AtomicLong::get)
+                .description("Audit entries written")
+                .register(meterRegistry);
+        FunctionCounter.builder("library.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit entries dropped because the queue was full or closed")
+                .register(meterRegistry);
+        FunctionCounter.builder("library.audit.failed", failed, AtomicLong::get)
+                .description("Audit entries lost to failed inserts")
+                .register(meterRegistry);
+        this.writeLag = Timer.builder("library.audit.write.lag")
+                .description("Time from an audit entry being queued to it being committed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        worker = builder.name("audit-log-writer").start(this::drainLoop);
+    }
+
+    /**
+     * Queues an entry for writing. Returns false if it was dropped.
+     */
+    public boolean submit(AuditLog auditLog) {
+        Pending pending = new Pending(auditLog, System.nanoTime());
+        boolean queued = false;
+        if (accepting) {
+            try {
+                queued = overflowPolicy == OverflowPolicy.BLOCK
+                        ? queue.offer(pending, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                        : queue.offer(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (queued) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+            logger.warn("Audit queue full or closed, dropped {} of {} ID: {} by {}", auditLog.getAction(),
+                    auditLog.getEntityType(), auditLog.getEntityId(), auditLog.getPerformedBy());
+        }
+        return queued;
+    }
+
+    /**
+     * Waits until everything queued so far has been written or the timeout passes.
+     */
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.get() + failed.get() < accepted.get()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        running = false;
+        if (worker != null) {
+            // Not interrupted, so a batch being written is allowed to commit.
+            worker.join(flushInterval.plusSeconds(30).toMillis());
+        }
+        // The worker stops at its next batch boundary; anything still queued is written here.
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        logger.info("Audit writer stopped after writing {} entries ({} dropped, {} failed)",
+                written.get(), dropped.get(), failed.get());
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                auditLogRepository.saveAll(batch.stream().map(Pending::auditLog).toList());
+            });
+            long now = System.nanoTime();
+            batch.forEach(pending -> writeLag.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    private record Pending(AuditLog auditLog, long enqueuedAt) {
+    }
+}
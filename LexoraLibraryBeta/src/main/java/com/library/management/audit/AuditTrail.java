@@ -0,0 +1,72 @@
+package com.library.management.audit;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.entity.AuditLog;
+import com.library.management.event.BookCreated;
+import com.library.management.event.BookDeleted;
+import com.library.management.event.BookUpdated;
+import com.library.management.event.DomainEventConsumer;
+import com.library.management.event.RecordedEvent;
+import com.library.management.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Audit entries for catalog changes, written from the outbox rather than queued in memory,
+ * so an entry exists for every committed change even across a crash. Each delivered batch is
+ * inserted in one transaction as one JDBC batch. Entries carry the user and time of the
+ * change; a batch delivered twice is written twice.
+ */
+@Component
+public class AuditTrail implements DomainEventConsumer {
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AuditTrail(AuditLogRepository auditLogRepository, PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void accept(List<RecordedEvent> events) {
+        List<AuditLog> entries = events.stream().map(AuditTrail::entryFor).flatMap(Optional::stream).toList();
+        if (entries.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(entries.size());
+            auditLogRepository.saveAll(entries);
+        });
+    }
+
+    private static Optional<AuditLog> entryFor(RecordedEvent recorded) {
+        return switch (recorded.event()) {
+            case BookCreated created -> Optional.of(entry(recorded, "CREATE", created.book(), "Created new book: "));
+            case BookUpdated updated -> Optional.of(entry(recorded, "UPDATE", updated.after(), "Updated book: "));
+            case BookDeleted deleted -> Optional.of(entry(recorded, "DELETE", deleted.book(), "Deleted book: "));
+            default -> Optional.empty();
+        };
+    }
+
+    private static AuditLog entry(RecordedEvent recorded, String action, BookDTO book, String details) {
+        return AuditLog.builder()
+                .action(action)
+                .entityType("BOOK")
+                .entityId(book.getId())
+                .details(details + book.getTitle())
+                .performedBy(recorded.performedBy())
+                .createdAt(recorded.occurredAt())
+                .build();
+    }
+}
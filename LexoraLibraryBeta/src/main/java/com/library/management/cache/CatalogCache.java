@@ -0,0 +1,192 @@
+package com.library.management.cache;
+
+import com.library.management.config.CacheConfig;
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.MemberDTO;
+import com.library.management.util.TransactionCallbacks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for the catalog lookups that dominate traffic: books by id and ISBN,
+ * members by id, email and membership ID. Books and members are cached as DTOs by id, and
+ * each natural key maps to that id, so a change only has to evict the id and the natural
+ * keys it had. Only hits are cached; a lookup that finds nothing goes to the database
+ * every time.
+ *
+ * <p>Evictions run after commit, and a read that loaded a row just before a change committed
+ * could put the old DTO back. Each eviction therefore moves a generation, and a load only
+ * keeps its put if the generation is the one it read before querying: the book's or
+ * member's own for lookups by id, and one for all books or all members for lookups by
+ * natural key, whose id is not known until the row is loaded. Generations are local to the
+ * node, so with a shared cache backend a load on another node can still put back a stale
+ * DTO until it expires. Returned DTOs may be shared with the cache and must not be modified.
+ */
+@Component
+public class CatalogCache {
+    private static final String EMAIL = "email:";
+    private static final String MEMBERSHIP_ID = "membership:";
+
+    private final Cache books;
+    private final Cache bookIsbns;
+    private final Cache members;
+    private final Cache memberKeys;
+    private final Generations bookGenerations = new Generations();
+    private final Generations memberGenerations = new Generations();
+
+    public CatalogCache(CacheManager cacheManager) {
+        this.books = cache(cacheManager, CacheConfig.BOOKS);
+        this.bookIsbns = cache(cacheManager, CacheConfig.BOOK_ISBNS);
+        this.members = cache(cacheManager, CacheConfig.MEMBERS);
+        this.memberKeys = cache(cacheManager, CacheConfig.MEMBER_KEYS);
+    }
+
+    public Optional<BookDTO> book(Long id, Function<Long, Optional<BookDTO>> loader) {
+        BookDTO cached = books.get(id, BookDTO.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = bookGenerations.of(id);
+        Optional<BookDTO> loaded = loader.apply(id);
+        loaded.ifPresent(book -> putBook(book, () -> bookGenerations.of(id) != generation));
+        return loaded;
+    }
+
+    public Optional<BookDTO> bookByIsbn(String isbn, Function<String, Optional<BookDTO>> loader) {
+        BookDTO cached = byKey(bookIsbns, isbn, books, BookDTO.class);
+        if (cached != null && isbn.equals(cached.getIsbn())) {
+            return Optional.of(cached);
+        }
+        long generation = bookGenerations.total();
+        Optional<BookDTO> loaded = loader.apply(isbn);
+        loaded.ifPresent(book -> putBook(book, () -> bookGenerations.total() != generation));
+        return loaded;
+    }
+
+    public Optional<MemberDTO> member(Long id, Function<Long, Optional<MemberDTO>> loader) {
+        MemberDTO cached = members.get(id, MemberDTO.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = memberGenerations.of(id);
+        Optional<MemberDTO> loaded = loader.apply(id);
+        loaded.ifPresent(member -> putMember(member, () -> memberGenerations.of(id) != generation));
+        return loaded;
+    }
+
+    public Optional<MemberDTO> memberByEmail(String email, Function<String, Optional<MemberDTO>> loader) {
+        MemberDTO cached = byKey(memberKeys, EMAIL + email, members, MemberDTO.class);
+        if (cached != null && email.equals(cached.getEmail())) {
+            return Optional.of(cached);
+        }
+        long generation = memberGenerations.total();
+        Optional<MemberDTO> loaded = loader.apply(email);
+        loaded.ifPresent(member -> putMember(member, () -> memberGenerations.total() != generation));
+        return loaded;
+    }
+
+    public Optional<MemberDTO> memberByMembershipId(String membershipId,
+                                                    Function<String, Optional<MemberDTO>> loader) {
+        MemberDTO cached = byKey(memberKeys, MEMBERSHIP_ID + membershipId, members, MemberDTO.class);
+        if (cached != null && membershipId.equals(cached.getMembershipId())) {
+            return Optional.of(cached);
+        }
+        long generation = memberGenerations.total();
+        Optional<MemberDTO> loaded = loader.apply(membershipId);
+        loaded.ifPresent(member -> putMember(member, () -> memberGenerations.total() != generation));
+        return loaded;
+    }
+
+    /**
+     * Drops the book, and the given ISBNs it had, once the surrounding transaction commits.
+     */
+    public void evictBook(Long id, String... isbns) {
+        List<String> keys = List.of(isbns);
+        TransactionCallbacks.afterCommit(() -> {
+            bookGenerations.advance(id);
+            books.evict(id);
+            keys.forEach(bookIsbns::evict);
+        });
+    }
+
+    /**
+     * Drops the member, and the given emails they had, once the surrounding transaction
+     * commits. The membership ID never changes, so its key keeps pointing at the member.
+     */
+    public void evictMember(Long id, String... emails) {
+        List<String> keys = List.of(emails);
+        TransactionCallbacks.afterCommit(() -> {
+            memberGenerations.advance(id);
+            members.evict(id);
+            keys.forEach(email -> memberKeys.evict(EMAIL + email));
+        });
+    }
+
+    // An eviction moves the generation before it evicts, so a put it missed is caught by
+    // the check after the put. Only the DTO is dropped; a natural key left pointing at its
+    // id just misses.
+    private void putBook(BookDTO book, BooleanSupplier evictedSinceLoad) {
+        books.put(book.getId(), book);
+        bookIsbns.put(book.getIsbn(), book.getId());
+        if (evictedSinceLoad.getAsBoolean()) {
+            books.evict(book.getId());
+        }
+    }
+
+    private void putMember(MemberDTO member, BooleanSupplier evictedSinceLoad) {
+        members.put(member.getId(), member);
+        memberKeys.put(EMAIL + member.getEmail(), member.getId());
+        if (member.getMembershipId() != null) {
+            memberKeys.put(MEMBERSHIP_ID + member.getMembershipId(), member.getId());
+        }
+        if (evictedSinceLoad.getAsBoolean()) {
+            members.evict(member.getId());
+        }
+    }
+
+    private static <T> T byKey(Cache keys, Object key, Cache values, Class<T> type) {
+        Long id = keys.get(key, Long.class);
+        return id == null ? null : values.get(id, type);
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "No " + name + " cache");
+    }
+
+    /**
+     * Eviction generations striped by id, plus a count of every eviction. An eviction only
+     * ever turns away extra puts.
+     */
+    private static final class Generations {
+        private static final int STRIPES = 1024;
+
+        private final AtomicLongArray stripes = new AtomicLongArray(STRIPES);
+        private final AtomicLong total = new AtomicLong();
+
+        long of(Long id) {
+            return stripes.get(stripe(id));
+        }
+
+        long total() {
+            return total.get();
+        }
+
+        void advance(Long id) {
+            stripes.incrementAndGet(stripe(id));
+            total.incrementAndGet();
+        }
+
+        private static int stripe(Long id) {
+            return (int) Math.floorMod(id, (long) STRIPES);
+        }
+    }
+}
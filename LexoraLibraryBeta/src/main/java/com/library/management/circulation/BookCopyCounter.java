@@ -0,0 +1,179 @@
+package com.library.management.circulation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of how many copies of each book are left to lend. It sits in front of
+ * the conditional {@code UPDATE} in {@code BookRepository.reserveCopy} so that borrows
+ * of an exhausted title are rejected without touching the database.
+ *
+ * <p>Each book has its own atomic slot, so contention is limited to borrows of the same
+ * title. The database stays authoritative: a slot is only a hint, it is re-seeded from
+ * the loaded book once it is older than {@code refresh-after}, and it is dropped whenever
+ * the book's copy count is edited.
+ *
+ * <p>Slots live in this node's memory and only see returns made through it, so a return on
+ * another node leaves this one rejecting the title until the slot is re-seeded. When more
+ * than one node serves loans, set {@code library.loans.copy-counter.enabled=false}: every
+ * borrow then goes to the database.
+ */
+@Component
+public class BookCopyCounter implements MeterBinder {
+
+    private final long refreshAfterNanos;
+    private final boolean enabled;
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+
+    private final AtomicLong fastRejections = new AtomicLong();
+    private final AtomicLong databaseAttempts = new AtomicLong();
+    private final AtomicLong databaseConflicts = new AtomicLong();
+
+    public BookCopyCounter(@Value("${library.loans.copy-counter.refresh-after:PT30S}") Duration refreshAfter,
+                           @Value("${library.loans.copy-counter.enabled:true}") boolean enabled) {
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns false only when the book is known to have no copies left.
+     */
+    public boolean mayHaveCopies(Long bookId) {
+        if (!enabled) {
+            return true;
+        }
+        Slot slot = slots.get(bookId);
+        if (slot == null || slot.isStale(refreshAfterNanos) || slot.available.get() > 0) {
+            return true;
+        }
+        fastRejections.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Takes one copy from the book's slot, seeding it from {@code availableCopies} (as just
+     * read from the database) if the slot is missing or stale, or was emptied by a refused
+     * reservation while the database now shows copies. A {@code true} result means the
+     * caller should go on to reserve the copy in the database.
+     */
+    public boolean tryAcquire(Long bookId, int availableCopies) {
+        if (!enabled) {
+            return availableCopies > 0;
+        }
+        Slot slot = slots.compute(bookId, (id, current) ->
+                needsSeeding(current, availableCopies) ? newSlot(availableCopies) : current);
+        while (true) {
+            int available = slot.available.get();
+            if (available <= 0) {
+                fastRejections.incrementAndGet();
+                return false;
+            }
+            if (slot.available.compareAndSet(available, available - 1)) {
+                databaseAttempts.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A mark to take just before the reserving {@code UPDATE} and pass to
+     * {@link #markExhausted(Long, long)} if the database refuses it.
+     */
+    public long mark() {
+        return changes.get();
+    }
+
+    /**
+     * The database refused the reservation, so the slot was optimistic; mark it empty,
+     * unless a copy was given back or the slot re-seeded since {@code mark} was taken.
+     */
+    public void markExhausted(Long bookId, long mark) {
+        databaseConflicts.incrementAndGet();
+        Slot slot = slots.computeIfAbsent(bookId, id -> newSlot(0));
+        synchronized (slot) {
+            if (slot.changedAt <= mark || slot.available.get() <= 0) {
+                slot.available.set(0);
+                slot.exhausted = true;
+            }
+        }
+    }
+
+    /**
+     * Gives a copy back, after a return or when a reserving transaction rolls back.
+     */
+    public void release(Long bookId) {
+        Slot slot = slots.get(bookId);
+        if (slot != null) {
+            synchronized (slot) {
+                slot.changedAt = changes.incrementAndGet();
+                slot.exhausted = false;
+                slot.available.incrementAndGet();
+            }
+        }
+    }
+
+    public void invalidate(Long bookId) {
+        slots.remove(bookId);
+    }
+
+    public long getFastRejections() {
+        return fastRejections.get();
+    }
+
+    public long getDatabaseAttempts() {
+        return databaseAttempts.get();
+    }
+
+    public long getDatabaseConflicts() {
+        return databaseConflicts.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.loans.copy.reservations", fastRejections, AtomicLong::get)
+                .tag("outcome", "rejected_in_memory")
+                .register(registry);
+        FunctionCounter.builder("library.loans.copy.reservations", databaseAttempts, AtomicLong::get)
+                .tag("outcome", "database_attempt")
+                .register(registry);
+        FunctionCounter.builder("library.loans.copy.reservations", databaseConflicts, AtomicLong::get)
+                .tag("outcome", "database_conflict")
+                .register(registry);
+    }
+
+    private boolean needsSeeding(Slot current, int availableCopies) {
+        return current == null || current.isStale(refreshAfterNanos)
+                || (current.exhausted && current.available.get() <= 0 && availableCopies > 0);
+    }
+
+    private Slot newSlot(int availableCopies) {
+        return new Slot(availableCopies, changes.incrementAndGet());
+    }
+
+    // Takes are lock-free; a release and an exhaustion lock the slot so that one cannot be
+    // lost to the other.
+    private static final class Slot {
+        private final AtomicInteger available;
+        private final long seededAt = System.nanoTime();
+        private long changedAt;
+        private volatile boolean exhausted;
+
+        private Slot(int available, long changedAt) {
+            this.available = new AtomicInteger(Math.max(available, 0));
+            this.changedAt = changedAt;
+        }
+
+        private boolean isStale(long refreshAfterNanos) {
+            return System.nanoTime() - seededAt > refreshAfterNanos;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.management.circulation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Daily late fee rates by book category. {@code category-daily-rates} is a comma-separated
+ * list of {@code category=rate} pairs, matched case-insensitively; categories not listed
+ * are charged {@code daily-rate}.
+ */
+@Component
+public class LateFeeRates {
+
+    private final BigDecimal defaultRate;
+    private final Map<String, BigDecimal> categoryRates;
+
+    public LateFeeRates(@Value("${library.fees.daily-rate:1.00}") BigDecimal defaultRate,
+                        @Value("${library.fees.category-daily-rates:}") String categoryRates) {
+        this.defaultRate = requireNonNegative(defaultRate, "daily-rate");
+        this.categoryRates = parse(categoryRates);
+    }
+
+    public BigDecimal dailyRate(String category) {
+        if (category == null) {
+            return defaultRate;
+        }
+        return categoryRates.getOrDefault(category.trim().toLowerCase(Locale.ROOT), defaultRate);
+    }
+
+    /**
+     * The fee for a book of {@code category} returned {@code daysOverdue} days late, in
+     * cents precision. Zero when the book is not late.
+     */
+    public BigDecimal feeFor(String category, long daysOverdue) {
+        if (daysOverdue <= 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return dailyRate(category).multiply(BigDecimal.valueOf(daysOverdue)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Map<String, BigDecimal> parse(String value) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return rates;
+        }
+        for (String entry : value.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid category rate '" + entry.trim() + "', expected category=rate");
+            }
+            String category = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+            rates.put(category, requireNonNegative(new BigDecimal(entry.substring(separator + 1).trim()), category));
+        }
+        return rates;
+    }
+
+    private static BigDecimal requireNonNegative(BigDecimal rate, String name) {
+        if (rate.signum() < 0) {
+            throw new IllegalArgumentException("Late fee rate for " + name + " must not be negative");
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,300 @@
+package com.library.management.circulation;
+
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-member count of ACTIVE loans, so the borrowing limit can be checked without a query.
+ *
+ * <p>A member's count is seeded with a {@code COUNT} query on first use and then moved by
+ * borrows and returns. A borrow takes its slot before the loan is written and gives it
+ * back if the transaction rolls back, which also makes the limit hold under concurrent
+ * borrows by the same member. Bulk status changes such as the overdue sweep mark the
+ * affected members stale so they are re-seeded, and {@link #reconcile()} periodically
+ * compares every cached count with the database.
+ *
+ * <p>The counts live in this node's memory and only see borrows and returns made through it,
+ * so the limit holds for a single node only. When more than one node serves loans, set
+ * {@code library.loans.member-counter.enabled=false}: nothing is cached and every check runs
+ * the {@code COUNT} query in the caller's transaction instead.
+ */
+@Component
+public class MemberLoanCounter implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(MemberLoanCounter.class);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong corrections = new AtomicLong();
+    private final boolean enabled;
+
+    public MemberLoanCounter(MemberRepository memberRepository, LoanRepository loanRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${library.loans.member-counter.enabled:true}") boolean enabled) {
+        this.memberRepository = memberRepository;
+        this.loanRepository = loanRepository;
+        this.enabled = enabled;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Takes one loan slot for the member if they hold fewer than {@code limit} active loans.
+     * The slot is returned automatically if the surrounding transaction rolls back.
+     */
+    public boolean tryAcquire(Long memberId, int limit) {
+        return tryAcquire(memberId, limit, 1) == 1;
+    }
+
+    /**
+     * Takes as many of {@code wanted} slots as fit under {@code limit} and returns how many
+     * were taken, possibly none. They are all returned if the surrounding transaction rolls back.
+     */
+    public int tryAcquire(Long memberId, int limit, int wanted) {
+        if (!enabled) {
+            return Math.max(0, Math.min(wanted, limit - memberRepository.countActiveLoans(memberId)));
+        }
+        Slot slot = slot(memberId);
+        int granted;
+        slot.lock.lock();
+        try {
+            seedIfStale(memberId, slot);
+            granted = Math.max(0, Math.min(wanted, limit - slot.held));
+            if (granted == 0) {
+                return 0;
+            }
+            slot.held += granted;
+            slot.pending += granted;
+            slot.version++;
+        } finally {
+            slot.lock.unlock();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            acquisitionsInThisTransaction().add(slot, granted);
+        } else {
+            slot.settle(false, granted);
+        }
+        return granted;
+    }
+
+    /**
+     * Gives back one slot once an ACTIVE loan is closed. Call after the change commits.
+     */
+    public void release(Long memberId) {
+        Slot slot = slots.get(memberId);
+        if (slot != null) {
+            slot.lock.lock();
+            try {
+                if (!slot.stale && slot.held > 0) {
+                    slot.held--;
+                }
+                slot.version++;
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+    }
+
+    public int activeLoans(Long memberId) {
+        if (!enabled) {
+            return memberRepository.countActiveLoans(memberId);
+        }
+        Slot slot = slot(memberId);
+        slot.lock.lock();
+        try {
+            seedIfStale(memberId, slot);
+            return slot.held;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the member's count to be re-read from the database on next use.
+     */
+    public void invalidate(Long memberId) {
+        Slot slot = slots.get(memberId);
+        if (slot != null) {
+            slot.lock.lock();
+            try {
+                slot.stale = true;
+                slot.version++;
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        slots.keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Compares every cached count with a grouped {@code COUNT} and corrects any drift.
+     * Members whose count changed while the query ran are left for the next pass.
+     * Returns the number of counts corrected.
+     */
+    @Scheduled(fixedDelayString = "${library.loans.member-counter.reconcile-interval:PT10M}",
+            initialDelayString = "${library.loans.member-counter.reconcile-interval:PT10M}")
+    public int reconcile() {
+        List<Long> memberIds = new ArrayList<>(slots.keySet());
+        int corrected = 0;
+        for (int from = 0; from < memberIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = memberIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, memberIds.size()));
+            Map<Long, Long> versions = new HashMap<>();
+            for (Long memberId : batch) {
+                Slot slot = slots.get(memberId);
+                if (slot != null) {
+                    slot.lock.lock();
+                    try {
+                        versions.put(memberId, slot.version);
+                    } finally {
+                        slot.lock.unlock();
+                    }
+                }
+            }
+            Map<Long, Long> counts = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> loanRepository.countActiveLoansByMemberIds(batch)
+                    .forEach(row -> counts.put(row.getMemberId(), row.getActiveLoans())));
+            for (Map.Entry<Long, Long> entry : versions.entrySet()) {
+                Slot slot = slots.get(entry.getKey());
+                if (slot == null) {
+                    continue;
+                }
+                slot.lock.lock();
+                try {
+                    if (slot.stale || slot.version != entry.getValue()) {
+                        continue;
+                    }
+                    int expected = counts.getOrDefault(entry.getKey(), 0L).intValue() + slot.pending;
+                    if (slot.held != expected) {
+                        logger.warn("Active loan count for member ID: {} drifted ({} cached, {} in database), correcting",
+                                entry.getKey(), slot.held, expected);
+                        slot.held = expected;
+                        slot.version++;
+                        corrected++;
+                    }
+                } finally {
+                    slot.lock.unlock();
+                }
+            }
+        }
+        corrections.addAndGet(corrected);
+        return corrected;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.loans.member-counter.size", slots, Map::size)
+                .description("Members with a cached active loan count")
+                .register(registry);
+        FunctionCounter.builder("library.loans.member-counter.corrections", corrections, AtomicLong::get)
+                .description("Cached active loan counts corrected by reconciliation")
+                .register(registry);
+    }
+
+    private Slot slot(Long memberId) {
+        return slots.computeIfAbsent(memberId, id -> new Slot());
+    }
+
+    /**
+     * The slots taken in the current transaction. Kept on a synchronization rather than a bound
+     * resource so a REQUIRES_NEW transaction, which suspends synchronizations, gets its own.
+     */
+    private Acquisitions acquisitionsInThisTransaction() {
+        Acquisitions acquisitions = registeredAcquisitions();
+        if (acquisitions == null) {
+            acquisitions = new Acquisitions();
+            TransactionSynchronizationManager.registerSynchronization(acquisitions);
+        }
+        return acquisitions;
+    }
+
+    private int pendingInThisTransaction(Slot slot) {
+        Acquisitions acquisitions = TransactionSynchronizationManager.isSynchronizationActive()
+                ? registeredAcquisitions() : null;
+        return acquisitions != null ? acquisitions.slots.getOrDefault(slot, 0) : 0;
+    }
+
+    private Acquisitions registeredAcquisitions() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Acquisitions acquisitions && acquisitions.counter() == this) {
+                return acquisitions;
+            }
+        }
+        return null;
+    }
+
+    // Runs in the caller's transaction, so the count already includes the loans the caller has
+    // written; only the other transactions' pending slots are added on top.
+    private void seedIfStale(Long memberId, Slot slot) {
+        if (slot.stale) {
+            slot.held = memberRepository.countActiveLoans(memberId) + slot.pending - pendingInThisTransaction(slot);
+            slot.stale = false;
+            slot.version++;
+        }
+    }
+
+    private class Acquisitions implements TransactionSynchronization {
+        private final Map<Slot, Integer> slots = new HashMap<>();
+
+        private MemberLoanCounter counter() {
+            return MemberLoanCounter.this;
+        }
+
+        private void add(Slot slot, int granted) {
+            slots.merge(slot, granted, Integer::sum);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            slots.forEach((slot, granted) -> slot.settle(status != STATUS_COMMITTED, granted));
+        }
+    }
+
+    // A lock rather than a monitor: seeding queries the database while holding it, which
+    // would pin a virtual thread to its carrier.
+    private static final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int held;
+        private int pending;
+        private long version;
+        private boolean stale = true;
+
+        private void settle(boolean rolledBack, int slots) {
+            lock.lock();
+            try {
+                pending -= slots;
+                if (rolledBack && !stale) {
+                    held -= slots;
+                }
+                version++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.library.management.circulation;
+
+import com.library.management.config.CacheConfig;
+import com.library.management.repository.LateFeeRepository;
+import com.library.management.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A member's financial standing: the sum of their PENDING late fees, and whether it is
+ * high enough to stop them borrowing. The sum comes from one aggregate query and is kept
+ * in the {@code memberBalances} cache, so a borrow never reads fee rows.
+ *
+ * <p>Every change to a member's fees evicts their balance once it commits. With the local
+ * cache backend, other nodes see the change when their entry expires.
+ *
+ * <p>A sum read before a change commits can reach the cache after that change's eviction.
+ * Each eviction moves the member's generation, and a load only keeps its put if the
+ * generation is the one it read before querying. Generations are local to the node, so with
+ * a shared cache backend a load on another node can still put back a stale sum until it expires.
+ */
+@Component
+public class MemberStanding {
+
+    // Generations are striped by member id; an eviction only ever turns away extra puts.
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final LateFeeRepository lateFeeRepository;
+    private final Cache balances;
+    private final BigDecimal borrowLimit;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public MemberStanding(LateFeeRepository lateFeeRepository, CacheManager cacheManager,
+                          @Value("${library.fees.borrow-limit:10.00}") BigDecimal borrowLimit) {
+        this.lateFeeRepository = lateFeeRepository;
+        this.balances = Objects.requireNonNull(cacheManager.getCache(CacheConfig.MEMBER_BALANCES),
+                "No " + CacheConfig.MEMBER_BALANCES + " cache");
+        this.borrowLimit = borrowLimit;
+    }
+
+    // Not Cache.get(key, loader): Caffeine would hold a map lock across the query, which pins
+    // a virtual thread to its carrier. Two concurrent misses for one member both query.
+    public BigDecimal outstandingBalance(Long memberId) {
+        BigDecimal cached = balances.get(memberId, BigDecimal.class);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.get(stripe(memberId));
+        BigDecimal balance = lateFeeRepository.sumPendingAmountByMemberId(memberId);
+        balances.put(memberId, balance);
+        // evict moves the generation before it evicts, so a put it missed is caught here.
+        if (generations.get(stripe(memberId)) != generation) {
+            balances.evict(memberId);
+        }
+        return balance;
+    }
+
+    /**
+     * True when the member owes more than {@code borrow-limit} in unpaid late fees.
+     */
+    public boolean blocksBorrowing(Long memberId) {
+        return outstandingBalance(memberId).compareTo(borrowLimit) > 0;
+    }
+
+    /**
+     * Drops the member's cached balance once the surrounding transaction commits.
+     */
+    public void invalidate(Long memberId) {
+        TransactionCallbacks.afterCommit(() -> evict(memberId));
+    }
+
+    public void invalidateAll(Collection<Long> memberIds) {
+        TransactionCallbacks.afterCommit(() -> memberIds.forEach(this::evict));
+    }
+
+    private void evict(Long memberId) {
+        generations.incrementAndGet(stripe(memberId));
+        balances.evict(memberId);
+    }
+
+    private static int stripe(Long memberId) {
+        return (int) Math.floorMod(memberId, (long) GENERATION_STRIPES);
+    }
+}
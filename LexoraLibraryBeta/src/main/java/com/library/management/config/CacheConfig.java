@@ -0,0 +1,98 @@
+package com.library.management.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Application caches. Each cache is registered up front with its own bounds, so the
+ * actuator's cache metrics ({@code cache.gets}, {@code cache.evictions}, ...) are bound at
+ * startup.
+ *
+ * <p>{@code library.cache.backend} picks where they live: {@code caffeine} (the default)
+ * keeps them in each node's heap, {@code hazelcast} puts them in the cluster of the
+ * application's {@link HazelcastInstance}. Either way a cache is bounded by size and
+ * expires entries after its TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS = "userDetails";
+    public static final String MEMBER_BALANCES = "memberBalances";
+    public static final String BOOKS = "books";
+    public static final String BOOK_ISBNS = "bookIsbns";
+    public static final String MEMBERS = "members";
+    public static final String MEMBER_KEYS = "memberKeys";
+
+    private final List<CacheSpec> caches;
+
+    public CacheConfig(@Value("${library.cache.user-details.max-size:10000}") long userDetailsMaxSize,
+                       @Value("${library.cache.user-details.ttl:PT10M}") Duration userDetailsTtl,
+                       @Value("${library.cache.member-balances.max-size:50000}") long memberBalancesMaxSize,
+                       @Value("${library.cache.member-balances.ttl:PT5M}") Duration memberBalancesTtl,
+                       @Value("${library.cache.books.max-size:20000}") long booksMaxSize,
+                       @Value("${library.cache.books.ttl:PT10M}") Duration booksTtl,
+                       @Value("${library.cache.members.max-size:20000}") long membersMaxSize,
+                       @Value("${library.cache.members.ttl:PT10M}") Duration membersTtl) {
+        this.caches = List.of(
+                new CacheSpec(USER_DETAILS, userDetailsMaxSize, userDetailsTtl),
+                new CacheSpec(MEMBER_BALANCES, memberBalancesMaxSize, memberBalancesTtl),
+                new CacheSpec(BOOKS, booksMaxSize, booksTtl),
+                new CacheSpec(BOOK_ISBNS, booksMaxSize, booksTtl),
+                new CacheSpec(MEMBERS, membersMaxSize, membersTtl),
+                // Two natural keys per member: email and membership ID.
+                new CacheSpec(MEMBER_KEYS, 2 * membersMaxSize, membersTtl));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cache.backend", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        for (CacheSpec cache : caches) {
+            cacheManager.registerCustomCache(cache.name(), Caffeine.newBuilder()
+                    .maximumSize(cache.maxSize())
+                    .expireAfterWrite(cache.ttl())
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * One Hazelcast map per cache, with per-node LRU eviction at the cache's size and the
+     * cache's TTL. The instance is the one Spring Boot builds from {@code hazelcast.yaml} or
+     * {@code spring.hazelcast.config}, as a cluster member or a client.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "library.cache.backend", havingValue = "hazelcast")
+    public CacheManager hazelcastCacheManager(HazelcastInstance hazelcastInstance) {
+        for (CacheSpec cache : caches) {
+            MapConfig map = new MapConfig(cache.name())
+                    .setTimeToLiveSeconds((int) cache.ttl().toSeconds());
+            map.getEvictionConfig()
+                    .setEvictionPolicy(EvictionPolicy.LRU)
+                    .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                    .setSize((int) Math.min(cache.maxSize(), Integer.MAX_VALUE));
+            hazelcastInstance.getConfig().addMapConfig(map);
+        }
+        return new HazelcastCacheManager(hazelcastInstance);
+    }
+
+    private record CacheSpec(String name, long maxSize, Duration ttl) {
+    }
+}
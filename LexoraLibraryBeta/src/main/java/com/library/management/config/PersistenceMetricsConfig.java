@@ -0,0 +1,38 @@
+package com.library.management.config;
+
+import com.library.management.metrics.RequestStatistics;
+import com.library.management.metrics.StatementMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes what we need to size the connection pool and spot chatty code paths. Pool
+ * wait time and active connections come from Spring Boot's Hikari binding
+ * ({@code hikaricp.connections.acquire}, {@code hikaricp.connections.active}), Hibernate's
+ * own statistics from hibernate-micrometer when {@code hibernate.generate_statistics} is on,
+ * statement counts by kind from {@link StatementMetrics}, and per-request statement, row and
+ * entity-load counts from the same inspector plus {@link RequestStatistics}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.metrics.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceMetricsConfig {
+
+    @Bean
+    public StatementMetrics statementMetrics(MeterRegistry meterRegistry) {
+        return new StatementMetrics(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementMetricsCustomizer(StatementMetrics statementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementMetrics);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATS_BUILDER, new RequestStatistics.Factory());
+    }
+}
@@ -2,6 +2,7 @@ package com.library.management.config;
 
 import com.library.management.security.JwtAuthenticationFilter;
 import com.library.management.security.JwtService;
+import com.library.management.security.ValidatedTokenCache;
 import com.library.management.service.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,15 +29,17 @@ public class SecurityConfig {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final ValidatedTokenCache validatedTokenCache;
 
-    public SecurityConfig(UserService userService, JwtService jwtService) {
+    public SecurityConfig(UserService userService, JwtService jwtService, ValidatedTokenCache validatedTokenCache) {
         this.userService = userService;
         this.jwtService = jwtService;
+        this.validatedTokenCache = validatedTokenCache;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userService);
+        return new JwtAuthenticationFilter(jwtService, userService, validatedTokenCache);
     }
 
     @Bean
@@ -0,0 +1,42 @@
+package com.library.management.controller;
+
+import com.library.management.export.ExportFormat;
+import com.library.management.service.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/audit")
+@Tag(name = "Audit Log", description = "APIs for reading the audit log")
+public class AuditController extends BaseController {
+
+    private final AuditService auditService;
+
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Export audit entries", description = "Stream every matching audit entry as NDJSON (default) or CSV")
+    @ApiResponse(responseCode = "200", description = "Export started")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(value = "entityType", required = false) String entityType,
+            @RequestParam(value = "entityId", required = false) Long entityId,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(value = "performedBy", required = false) String performedBy,
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("audit-log", exportFormat,
+                auditService.exportAuditLogs(entityType, entityId, action, performedBy, exportFormat));
+    }
+}
@@ -1,8 +1,12 @@
 package com.library.management.controller;
 
+import com.library.management.export.ExportFormat;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public abstract class BaseController {
     
@@ -16,6 +20,16 @@ public abstract class BaseController {
                 .body(body);
     }
 
+    protected ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
     protected <T> ResponseEntity<T> created(T body) {
         return ResponseEntity.created(null)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -2,15 +2,28 @@ package com.library.management.controller;
 
 import com.library.management.dto.BookDTO;
 import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.response.BulkImportResponse;
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
+import com.library.management.service.BookImportService;
 import com.library.management.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
@@ -18,9 +31,11 @@ import org.springframework.web.bind.annotation.*;
 public class BookController extends BaseController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookImportService bookImportService) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
     }
 
     @PostMapping
@@ -29,6 +44,24 @@ public class BookController extends BaseController {
         return created(bookService.createBook(bookDTO));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Add many books at once, reporting rows that could not be added")
+    public ResponseEntity<BulkImportResponse> importBooks(@RequestBody List<BookDTO> books) {
+        return ok(bookImportService.importBooks(books));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @Operation(summary = "Add books from an NDJSON upload, one book per line")
+    public ResponseEntity<BulkImportResponse> importBooksFromNdjson(InputStream body) throws IOException {
+        return ok(bookImportService.importBooks(body, ExportFormat.NDJSON));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @Operation(summary = "Add books from a CSV upload with a header row naming the book fields")
+    public ResponseEntity<BulkImportResponse> importBooksFromCsv(InputStream body) throws IOException {
+        return ok(bookImportService.importBooks(body, ExportFormat.CSV));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID")
     public ResponseEntity<BookDTO> getBookById(@PathVariable Long id) {
@@ -40,8 +73,9 @@ public class BookController extends BaseController {
     @Transactional(readOnly = true)
     public ResponseEntity<PaginatedResponse<BookDTO>> getAllBooks(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
-        return ok(bookService.getBookListWithFilters(pageNo, pageSize, null));
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
+        return ok(bookService.getBookListWithFilters(pageNo, pageSize, null, PageTotals.from(totals)));
     }
 
     @Transactional(readOnly = true)
@@ -50,8 +84,37 @@ public class BookController extends BaseController {
     public ResponseEntity<PaginatedResponse<BookDTO>> getBookListWithFilters(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
             @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals,
+            @RequestBody(required = false) BookSearchRequest searchRequest) {
+        return ok(bookService.getBookListWithFilters(pageNo, pageSize, searchRequest, PageTotals.from(totals)));
+    }
+
+    @PostMapping("/list/cursor")
+    @Operation(summary = "Get all books with filters by cursor")
+    public ResponseEntity<CursorPaginatedResponse<BookDTO>> getBookListByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal,
+            @RequestBody(required = false) BookSearchRequest searchRequest) {
+        return ok(bookService.getBookListByCursor(CursorPageRequest.of(after, pageSize, sort, includeTotal), searchRequest));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Stream every book as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("books", exportFormat, bookService.exportBooks(null, exportFormat));
+    }
+
+    @PostMapping("/export")
+    @Operation(summary = "Export books with filters", description = "Stream every matching book as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportBookList(
+            @RequestParam(value = "format", required = false) String format,
             @RequestBody(required = false) BookSearchRequest searchRequest) {
-        return ok(bookService.getBookListWithFilters(pageNo, pageSize, searchRequest));
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("books", exportFormat, bookService.exportBooks(searchRequest, exportFormat));
     }
 
     @GetMapping("/search")
@@ -63,13 +126,20 @@ public class BookController extends BaseController {
             @RequestParam(value = "category", required = false) String category,
             @RequestParam(value = "available", required = false) Boolean available,
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
         BookSearchRequest searchRequest = new BookSearchRequest();
         searchRequest.setTitle(title);
         searchRequest.setAuthor(author);
         searchRequest.setCategory(category);
         searchRequest.setAvailable(available);
-        return ok(bookService.getBookListWithFilters(pageNo, pageSize, searchRequest));
+        return ok(bookService.getBookListWithFilters(pageNo, pageSize, searchRequest, PageTotals.from(totals)));
+    }
+
+    @GetMapping("/categories")
+    @Operation(summary = "Count books and available books per category")
+    public ResponseEntity<List<CategoryAvailabilityResponse>> getCategoryAvailability() {
+        return ok(bookService.getCategoryAvailability());
     }
 
     @PutMapping("/{id}")
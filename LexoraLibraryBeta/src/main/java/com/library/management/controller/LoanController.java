@@ -1,8 +1,15 @@
 package com.library.management.controller;
 
 import com.library.management.dto.LoanDTO;
+import com.library.management.dto.request.BatchBorrowRequest;
+import com.library.management.dto.request.BatchReturnRequest;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.dto.response.BatchLoanResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
 import com.library.management.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/loans")
@@ -45,6 +53,25 @@ public class LoanController extends BaseController {
         return ok(loanService.returnBook(id));
     }
 
+    @PostMapping("/borrow/batch")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Borrow several books", description = "Lend several books to one member at once, reporting each book's outcome")
+    @ApiResponse(responseCode = "200", description = "Batch processed; see each item for its outcome")
+    @ApiResponse(responseCode = "400", description = "Invalid input data")
+    @ApiResponse(responseCode = "404", description = "Member not found")
+    public ResponseEntity<BatchLoanResponse> borrowBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        return ok(loanService.borrowBooks(request.getMemberId(), request.getBookIds()));
+    }
+
+    @PostMapping("/return/batch")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Return several books", description = "Process several returns at once, reporting each loan's outcome")
+    @ApiResponse(responseCode = "200", description = "Batch processed; see each item for its outcome")
+    @ApiResponse(responseCode = "400", description = "Invalid input data")
+    public ResponseEntity<BatchLoanResponse> returnBooks(@Valid @RequestBody BatchReturnRequest request) {
+        return ok(loanService.returnBooks(request.getLoanIds()));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'MEMBER')")
     @Operation(summary = "Get loan details", description = "Retrieve details of a specific loan")
@@ -63,8 +90,9 @@ public class LoanController extends BaseController {
     public ResponseEntity<PaginatedResponse<LoanDTO>> getMemberLoans(
             @PathVariable Long memberId,
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
-        return ok(loanService.getLoansByMember(memberId, pageNo, pageSize));
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
+        return ok(loanService.getLoansByMember(memberId, pageNo, pageSize, PageTotals.from(totals)));
     }
 
     @GetMapping("/book/{bookId}")
@@ -76,8 +104,9 @@ public class LoanController extends BaseController {
     public ResponseEntity<PaginatedResponse<LoanDTO>> getBookLoans(
             @PathVariable Long bookId,
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
-        return ok(loanService.getLoansByBook(bookId, pageNo, pageSize));
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
+        return ok(loanService.getLoansByBook(bookId, pageNo, pageSize, PageTotals.from(totals)));
     }
 
     @GetMapping
@@ -87,8 +116,9 @@ public class LoanController extends BaseController {
     @Transactional(readOnly = true)
     public ResponseEntity<PaginatedResponse<LoanDTO>> getAllLoans(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
-        return ok(loanService.getAllLoans(pageNo, pageSize));
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
+        return ok(loanService.getAllLoans(pageNo, pageSize, PageTotals.from(totals)));
     }
 
     @PostMapping("/list")
@@ -99,7 +129,58 @@ public class LoanController extends BaseController {
     public ResponseEntity<PaginatedResponse<LoanDTO>> getLoanListWithFilters(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
             @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals,
+            @RequestBody(required = false) LoanSearchRequest searchRequest) {
+        return ok(loanService.getLoanListWithFilters(pageNo, pageSize, searchRequest, PageTotals.from(totals)));
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Get all loans by cursor", description = "Retrieve loans page by page using an opaque cursor instead of page numbers")
+    @ApiResponse(responseCode = "200", description = "Loans retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort")
+    public ResponseEntity<CursorPaginatedResponse<LoanDTO>> getLoansByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal) {
+        return ok(loanService.getLoanListByCursor(CursorPageRequest.of(after, pageSize, sort, includeTotal), null));
+    }
+
+    @PostMapping("/list/cursor")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Get all loans with filters by cursor", description = "Retrieve filtered loans page by page using an opaque cursor")
+    @ApiResponse(responseCode = "200", description = "Loans retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort")
+    public ResponseEntity<CursorPaginatedResponse<LoanDTO>> getLoanListByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal,
+            @RequestBody(required = false) LoanSearchRequest searchRequest) {
+        return ok(loanService.getLoanListByCursor(CursorPageRequest.of(after, pageSize, sort, includeTotal), searchRequest));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Export all loans", description = "Stream every loan as NDJSON (default) or CSV")
+    @ApiResponse(responseCode = "200", description = "Export started")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("loans", exportFormat, loanService.exportLoans(null, exportFormat));
+    }
+
+    @PostMapping("/export")
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Export loans with filters", description = "Stream every matching loan as NDJSON (default) or CSV")
+    @ApiResponse(responseCode = "200", description = "Export started")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> exportLoanList(
+            @RequestParam(value = "format", required = false) String format,
             @RequestBody(required = false) LoanSearchRequest searchRequest) {
-        return ok(loanService.getLoanListWithFilters(pageNo, pageSize, searchRequest));
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("loans", exportFormat, loanService.exportLoans(searchRequest, exportFormat));
     }
-} 
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package com.library.management.controller;
 
 import com.library.management.dto.MemberDTO;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.MemberSearchRequest;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
 import com.library.management.service.MemberService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/members")
@@ -56,8 +61,9 @@ public class MemberController extends BaseController {
     @Transactional(readOnly = true)
     public ResponseEntity<PaginatedResponse<MemberDTO>> getAllMembers(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize) {
-        return ok(memberService.getMemberListWithFilters(pageNo, pageSize, null));
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals) {
+        return ok(memberService.getMemberListWithFilters(pageNo, pageSize, null, PageTotals.from(totals)));
     }
 
     @GetMapping("/search")
@@ -82,8 +88,47 @@ public class MemberController extends BaseController {
     public ResponseEntity<PaginatedResponse<MemberDTO>> getMemberListWithFilters(
             @RequestParam(value = "pageNo", required = false, defaultValue = "1") Integer pageNo,
             @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "totals", required = false) String totals,
+            @RequestBody(required = false) MemberSearchRequest searchRequest) {
+        return ok(memberService.getMemberListWithFilters(pageNo, pageSize, searchRequest, PageTotals.from(totals)));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all members by cursor")
+    public ResponseEntity<CursorPaginatedResponse<MemberDTO>> getMembersByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal) {
+        return ok(memberService.getMemberListByCursor(CursorPageRequest.of(after, pageSize, sort, includeTotal), null));
+    }
+
+    @PostMapping("/list/cursor")
+    @Operation(summary = "Get all members with filters by cursor")
+    public ResponseEntity<CursorPaginatedResponse<MemberDTO>> getMemberListByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "10") Integer pageSize,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal,
+            @RequestBody(required = false) MemberSearchRequest searchRequest) {
+        return ok(memberService.getMemberListByCursor(CursorPageRequest.of(after, pageSize, sort, includeTotal), searchRequest));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all members", description = "Stream every member as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("members", exportFormat, memberService.exportMembers(null, exportFormat));
+    }
+
+    @PostMapping("/export")
+    @Operation(summary = "Export members with filters", description = "Stream every matching member as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportMemberList(
+            @RequestParam(value = "format", required = false) String format,
             @RequestBody(required = false) MemberSearchRequest searchRequest) {
-        return ok(memberService.getMemberListWithFilters(pageNo, pageSize, searchRequest));
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return export("members", exportFormat, memberService.exportMembers(searchRequest, exportFormat));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,18 @@
+package com.library.management.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBorrowRequest {
+    @NotNull(message = "Member ID is required")
+    private Long memberId;
+
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 50, message = "At most 50 books per request")
+    private List<@NotNull Long> bookIds;
+}
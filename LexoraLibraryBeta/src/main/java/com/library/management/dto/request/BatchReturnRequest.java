@@ -0,0 +1,15 @@
+package com.library.management.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchReturnRequest {
+    @NotEmpty(message = "At least one loan ID is required")
+    @Size(max = 50, message = "At most 50 loans per request")
+    private List<@NotNull Long> loanIds;
+}
@@ -0,0 +1,20 @@
+package com.library.management.dto.request;
+
+import lombok.Data;
+
+@Data
+public class CursorPageRequest {
+    private String after;
+    private Integer pageSize;
+    private String sort;
+    private boolean includeTotal;
+
+    public static CursorPageRequest of(String after, Integer pageSize, String sort, boolean includeTotal) {
+        CursorPageRequest request = new CursorPageRequest();
+        request.setAfter(after);
+        request.setPageSize(pageSize);
+        request.setSort(sort);
+        request.setIncludeTotal(includeTotal);
+        return request;
+    }
+}
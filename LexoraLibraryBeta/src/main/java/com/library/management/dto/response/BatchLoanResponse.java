@@ -0,0 +1,39 @@
+package com.library.management.dto.response;
+
+import com.library.management.dto.LoanDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch borrow or return, one item per requested id in request order. An item
+ * has either the resulting {@code loan} or the {@code error} that kept it from going through.
+ */
+@Data
+public class BatchLoanResponse {
+    private int succeeded;
+    private int failed;
+    private List<Item> items = new ArrayList<>();
+
+    public void succeeded(Long id, LoanDTO loan) {
+        items.add(new Item(id, loan, null));
+        succeeded++;
+    }
+
+    public void failed(Long id, String error) {
+        items.add(new Item(id, null, error));
+        failed++;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private LoanDTO loan;
+        private String error;
+    }
+}
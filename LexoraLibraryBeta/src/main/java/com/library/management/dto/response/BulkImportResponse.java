@@ -0,0 +1,29 @@
+package com.library.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every row that was not created has an entry in {@code errors},
+ * keyed by its 1-based position in the upload and sorted by it.
+ */
+@Data
+public class BulkImportResponse {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String isbn;
+        private String message;
+    }
+}
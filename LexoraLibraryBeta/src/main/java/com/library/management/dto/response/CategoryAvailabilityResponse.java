@@ -0,0 +1,17 @@
+package com.library.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many titles a category has, and how many of them have a copy on the shelf.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryAvailabilityResponse {
+    private String category;
+    private long books;
+    private long availableBooks;
+}
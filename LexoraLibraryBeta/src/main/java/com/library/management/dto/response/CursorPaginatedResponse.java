@@ -0,0 +1,19 @@
+package com.library.management.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code next} is an opaque cursor for the
+ * following page and is null on the last page. {@code totalElements} is only filled in
+ * when the caller asked for it, since it costs a separate count query.
+ */
+@Data
+public class CursorPaginatedResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String next;
+    private boolean last;
+    private Long totalElements;
+}
@@ -1,26 +1,54 @@
 package com.library.management.dto.response;
 
+import com.library.management.pagination.PageTotals;
 import lombok.Data;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
+/**
+ * One numbered page. {@code last} is always set; {@code totalElements} and {@code totalPages}
+ * are only filled in as far as {@code totals} says, since counting costs a second query.
+ */
 @Data
 public class PaginatedResponse<T> {
     private List<T> content;
     private int pageNo;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    private PageTotals totals;
 
     public static <T> PaginatedResponse<T> from(Page<T> page) {
-        PaginatedResponse<T> response = new PaginatedResponse<>();
-        response.setContent(page.getContent());
-        response.setPageNo(page.getNumber() + 1);
-        response.setPageSize(page.getSize());
+        PaginatedResponse<T> response = from((Slice<T>) page);
         response.setTotalElements(page.getTotalElements());
         response.setTotalPages(page.getTotalPages());
-        response.setLast(page.isLast());
+        response.setTotals(PageTotals.EXACT);
+        return response;
+    }
+
+    public static <T> PaginatedResponse<T> from(Slice<T> slice) {
+        PaginatedResponse<T> response = new PaginatedResponse<>();
+        response.setContent(slice.getContent());
+        response.setPageNo(slice.getNumber() + 1);
+        response.setPageSize(slice.getSize());
+        response.setLast(slice.isLast());
+        response.setTotals(PageTotals.NONE);
+        return response;
+    }
+
+    /**
+     * A slice with an estimated total, corrected where the slice itself proves it wrong: the
+     * rows up to this page are known to exist, and on the last page the total is exact.
+     */
+    public static <T> PaginatedResponse<T> from(Slice<T> slice, long estimatedTotal) {
+        PaginatedResponse<T> response = from(slice);
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total = slice.isLast() ? seen : Math.max(estimatedTotal, seen + 1);
+        response.setTotalElements(total);
+        response.setTotalPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()));
+        response.setTotals(PageTotals.ESTIMATE);
         return response;
     }
-} 
\ No newline at end of file
+}
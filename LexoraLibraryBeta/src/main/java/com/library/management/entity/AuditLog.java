@@ -5,8 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
@@ -16,10 +14,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
 public class AuditLog {
+    // Pooled sequence ids let the audit writer insert entries as one JDBC batch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,7 +36,7 @@ public class AuditLog {
     @Column(name = "performed_by", nullable = false)
     private String performedBy;
 
-    @CreatedDate
+    // When the action happened, not when the writer got to it.
     @Column(name = "timestamp", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -49,4 +48,11 @@ public class AuditLog {
         this.performedBy = performedBy;
         this.details = details;
     }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 } 
\ No newline at end of file
@@ -17,7 +17,8 @@ import java.util.Set;
 @EntityListeners(AuditingEntityListener.class)
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class LateFee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "late_fees_seq")
+    @SequenceGenerator(name = "late_fees_seq", sequenceName = "late_fees_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
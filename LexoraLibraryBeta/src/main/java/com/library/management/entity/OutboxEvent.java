@@ -0,0 +1,55 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting to be delivered. Rows are deleted once every consumer has taken
+ * them; a row that keeps failing is parked and left for someone to look at.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    // Unpooled, so that ids follow the order events were recorded in across nodes; a pooled
+    // range handed to one node would let its later events sort before another node's.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "performed_by", nullable = false)
+    private String performedBy;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+}
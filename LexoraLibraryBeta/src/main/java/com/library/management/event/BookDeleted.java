@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import com.library.management.dto.BookDTO;
+
+/**
+ * A book was removed from the catalog.
+ */
+public record BookDeleted(BookDTO book) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return BOOK;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return book.getId();
+    }
+}
@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import com.library.management.dto.BookDTO;
+
+/**
+ * A book's details or copy counts were edited; {@code before} is the book as it was loaded.
+ */
+public record BookUpdated(BookDTO before, BookDTO after) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return BOOK;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return after.getId();
+    }
+}
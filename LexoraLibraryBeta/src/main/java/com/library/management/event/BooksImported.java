@@ -0,0 +1,8 @@
+package com.library.management.event;
+
+/**
+ * One chunk of a bulk import was inserted. The books themselves are not carried, since a
+ * chunk can hold thousands of them.
+ */
+public record BooksImported(int count) {
+}
@@ -0,0 +1,27 @@
+package com.library.management.event;
+
+/**
+ * A change to one book, member or loan that is recorded in the outbox along with the change
+ * itself, and delivered to every {@link DomainEventConsumer} once it has committed.
+ *
+ * <p>Events are stored as JSON under their simple class name, so renaming a record or one of
+ * its components strands the events still waiting under the old shape.
+ */
+public sealed interface DomainEvent
+        permits BookCreated, BookUpdated, BookDeleted, MemberCreated, MemberUpdated,
+                LoanOpened, LoanReturned, LoanOverdue, FeeAssessed {
+
+    String BOOK = "BOOK";
+    String MEMBER = "MEMBER";
+    String LOAN = "LOAN";
+
+    /**
+     * The kind of row the event is about: {@link #BOOK}, {@link #MEMBER} or {@link #LOAN}.
+     */
+    String aggregateType();
+
+    /**
+     * The id of that row. Events about the same row are delivered in the order they were recorded.
+     */
+    Long aggregateId();
+}
@@ -0,0 +1,17 @@
+package com.library.management.event;
+
+import java.util.List;
+
+/**
+ * Receives committed domain events from the {@link OutboxDispatcher}, in batches and on the
+ * dispatcher's thread. Every bean implementing this is a consumer.
+ *
+ * <p>Delivery is at least once: if any consumer throws, the whole batch is delivered to every
+ * consumer again, so a consumer must cope with events it has already seen. Within a batch,
+ * and from one batch to the next, events about the same aggregate arrive in the order they
+ * were recorded.
+ */
+public interface DomainEventConsumer {
+
+    void accept(List<RecordedEvent> events);
+}
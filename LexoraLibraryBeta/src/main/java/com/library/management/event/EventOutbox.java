@@ -0,0 +1,136 @@
+package com.library.management.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Writes every {@link DomainEvent} published on the application context to
+ * {@code outbox_events}, in the publisher's transaction, so an event is stored exactly when
+ * the change it describes commits. The {@link OutboxDispatcher} is woken after the commit.
+ *
+ * <p>Publishers must publish inside the transaction that makes the change; published outside
+ * one, the event is saved on its own and may outlive a change that later fails.
+ *
+ * <p>The dispatcher delivers in id order, but an id is not visible until its transaction
+ * commits. Events are therefore held until the transaction is about to commit: the changes are
+ * flushed, the row of every aggregate the events are about is locked, and only then are the
+ * events saved and given ids. A second transaction about the same book, member or loan waits
+ * for that lock, so it takes its ids after the first has committed, and for each aggregate id
+ * order is commit order. Events about different aggregates carry no such promise.
+ */
+@Component
+public class EventOutbox {
+
+    private static final Map<String, String> AGGREGATE_TABLES = Map.of(
+            DomainEvent.BOOK, "books",
+            DomainEvent.MEMBER, "members",
+            DomainEvent.LOAN, "loans");
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher outboxDispatcher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                       OutboxDispatcher outboxDispatcher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    @EventListener
+    public void record(DomainEvent event) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String performedBy = authentication != null ? authentication.getName() : "SYSTEM";
+
+        OutboxEvent row = OutboxEvent.builder()
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.getClass().getSimpleName())
+                .payload(write(event))
+                .performedBy(performedBy)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            outboxEventRepository.save(row);
+            outboxDispatcher.wake();
+            return;
+        }
+        pendingInThisTransaction().rows.add(row);
+    }
+
+    /**
+     * The events held for the current transaction. Kept on a synchronization rather than a bound
+     * resource so a REQUIRES_NEW transaction, which suspends synchronizations, gets its own.
+     */
+    private PendingEvents pendingInThisTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Locks the aggregates' rows, one statement per aggregate type and in id order so two
+     * transactions cannot deadlock on them, then saves the events. Rows the flush inserted,
+     * updated or deleted are already locked; the statement covers the rest.
+     */
+    private void save(List<OutboxEvent> rows) {
+        entityManager.flush();
+        rows.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getAggregateType, TreeMap::new,
+                        Collectors.mapping(OutboxEvent::getAggregateId, Collectors.toCollection(TreeSet::new))))
+                .forEach((type, ids) -> entityManager.createNativeQuery("SELECT id FROM " + AGGREGATE_TABLES.get(type)
+                                + " WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                        .setParameter("ids", ids)
+                        .getResultList());
+        outboxEventRepository.saveAll(rows);
+    }
+
+    private String write(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+        private final List<OutboxEvent> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            save(rows);
+        }
+
+        @Override
+        public void afterCommit() {
+            outboxDispatcher.wake();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.management.event;
+
+import java.math.BigDecimal;
+
+/**
+ * A loan's late fee was charged or brought up to date; {@code amount} is the whole fee as of
+ * {@code daysOverdue} days late, not the increase.
+ */
+public record FeeAssessed(Long lateFeeId, Long loanId, Long memberId, BigDecimal amount, int daysOverdue)
+        implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return LOAN;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return loanId;
+    }
+}
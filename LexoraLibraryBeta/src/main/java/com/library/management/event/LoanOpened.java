@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import com.library.management.dto.LoanDTO;
+
+/**
+ * A copy was lent, and the book has one copy fewer available.
+ */
+public record LoanOpened(LoanDTO loan) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return LOAN;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return loan.getId();
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.management.event;
+
+/**
+ * The overdue sweep moved a loan from ACTIVE to OVERDUE. Only chunked sweeps know which
+ * loans they moved; a sweep in one update reports {@link LoansOverdue} alone.
+ */
+public record LoanOverdue(Long loanId, Long memberId) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return LOAN;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return loanId;
+    }
+}
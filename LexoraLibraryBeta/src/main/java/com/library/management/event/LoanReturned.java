@@ -0,0 +1,37 @@
+package com.library.management.event;
+
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.Loan;
+
+/**
+ * A loan was closed, and the book got its copy back unless all copies were already in.
+ * {@code previousStatus} is ACTIVE or OVERDUE.
+ */
+public record LoanReturned(LoanDTO loan, Loan.LoanStatus previousStatus) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return LOAN;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return loan.getId();
+    }
+
+    /**
+     * The loan as it was just before the return.
+     */
+    public LoanDTO openLoan() {
+        return LoanDTO.builder()
+                .id(loan.getId())
+                .bookId(loan.getBookId())
+                .memberId(loan.getMemberId())
+                .borrowDate(loan.getBorrowDate())
+                .expectedReturnDate(loan.getExpectedReturnDate())
+                .bookTitle(loan.getBookTitle())
+                .memberName(loan.getMemberName())
+                .status(previousStatus)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.library.management.event;
+
+/**
+ * The overdue sweep moved {@code count} loans from ACTIVE to OVERDUE in one set-based
+ * update, so the loans are not known individually.
+ */
+public record LoansOverdue(int count) {
+}
@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import com.library.management.dto.MemberDTO;
+
+/**
+ * A member was registered.
+ */
+public record MemberCreated(MemberDTO member) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return MEMBER;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return member.getId();
+    }
+}
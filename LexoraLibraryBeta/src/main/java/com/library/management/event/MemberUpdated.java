@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import com.library.management.dto.MemberDTO;
+
+/**
+ * A member's details or active flag changed; {@code before} is the member as it was loaded.
+ */
+public record MemberUpdated(MemberDTO before, MemberDTO after) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return MEMBER;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return after.getId();
+    }
+}
@@ -0,0 +1,245 @@
+package com.library.management.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.repository.OutboxEventRepository;
+import com.library.management.scheduling.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the events in {@code outbox_events} to every {@link DomainEventConsumer}. A single
+ * background thread wakes when a transaction that recorded events commits on this node, and
+ * every {@code poll-interval} regardless, to pick up events recorded elsewhere or left behind
+ * by a crash.
+ *
+ * <p>Events are read oldest first, up to {@code batch-size} at a time, handed to each consumer
+ * in turn and deleted once all of them have returned. One node delivers at a time, under the
+ * {@code outbox-dispatch} lock, in id order. {@link EventOutbox} takes ids under the aggregate's
+ * row lock, so events about one aggregate are delivered in the order they committed; an event
+ * about another aggregate may still commit after a later id has been delivered, and is then
+ * delivered after it.
+ *
+ * <p>If a consumer throws, the batch stays in the outbox and each of its events is tried again
+ * on its own, so one bad event does not hold up the ones around it for long. An event that
+ * fails {@code max-attempts} times is parked: it stays in the table with its last error and
+ * is not delivered again, and later events about the same aggregate go ahead without it.
+ */
+@Component
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    static final String LOCK_NAME = "outbox-dispatch";
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES =
+            Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+                    .collect(Collectors.toMap(Class::getSimpleName, type -> type.asSubclass(DomainEvent.class)));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private final Duration lockAtMostFor;
+    private final boolean virtualThreads;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter parked;
+    private final Timer deliveryLag;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<DomainEventConsumer> consumers,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            JobLockService jobLockService,
+                            MeterRegistry meterRegistry,
+                            @Value("${library.events.outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${library.events.outbox.batch-size:100}") int batchSize,
+                            @Value("${library.events.outbox.poll-interval:PT5S}") Duration pollInterval,
+                            @Value("${library.events.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${library.events.outbox.lock-at-most-for:PT1M}") Duration lockAtMostFor,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = List.copyOf(consumers);
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lockAtMostFor = lockAtMostFor;
+        this.virtualThreads = virtualThreads;
+        this.delivered = outcome(meterRegistry, "delivered");
+        this.failed = outcome(meterRegistry, "failed");
+        this.parked = outcome(meterRegistry, "parked");
+        this.deliveryLag = Timer.builder("library.events.outbox.lag")
+                .description("Time from a domain event being recorded to it being delivered")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || consumers.isEmpty()) {
+            logger.info("Outbox dispatcher not started on this node (enabled: {}, consumers: {})",
+                    enabled, consumers.size());
+            return;
+        }
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        worker = builder.name("outbox-dispatcher").start(this::dispatchLoop);
+    }
+
+    /**
+     * Asks the background thread to deliver pending events now rather than at its next poll.
+     */
+    public void wake() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Delivers pending events until none are left, one fails, or half the lock lease has
+     * passed, unless another node holds the lock. Returns the number of events delivered.
+     */
+    public int dispatchPending() {
+        if (!jobLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            logger.debug("Outbox is being dispatched by another node, skipping");
+            return 0;
+        }
+        try {
+            long deadline = System.nanoTime() + lockAtMostFor.toNanos() / 2;
+            int total = 0;
+            while (System.nanoTime() < deadline) {
+                List<OutboxEvent> pending = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+                if (pending.isEmpty()) {
+                    return total;
+                }
+                List<OutboxEvent> batch = batchOf(pending);
+                if (!deliver(batch)) {
+                    return total;
+                }
+                total += batch.size();
+            }
+            return total;
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        wakeups.release();
+        if (worker != null) {
+            // Not interrupted, so a batch being delivered is allowed to finish.
+            worker.join(lockAtMostFor.toMillis());
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                wakeups.tryAcquire(pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+                wakeups.drainPermits();
+                if (running) {
+                    dispatchPending();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Outbox dispatch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * The leading events that have not failed yet, or else the oldest event on its own.
+     */
+    private static List<OutboxEvent> batchOf(List<OutboxEvent> pending) {
+        int fresh = 0;
+        while (fresh < pending.size() && pending.get(fresh).getAttempts() == 0) {
+            fresh++;
+        }
+        return pending.subList(0, Math.max(fresh, 1));
+    }
+
+    private boolean deliver(List<OutboxEvent> batch) {
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        try {
+            List<RecordedEvent> events = batch.stream().map(this::read).toList();
+            consumers.forEach(consumer -> consumer.accept(events));
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.warn("Delivering {} outbox events from ID {} failed: {}", batch.size(), ids.get(0), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxEventRepository.recordFailure(ids, truncate(String.valueOf(e.getMessage())));
+                if (batch.size() == 1 && batch.get(0).getAttempts() + 1 >= maxAttempts) {
+                    outboxEventRepository.park(ids.get(0), LocalDateTime.now());
+                    parked.increment();
+                    logger.error("Parked outbox event ID: {} ({} of {} ID: {}) after {} attempts", ids.get(0),
+                            batch.get(0).getEventType(), batch.get(0).getAggregateType(),
+                            batch.get(0).getAggregateId(), maxAttempts);
+                }
+            });
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteDelivered(ids));
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(event -> deliveryLag.record(Duration.between(event.getOccurredAt(), now)));
+        delivered.increment(batch.size());
+        return true;
+    }
+
+    private RecordedEvent read(OutboxEvent row) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type " + row.getEventType());
+        }
+        try {
+            return new RecordedEvent(row.getId(), objectMapper.readValue(row.getPayload(), type),
+                    row.getPerformedBy(), row.getOccurredAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read " + row.getEventType() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("library.events.outbox.events")
+                .tag("outcome", outcome)
+                .description("Domain events handed to consumers from the outbox")
+                .register(meterRegistry);
+    }
+}
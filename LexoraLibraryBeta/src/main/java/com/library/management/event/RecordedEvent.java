@@ -0,0 +1,10 @@
+package com.library.management.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event as read back from the outbox: its position in the outbox, who made the change and
+ * when.
+ */
+public record RecordedEvent(long sequence, DomainEvent event, String performedBy, LocalDateTime occurredAt) {
+}
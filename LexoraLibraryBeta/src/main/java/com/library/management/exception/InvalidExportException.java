@@ -0,0 +1,11 @@
+package com.library.management.exception;
+
+public class InvalidExportException extends IllegalArgumentException {
+    public InvalidExportException(String message) {
+        super(message);
+    }
+
+    public InvalidExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.management.exception;
+
+public class InvalidPaginationException extends IllegalArgumentException {
+    public InvalidPaginationException(String message) {
+        super(message);
+    }
+
+    public InvalidPaginationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.management.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The columns of a CSV export, in order, with how to read each one from a row. Values are
+ * written with {@code toString()}, nulls as empty fields, and quoted per RFC 4180 when they
+ * contain a separator, quote or line break.
+ *
+ * <p>Exports are opened in spreadsheets, which run a cell starting with {@code =}, {@code +},
+ * {@code -}, {@code @}, tab or carriage return as a formula. Text values starting with one of
+ * those are written with a leading {@code '} so they stay text; numbers are written as they are.
+ */
+public final class CsvColumns<T> {
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final List<String> headers;
+    private final List<Function<T, ?>> values;
+
+    private CsvColumns(List<String> headers, List<Function<T, ?>> values) {
+        this.headers = List.copyOf(headers);
+        this.values = List.copyOf(values);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    void writeHeader(Writer writer) throws IOException {
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(writer, headers.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    void writeRow(Writer writer, T row) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i).apply(row);
+            if (value instanceof CharSequence text) {
+                writeField(writer, neutralized(text.toString()));
+            } else if (value != null) {
+                writeField(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String neutralized(String text) {
+        if (text.isEmpty() || FORMULA_PREFIXES.indexOf(text.charAt(0)) < 0) {
+            return text;
+        }
+        return "'" + text;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public static final class Builder<T> {
+        private final List<String> headers = new ArrayList<>();
+        private final List<Function<T, ?>> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> add(String header, Function<T, ?> value) {
+            headers.add(header);
+            values.add(value);
+            return this;
+        }
+
+        public CsvColumns<T> build() {
+            return new CsvColumns<>(headers, values);
+        }
+    }
+}
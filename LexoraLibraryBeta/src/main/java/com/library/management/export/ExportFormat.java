@@ -0,0 +1,45 @@
+package com.library.management.export;
+
+import com.library.management.exception.InvalidExportException;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats an export can be written in. Both are written one row at a time, so
+ * a client can process the response while it is still arriving. Bulk uploads accept the
+ * same two formats and read them the same way.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a {@code format} parameter, case-insensitively, defaulting to NDJSON.
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportException("Unsupported export format '" + value + "'", e);
+        }
+    }
+}
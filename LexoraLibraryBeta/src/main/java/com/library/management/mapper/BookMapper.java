@@ -0,0 +1,43 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.entity.Book;
+
+/**
+ * Explicit field-by-field conversion between {@link Book} and {@link BookDTO}. The lazy
+ * {@code loans} collection is never read, so mapping a detached or freshly loaded book
+ * issues no statements.
+ */
+public final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    public static BookDTO toDTO(Book book) {
+        BookDTO dto = new BookDTO();
+        dto.setId(book.getId());
+        dto.setTitle(book.getTitle());
+        dto.setAuthor(book.getAuthor());
+        dto.setIsbn(book.getIsbn());
+        dto.setCategory(book.getCategory());
+        dto.setPublicationYear(book.getPublicationYear());
+        dto.setTotalCopies(book.getTotalCopies());
+        dto.setAvailableCopies(book.getAvailableCopies());
+        return dto;
+    }
+
+    /**
+     * A new book from a create request; every copy starts out available.
+     */
+    public static Book toEntity(BookDTO dto) {
+        Book book = new Book();
+        book.setTitle(dto.getTitle());
+        book.setAuthor(dto.getAuthor());
+        book.setIsbn(dto.getIsbn());
+        book.setCategory(dto.getCategory());
+        book.setPublicationYear(dto.getPublicationYear());
+        book.setTotalCopies(dto.getTotalCopies());
+        book.setAvailableCopies(dto.getTotalCopies());
+        return book;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.LateFeeDTO;
+import com.library.management.entity.LateFee;
+
+/**
+ * Explicit field-by-field conversion from {@link LateFee} to {@link LateFeeDTO}. Like
+ * {@link LoanMapper} it reads the loan's book and member, which callers should fetch with
+ * the fee.
+ */
+public final class LateFeeMapper {
+
+    private LateFeeMapper() {
+    }
+
+    public static LateFeeDTO toDTO(LateFee lateFee) {
+        LateFeeDTO dto = new LateFeeDTO();
+        dto.setId(lateFee.getId());
+        dto.setLoanId(lateFee.getLoan().getId());
+        dto.setAmount(lateFee.getAmount());
+        dto.setDaysOverdue(lateFee.getDaysOverdue());
+        dto.setPaidDate(lateFee.getPaidDate());
+        dto.setStatus(lateFee.getStatus());
+        dto.setMemberName(lateFee.getLoan().getMember().getName());
+        dto.setBookTitle(lateFee.getLoan().getBook().getTitle());
+        return dto;
+    }
+}
@@ -0,0 +1,29 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.Loan;
+
+/**
+ * Explicit field-by-field conversion from {@link Loan} to {@link LoanDTO}. The book title and
+ * member name are read from the associations, so callers mapping many loans should fetch
+ * {@code book} and {@code member} with them.
+ */
+public final class LoanMapper {
+
+    private LoanMapper() {
+    }
+
+    public static LoanDTO toDTO(Loan loan) {
+        LoanDTO dto = new LoanDTO();
+        dto.setId(loan.getId());
+        dto.setBookId(loan.getBook().getId());
+        dto.setMemberId(loan.getMember().getId());
+        dto.setBorrowDate(loan.getBorrowDate());
+        dto.setExpectedReturnDate(loan.getExpectedReturnDate());
+        dto.setActualReturnDate(loan.getActualReturnDate());
+        dto.setStatus(loan.getStatus());
+        dto.setBookTitle(loan.getBook().getTitle());
+        dto.setMemberName(loan.getMember().getName());
+        return dto;
+    }
+}
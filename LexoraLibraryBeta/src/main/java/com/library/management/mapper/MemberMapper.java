@@ -0,0 +1,50 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.MemberDTO;
+import com.library.management.entity.Member;
+
+/**
+ * Explicit field-by-field conversion between {@link Member} and {@link MemberDTO}. The lazy
+ * {@code loans} collection is never read, and ids and audit timestamps are never taken from
+ * a request.
+ */
+public final class MemberMapper {
+
+    private MemberMapper() {
+    }
+
+    /**
+     * Leaves {@code activeLoansCount} at zero, as it is not a column of the member.
+     */
+    public static MemberDTO toDTO(Member member) {
+        MemberDTO dto = new MemberDTO();
+        dto.setId(member.getId());
+        dto.setName(member.getName());
+        dto.setEmail(member.getEmail());
+        dto.setPhoneNumber(member.getPhoneNumber());
+        dto.setMembershipId(member.getMembershipId());
+        dto.setActive(member.isActive());
+        dto.setCreatedAt(member.getCreatedAt());
+        dto.setUpdatedAt(member.getUpdatedAt());
+        return dto;
+    }
+
+    public static Member toEntity(MemberDTO dto) {
+        Member member = new Member();
+        member.setName(dto.getName());
+        member.setEmail(dto.getEmail());
+        member.setPhoneNumber(dto.getPhoneNumber());
+        member.setMembershipId(dto.getMembershipId());
+        member.setActive(dto.isActive());
+        return member;
+    }
+
+    /**
+     * Applies the fields a member update may change; membership id and status are kept.
+     */
+    public static void updateEntity(Member member, MemberDTO dto) {
+        member.setName(dto.getName());
+        member.setEmail(dto.getEmail());
+        member.setPhoneNumber(dto.getPhoneNumber());
+    }
+}
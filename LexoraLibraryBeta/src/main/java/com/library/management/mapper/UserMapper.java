@@ -0,0 +1,24 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.UserDTO;
+import com.library.management.entity.User;
+
+/**
+ * Explicit conversion from {@link User} to {@link UserDTO}. The password is never copied;
+ * the DTO carries the first of the user's roles.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDTO toDTO(User user) {
+        return UserDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .name(user.getName())
+                .role(user.getRoles().isEmpty() ? null : user.getRoles().iterator().next())
+                .build();
+    }
+}
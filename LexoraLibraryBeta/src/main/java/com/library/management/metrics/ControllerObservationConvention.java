@@ -0,0 +1,45 @@
+package com.library.management.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds two tags to {@code http.server.requests}: {@code controller}, the handling controller's
+ * simple name, and {@code statements}, a bucket of the SQL statements the request prepared.
+ * Bucketing keeps the tag low-cardinality while still separating the requests that are slow
+ * because they talk to the database too often.
+ */
+@Component
+public class ControllerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        String controller = RequestMetricsFilter.controllerMethod(context.getCarrier())
+                .map(handler -> handler.getBeanType().getSimpleName())
+                .orElse("none");
+        String statements = RequestMetricsFilter.stats(context.getCarrier())
+                .map(stats -> bucket(stats.getStatements()))
+                .orElse("unknown");
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("controller", controller), KeyValue.of("statements", statements));
+    }
+
+    static String bucket(int statements) {
+        if (statements <= 1) {
+            return String.valueOf(statements);
+        }
+        if (statements <= 5) {
+            return "2-5";
+        }
+        if (statements <= 20) {
+            return "6-20";
+        }
+        if (statements <= 100) {
+            return "21-100";
+        }
+        return "over-100";
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.management.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Debug mode: reports the request's {@link RequestQueryStats} in {@code X-Query-Statements},
+ * {@code X-Query-Rows} and {@code X-Query-Entity-Loads} response headers. The headers are set
+ * just before the body is written, so they cover everything the handler did but not
+ * streaming exports, whose bodies are written after the handler returns.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "library.metrics.requests.debug-headers", havingValue = "true")
+public class QueryStatsHeaders implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats.current().ifPresent(stats -> {
+            response.getHeaders().set("X-Query-Statements", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-Query-Rows", String.valueOf(stats.getRows()));
+            response.getHeaders().set("X-Query-Entity-Loads", String.valueOf(stats.getEntityLoads()));
+        });
+        return body;
+    }
+}
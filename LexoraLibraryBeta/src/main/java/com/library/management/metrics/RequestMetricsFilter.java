@@ -0,0 +1,144 @@
+package com.library.management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Attributes database work to the endpoint that caused it. Each request gets a
+ * {@link RequestQueryStats} scope, opened before security so the user lookup counts too, and
+ * requests handled by a controller in {@value #CONTROLLER_PACKAGE} record it per endpoint as
+ * {@code library.http.request.statements}, {@code .rows} and {@code .entity.loads}, tagged by
+ * controller and handler method. Latency per endpoint is Spring Boot's
+ * {@code http.server.requests}, which {@link ControllerObservationConvention} tags to match.
+ *
+ * <p>A request slower than {@code slow-threshold}, or preparing at least
+ * {@code slow-statements} statements, is logged at WARN with its statement shapes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "library.metrics.requests.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final Logger slowRequests = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    static final String CONTROLLER_PACKAGE = "com.library.management.controller";
+    static final String STATS_ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowThreshold;
+    private final int slowStatements;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${library.metrics.requests.slow-threshold:PT1S}") Duration slowThreshold,
+                                @Value("${library.metrics.requests.slow-statements:50}") int slowStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+        this.slowStatements = slowStatements;
+    }
+
+    /**
+     * The controller method that handled the request, if it is one of ours. Set by Spring MVC
+     * once the handler is resolved, so only meaningful after dispatch.
+     */
+    static Optional<HandlerMethod> controllerMethod(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                && handler.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE)) {
+            return Optional.of(handler);
+        }
+        return Optional.empty();
+    }
+
+    static Optional<RequestQueryStats> stats(HttpServletRequest request) {
+        return request.getAttribute(STATS_ATTRIBUTE) instanceof RequestQueryStats stats
+                ? Optional.of(stats)
+                : Optional.empty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.open();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.close();
+            if (request.isAsyncStarted()) {
+                // Streaming exports: record once the response is complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, stats, System.nanoTime() - start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, stats, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats, long elapsedNanos) {
+        Optional<HandlerMethod> handler = controllerMethod(request);
+        if (handler.isEmpty()) {
+            return;
+        }
+        String controller = handler.get().getBeanType().getSimpleName();
+        String method = handler.get().getMethod().getName();
+        Tags tags = Tags.of("controller", controller, "handler", method);
+        summary("library.http.request.statements", "SQL statements prepared per request", tags)
+                .record(stats.getStatements());
+        summary("library.http.request.rows", "Rows returned by queries per request", tags)
+                .record(stats.getRows());
+        summary("library.http.request.entity.loads", "Entity instances loaded per request", tags)
+                .record(stats.getEntityLoads());
+
+        Duration elapsed = Duration.ofNanos(elapsedNanos);
+        if (elapsed.compareTo(slowThreshold) >= 0 || stats.getStatements() >= slowStatements) {
+            slowRequests.warn("Slow request {} {} ({}.{}): {} ms, {} statements, {} rows, {} entity loads{}{}",
+                    request.getMethod(), request.getRequestURI(), controller, method, elapsed.toMillis(),
+                    stats.getStatements(), stats.getRows(), stats.getEntityLoads(),
+                    System.lineSeparator(), stats.describeShapes());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.library.management.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * What one HTTP request cost the database: statements prepared, rows returned by queries,
+ * entity instances loaded, and the distinct statement shapes with how often each ran. The
+ * shapes are the SQL Hibernate prepared, parameters still as {@code ?}, so ten identical
+ * selects in a row read as an N+1 at a glance.
+ *
+ * <p>{@link RequestMetricsFilter} opens a scope on the request thread; {@link StatementMetrics}
+ * and {@link RequestStatistics} add to it. Work done on other threads (the async half of an
+ * export, the audit writer) is not attributed to the request.
+ */
+public final class RequestQueryStats {
+    static final int MAX_SHAPES = 50;
+    private static final int MAX_SHAPE_LENGTH = 240;
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private int entityLoads;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    static RequestQueryStats open() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    public static Optional<RequestQueryStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void statementPrepared(String sql) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            String shape = shape(sql);
+            if (stats.shapes.containsKey(shape) || stats.shapes.size() < MAX_SHAPES) {
+                stats.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void rowsFetched(int rows) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows += rows;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * One line per distinct statement, most frequent first, e.g. {@code 12 x select ... from loans ...}.
+     */
+    public String describeShapes() {
+        return shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> String.format("%5d x %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static String shape(String sql) {
+        String shape = sql.strip().replaceAll("\\s+", " ");
+        return shape.length() <= MAX_SHAPE_LENGTH ? shape : shape.substring(0, MAX_SHAPE_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.management.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate's statistics, additionally credited to the current request's
+ * {@link RequestQueryStats}: rows returned by HQL, criteria and native queries, and entity
+ * instances loaded (by query, by id or lazily). Hibernate only reports these while
+ * {@code hibernate.generate_statistics} is on; with it off the request counts stay at zero.
+ * Installed through {@code hibernate.stats.factory} as {@link Factory}.
+ */
+public class RequestStatistics extends StatisticsImpl {
+
+    public RequestStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        RequestQueryStats.rowsFetched(rows);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RequestQueryStats.entityLoaded();
+    }
+
+    public static class Factory implements StatisticsFactory {
+
+        @Override
+        public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+            return new RequestStatistics(sessionFactory);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.management.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements Hibernate prepares, by kind, as {@code library.jdbc.statements}.
+ * Hibernate calls the inspector once per prepared statement, so a JDBC batch of inserts
+ * counts once: the insert count falling while {@code hibernate.entities.inserts} holds
+ * steady is batching at work. Statements prepared on a request thread are also credited to
+ * that request's {@link RequestQueryStats}.
+ */
+public class StatementMetrics implements StatementInspector {
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public StatementMetrics(MeterRegistry meterRegistry) {
+        this.selects = counter(meterRegistry, "select");
+        this.inserts = counter(meterRegistry, "insert");
+        this.updates = counter(meterRegistry, "update");
+        this.deletes = counter(meterRegistry, "delete");
+        this.others = counter(meterRegistry, "other");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counterFor(sql).increment();
+        RequestQueryStats.statementPrepared(sql);
+        return sql;
+    }
+
+    private Counter counterFor(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return switch (sql.substring(start, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> selects;
+            case "insert" -> inserts;
+            case "update" -> updates;
+            case "delete" -> deletes;
+            default -> others;
+        };
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("library.jdbc.statements")
+                .tag("kind", kind)
+                .description("SQL statements prepared by Hibernate")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,308 @@
+package com.library.management.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.dto.request.MemberSearchRequest;
+import com.library.management.event.BookCreated;
+import com.library.management.event.BookDeleted;
+import com.library.management.event.BookUpdated;
+import com.library.management.event.BooksImported;
+import com.library.management.event.LoanOpened;
+import com.library.management.event.LoanReturned;
+import com.library.management.event.LoansOverdue;
+import com.library.management.event.MemberCreated;
+import com.library.management.event.MemberUpdated;
+import com.library.management.repository.specification.BookSpecifications;
+import com.library.management.repository.specification.LoanSpecifications;
+import com.library.management.repository.specification.MemberSpecifications;
+import com.library.management.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Totals for filtered listings, cached per normalized search request and kept current from
+ * the domain events in {@code com.library.management.event} instead of being recounted on
+ * every request.
+ *
+ * <p>A filter is counted on first use. After that, each committed change moves every cached
+ * count whose filter the row enters or leaves by one. The matchers next to each
+ * specification decide whether a row matches. Some changes cannot be attributed to single
+ * rows: bulk imports, the overdue sweep, and copies lent or returned under
+ * {@code available} filters. Those drop the counts they may affect instead.
+ *
+ * <p>A count expires {@code max-staleness} after it was taken, however often it was adjusted
+ * since, and is then taken again. That bounds what adjustments cannot see: changes committed
+ * on other nodes, and filters that move with the clock ({@code overdue}). A count taken while
+ * a change that affects its filter is in flight, or begins, is returned but not cached; changes
+ * that only affect other filters do not stop it being cached.
+ *
+ * <p>Each kind of filter has its own cache of up to {@code max-entries} counts, so a change
+ * only walks the counts over the kind of row it changed.
+ *
+ * <p>Metrics: {@code library.pagination.counts} by {@code result} (hit, miss),
+ * {@code library.pagination.counts.hit.ratio}, and {@code library.pagination.counts.staleness},
+ * the age of the counts served.
+ */
+@Component
+public class FilteredCounts {
+
+    private final Map<Class<?>, Counts> counts = new ConcurrentHashMap<>();
+    private final Duration maxStaleness;
+    private final long maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer staleness;
+
+    public FilteredCounts(@Value("${library.pagination.counts.max-staleness:PT5M}") Duration maxStaleness,
+                          @Value("${library.pagination.counts.max-entries:10000}") long maxEntries,
+                          MeterRegistry meterRegistry) {
+        this.maxStaleness = maxStaleness;
+        this.maxEntries = maxEntries;
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.staleness = Timer.builder("library.pagination.counts.staleness")
+                .description("Age of the filtered counts served")
+                .register(meterRegistry);
+        Gauge.builder("library.pagination.counts.hit.ratio", this, FilteredCounts::hitRatio)
+                .description("Share of filtered count lookups served from cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The number of rows {@code filter} selects, cached or else taken with {@code counter}.
+     * {@code filter} must be a normalized search request, so that equal filters select the
+     * same rows.
+     */
+    public long count(Object filter, LongSupplier counter) {
+        long now = System.nanoTime();
+        Counts tracked = counts(filter.getClass());
+        CachedCount cached = tracked.cache().getIfPresent(filter);
+        if (cached != null) {
+            hits.increment();
+            staleness.record(now - cached.countedAt(), TimeUnit.NANOSECONDS);
+            return cached.value();
+        }
+        misses.increment();
+
+        Counting counting = tracked.startCounting(filter);
+        try {
+            long value = counter.getAsLong();
+            if (!counting.disturbed) {
+                tracked.cache().put(filter, new CachedCount(value, now));
+            }
+            // A change that began just before the put may have committed without seeing it.
+            if (counting.disturbed) {
+                tracked.cache().invalidate(filter);
+            }
+            staleness.record(0, TimeUnit.NANOSECONDS);
+            return value;
+        } finally {
+            tracked.countings().remove(counting);
+        }
+    }
+
+    @EventListener
+    public void on(BookCreated event) {
+        adjust(BookSearchRequest.class, filter -> BookSpecifications.matches(filter, event.book()) ? 1 : 0);
+    }
+
+    @EventListener
+    public void on(BookUpdated event) {
+        adjust(BookSearchRequest.class, filter -> (BookSpecifications.matches(filter, event.after()) ? 1 : 0)
+                - (BookSpecifications.matches(filter, event.before()) ? 1 : 0));
+    }
+
+    @EventListener
+    public void on(BookDeleted event) {
+        adjust(BookSearchRequest.class, filter -> BookSpecifications.matches(filter, event.book()) ? -1 : 0);
+    }
+
+    @EventListener
+    public void on(BooksImported event) {
+        invalidate(BookSearchRequest.class, filter -> true);
+    }
+
+    @EventListener
+    public void on(MemberCreated event) {
+        adjust(MemberSearchRequest.class, filter -> MemberSpecifications.matches(filter, event.member()) ? 1 : 0);
+    }
+
+    @EventListener
+    public void on(MemberUpdated event) {
+        adjust(MemberSearchRequest.class, filter -> (MemberSpecifications.matches(filter, event.after()) ? 1 : 0)
+                - (MemberSpecifications.matches(filter, event.before()) ? 1 : 0));
+    }
+
+    @EventListener
+    public void on(LoanOpened event) {
+        adjust(LoanSearchRequest.class, filter -> LoanSpecifications.matches(filter, event.loan()) ? 1 : 0);
+        invalidate(BookSearchRequest.class, filter -> filter.getAvailable() != null);
+    }
+
+    @EventListener
+    public void on(LoanReturned event) {
+        adjust(LoanSearchRequest.class, filter -> (LoanSpecifications.matches(filter, event.loan()) ? 1 : 0)
+                - (LoanSpecifications.matches(filter, event.openLoan()) ? 1 : 0));
+        invalidate(BookSearchRequest.class, filter -> filter.getAvailable() != null);
+    }
+
+    @EventListener
+    public void on(LoansOverdue event) {
+        invalidate(LoanSearchRequest.class, filter -> filter.getStatus() != null || filter.getOverdue() != null);
+    }
+
+    private <F> void adjust(Class<F> type, ToIntFunction<F> delta) {
+        change(type, filter -> delta.applyAsInt(filter) != 0,
+                (filter, count) -> count.plus(delta.applyAsInt(filter)));
+    }
+
+    private <F> void invalidate(Class<F> type, Predicate<F> affected) {
+        change(type, affected, (filter, count) -> null);
+    }
+
+    /**
+     * Applies {@code update} to every cached count over {@code type} that the change
+     * {@code affects} once the surrounding transaction commits; a null result drops the count.
+     * Until then, counts of those filters are not cached.
+     */
+    private <F> void change(Class<F> type, Predicate<F> affects, BiFunction<F, CachedCount, CachedCount> update) {
+        Counts tracked = counts(type);
+        Change change = tracked.begin(filter -> affects.test(type.cast(filter)));
+        TransactionCallbacks.afterRollback(() -> tracked.changes().remove(change));
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                for (Object filter : tracked.cache().asMap().keySet()) {
+                    if (change.affects(filter)) {
+                        tracked.cache().asMap().computeIfPresent(filter,
+                                (key, count) -> update.apply(type.cast(key), count));
+                    }
+                }
+            } finally {
+                tracked.changes().remove(change);
+            }
+        });
+    }
+
+    private Counts counts(Class<?> type) {
+        return counts.computeIfAbsent(type, key -> new Counts(Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new ExpireAfterCount(maxStaleness.toNanos()))
+                .build()));
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("library.pagination.counts")
+                .tag("result", result)
+                .description("Filtered count lookups")
+                .register(meterRegistry);
+    }
+
+    private record CachedCount(long value, long countedAt) {
+
+        CachedCount plus(int delta) {
+            return delta == 0 ? this : new CachedCount(Math.max(0, value + delta), countedAt);
+        }
+    }
+
+    /**
+     * Expires a count {@code maxStaleness} after it was taken; adjustments keep its deadline.
+     */
+    private record ExpireAfterCount(long maxStaleness) implements Expiry<Object, CachedCount> {
+
+        @Override
+        public long expireAfterCreate(Object filter, CachedCount count, long currentTime) {
+            return Math.max(0, maxStaleness - (currentTime - count.countedAt()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object filter, CachedCount count, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Object filter, CachedCount count, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * The cached counts over one kind of filter, the changes to that kind of row that have
+     * begun but not yet committed or rolled back, and the counts being taken. A change and a
+     * count each register before looking for the other, so whichever registers second sees the
+     * first.
+     */
+    private record Counts(Cache<Object, CachedCount> cache, Set<Change> changes, Set<Counting> countings) {
+
+        Counts(Cache<Object, CachedCount> cache) {
+            this(cache, ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        }
+
+        Change begin(Predicate<Object> affects) {
+            Change change = new Change(affects);
+            changes.add(change);
+            countings.stream()
+                    .filter(counting -> change.affects(counting.filter))
+                    .forEach(counting -> counting.disturbed = true);
+            return change;
+        }
+
+        Counting startCounting(Object filter) {
+            Counting counting = new Counting(filter);
+            countings.add(counting);
+            if (changes.stream().anyMatch(change -> change.affects(filter))) {
+                counting.disturbed = true;
+            }
+            return counting;
+        }
+    }
+
+    /**
+     * A change in flight. Compared by identity: two changes may share a predicate.
+     */
+    private static final class Change {
+        private final Predicate<Object> affects;
+
+        Change(Predicate<Object> affects) {
+            this.affects = affects;
+        }
+
+        boolean affects(Object filter) {
+            return affects.test(filter);
+        }
+    }
+
+    /**
+     * A count being taken, disturbed once a change that affects its filter is seen in flight.
+     */
+    private static final class Counting {
+        private final Object filter;
+        private volatile boolean disturbed;
+
+        Counting(Object filter) {
+            this.filter = filter;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.library.management.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.management.config.PaginationConfig;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.response.CursorPaginatedResponse;
+import com.library.management.exception.InvalidPaginationException;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Seek pagination over a {@link Specification}. Instead of {@code OFFSET n}, each page
+ * continues from the sort key and id of the previous page's last row, so deep pages cost
+ * the same as the first one, and no {@code COUNT(*)} runs unless the caller asks for it.
+ *
+ * <p>{@code fetchPaths} are associations loaded with the page itself rather than one select
+ * per row when the mapper touches them.
+ *
+ * <p>The cursor handed to clients is the base64url-encoded JSON of the sort and the last
+ * row's key values. It is opaque to clients and only valid with the sort it was made for.
+ */
+public final class KeysetPagination {
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private KeysetPagination() {
+    }
+
+    public static <T, R> CursorPaginatedResponse<R> fetch(JpaSpecificationExecutor<T> repository,
+                                                          Specification<T> spec,
+                                                          CursorPageRequest request,
+                                                          SortableFields fields,
+                                                          Function<T, R> mapper,
+                                                          String... fetchPaths) {
+        Sort sort = fields.resolve(request.getSort());
+        int pageSize = pageSize(request.getPageSize());
+        ScrollPosition position = request.getAfter() == null || request.getAfter().isBlank()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(decode(request.getAfter(), sort, fields));
+
+        Window<T> window = repository.findBy(spec.and(fetching(fetchPaths)),
+                query -> query.sortBy(sort).limit(pageSize).scroll(position));
+
+        CursorPaginatedResponse<R> response = new CursorPaginatedResponse<>();
+        response.setContent(window.getContent().stream().map(mapper).toList());
+        response.setPageSize(pageSize);
+        response.setLast(!window.hasNext());
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            response.setNext(encode(sort, last.getKeys()));
+        }
+        if (request.isIncludeTotal()) {
+            response.setTotalElements(repository.count(spec));
+        }
+        return response;
+    }
+
+    // Fetch joins for the page query; the fluent API's project() hint is not applied when scrolling.
+    static <T> Specification<T> fetching(String... paths) {
+        return (root, query, cb) -> {
+            if (paths.length > 0 && !Long.class.equals(query.getResultType())) {
+                for (String path : paths) {
+                    root.fetch(path, JoinType.LEFT);
+                }
+            }
+            return null;
+        };
+    }
+
+    static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return PaginationConfig.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, PaginationConfig.MAX_PAGE_SIZE);
+    }
+
+    static String encode(Sort sort, Map<String, ?> keys) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("s", sortKey(sort));
+        cursor.put("k", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+
+    static Map<String, Object> decode(String token, Sort sort, SortableFields fields) {
+        Map<?, ?> cursor;
+        try {
+            cursor = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(token), Map.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidPaginationException("Invalid pagination cursor", e);
+        }
+        if (!sortKey(sort).equals(cursor.get("s")) || !(cursor.get("k") instanceof Map<?, ?> rawKeys)) {
+            throw new InvalidPaginationException("Pagination cursor does not match the requested sort");
+        }
+
+        List<String> expected = sort.stream().map(Sort.Order::getProperty).toList();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String property : expected) {
+            keys.put(property, convert(rawKeys.get(property), property, fields));
+        }
+        if (!keys.containsKey(SortableFields.ID)) {
+            keys.put(SortableFields.ID, convert(rawKeys.get(SortableFields.ID), SortableFields.ID, fields));
+        }
+        if (keys.size() != rawKeys.size()) {
+            throw new InvalidPaginationException("Pagination cursor does not match the requested sort");
+        }
+        return keys;
+    }
+
+    private static Object convert(Object value, String property, SortableFields fields) {
+        if (value == null) {
+            throw new InvalidPaginationException("Pagination cursor is missing '" + property + "'");
+        }
+        try {
+            return CURSOR_MAPPER.convertValue(value, fields.typeOf(property));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaginationException("Invalid pagination cursor", e);
+        }
+    }
+
+    private static String sortKey(Sort sort) {
+        StringBuilder key = new StringBuilder();
+        sort.forEach(order -> key.append(key.isEmpty() ? "" : ";").append(order.getProperty()).append(',').append(order.getDirection()));
+        return key.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.library.management.pagination;
+
+import com.library.management.dto.response.PaginatedResponse;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Numbered pages over a {@link Specification}, with totals only as far as the caller asks
+ * for them ({@link PageTotals}):
+ * <ul>
+ *   <li>{@code NONE} reads {@code pageSize + 1} rows and reports whether a next page exists.
+ *       No {@code COUNT(*)} runs.</li>
+ *   <li>{@code ESTIMATE} reads the same slice and takes the total from {@link FilteredCounts},
+ *       which counts a filter once and keeps the count current as changes commit.</li>
+ *   <li>{@code EXACT} reads the page and counts it, like {@code findAll(spec, pageable)}.</li>
+ * </ul>
+ *
+ * <p>Unsorted requests are ordered by id so that consecutive pages neither skip nor repeat rows.
+ * {@code fetchPaths} are associations loaded with the page itself, as in {@link KeysetPagination}.
+ */
+@Component
+public class OffsetPagination {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final FilteredCounts filteredCounts;
+
+    public OffsetPagination(FilteredCounts filteredCounts) {
+        this.filteredCounts = filteredCounts;
+    }
+
+    /**
+     * @param filter the normalized search request {@code spec} was built from, which keys
+     *               its count in {@link FilteredCounts}
+     */
+    public <T, R> PaginatedResponse<R> fetch(JpaSpecificationExecutor<T> repository,
+                                             Specification<T> spec,
+                                             Object filter,
+                                             Pageable pageable,
+                                             PageTotals totals,
+                                             Function<T, R> mapper,
+                                             String... fetchPaths) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : BY_ID;
+        Specification<T> fetching = spec.and(KeysetPagination.fetching(fetchPaths));
+        if (totals == PageTotals.EXACT) {
+            return PaginatedResponse.from(repository.findBy(fetching, query -> query.sortBy(sort).page(pageable))
+                    .map(mapper));
+        }
+
+        Slice<R> slice = slice(repository, fetching, pageable, sort).map(mapper);
+        if (totals == PageTotals.ESTIMATE) {
+            return PaginatedResponse.from(slice, filteredCounts.count(filter, () -> repository.count(spec)));
+        }
+        return PaginatedResponse.from(slice);
+    }
+
+    private static <T> Slice<T> slice(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                      Pageable pageable, Sort sort) {
+        OffsetScrollPosition position = ScrollPosition.offset(pageable.getOffset());
+        Window<T> window = repository.findBy(spec,
+                query -> query.sortBy(sort).limit(pageable.getPageSize()).scroll(position));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+}
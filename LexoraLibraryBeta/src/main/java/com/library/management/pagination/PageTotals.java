@@ -0,0 +1,33 @@
+package com.library.management.pagination;
+
+import com.library.management.exception.InvalidPaginationException;
+
+import java.util.Locale;
+
+/**
+ * How a numbered page reports the size of the whole listing. Totals cost a
+ * {@code COUNT(*)} with the same filter as the page itself, so by default a page only says
+ * whether another one follows.
+ */
+public enum PageTotals {
+    /** No totals; {@code last} tells whether another page follows. */
+    NONE,
+    /** Totals from a count cached per filter and kept current as changes commit; see {@link FilteredCounts}. */
+    ESTIMATE,
+    /** Totals counted for this request. */
+    EXACT;
+
+    /**
+     * Parses a {@code totals} parameter, case-insensitively, defaulting to {@link #NONE}.
+     */
+    public static PageTotals from(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaginationException("Unsupported totals '" + value + "', expected none, estimate or exact", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.management.pagination;
+
+import com.library.management.exception.InvalidPaginationException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The properties a listing can be keyset-sorted by, with their Java types so cursor values
+ * can be turned back into typed query parameters. Only non-null columns belong here; the
+ * entity id is always included and breaks ties.
+ */
+public final class SortableFields {
+
+    static final String ID = "id";
+
+    private final Map<String, Class<?>> types;
+
+    private SortableFields(Map<String, Class<?>> types) {
+        this.types = Collections.unmodifiableMap(types);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parses a {@code property[,asc|desc]} parameter, defaulting to ascending id.
+     */
+    public Sort resolve(String sortParam) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return Sort.by(Sort.Direction.ASC, ID);
+        }
+        String[] parts = sortParam.split(",");
+        String property = parts[0].trim();
+        if (!types.containsKey(property) || parts.length > 2) {
+            throw new InvalidPaginationException("Sorting by '" + sortParam + "' is not supported");
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new InvalidPaginationException("Unknown sort direction in '" + sortParam + "'"));
+        }
+        return Sort.by(direction, property);
+    }
+
+    Class<?> typeOf(String property) {
+        return types.get(property);
+    }
+
+    public static final class Builder {
+        private final Map<String, Class<?>> types = new LinkedHashMap<>();
+
+        private Builder() {
+            types.put(ID, Long.class);
+        }
+
+        public Builder add(String property, Class<?> type) {
+            types.put(property, type);
+            return this;
+        }
+
+        public SortableFields build() {
+            return new SortableFields(new LinkedHashMap<>(types));
+        }
+    }
+}
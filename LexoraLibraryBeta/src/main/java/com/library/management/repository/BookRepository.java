@@ -1,21 +1,36 @@
 package com.library.management.repository;
 
 import com.library.management.entity.Book;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+    String RANKED_SEARCH = "(b.search_vector @@ plainto_tsquery('simple', :query) " +
+            "OR lower(b.title) LIKE '%' || lower(:query) || '%' " +
+            "OR lower(b.author) LIKE '%' || lower(:query) || '%' " +
+            "OR lower(b.category) LIKE '%' || lower(:query) || '%' " +
+            "OR lower(b.isbn) LIKE '%' || lower(:query) || '%')";
+
     Optional<Book> findByIsbn(String isbn);
     
     boolean existsByIsbn(String isbn);
+
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    Set<String> findIsbnsIn(@Param("isbns") Collection<String> isbns);
     
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     
@@ -35,6 +50,26 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
            "LOWER(b.isbn) LIKE LOWER(CONCAT('%', :query, '%'))")
     Page<Book> searchBooks(@Param("query") String query, Pageable pageable);
 
+    @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<Book> searchByTitle(@Param("title") String title, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))")
+    Page<Book> searchByAuthor(@Param("author") String author, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%'))")
+    Page<Book> searchByCategory(@Param("category") String category, Pageable pageable);
+
+    /**
+     * PostgreSQL only ({@code db/postgresql}): books whose title, author, category
+     * or ISBN contains the query, or whose words all appear in title, author and category,
+     * best full-text rank first. Both halves are served by GIN indexes.
+     */
+    @Query(value = "SELECT b.* FROM books b WHERE " + RANKED_SEARCH +
+           " ORDER BY ts_rank_cd(b.search_vector, plainto_tsquery('simple', :query)) DESC, b.id",
+           countQuery = "SELECT count(*) FROM books b WHERE " + RANKED_SEARCH,
+           nativeQuery = true)
+    Page<Book> searchRanked(@Param("query") String query, Pageable pageable);
+
     Page<Book> findByTitleContainingIgnoreCaseAndAuthorContainingIgnoreCaseAndCategoryContainingIgnoreCase(
         String title, String author, String category, Pageable pageable);
 
@@ -43,4 +78,60 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
 
     Page<Book> findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCaseOrCategoryContainingIgnoreCase(
         String title, String author, String category, Pageable pageable);
-} 
\ No newline at end of file
+
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.category AS category, b.availableCopies AS availableCopies " +
+           "FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<AvailabilityRef> findAvailabilityAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.category AS category, b.availableCopies AS availableCopies " +
+           "FROM Book b WHERE b.id = :id")
+    Optional<AvailabilityRef> findAvailabilityById(@Param("id") Long id);
+
+    @Query("SELECT b.category AS category, COUNT(b) AS books, " +
+           "SUM(CASE WHEN b.availableCopies > 0 THEN 1 ELSE 0 END) AS availableBooks " +
+           "FROM Book b GROUP BY b.category ORDER BY b.category")
+    List<CategoryCount> countByCategory();
+
+    /**
+     * Loads and write-locks the given books in one statement, in id order so that concurrent
+     * callers always lock in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Takes one copy in a single conditional statement. Returns 0 when no copy is left
+     * (or the book does not exist), so concurrent borrowers can never oversell.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1, b.version = b.version + 1, " +
+           "b.updatedAt = CURRENT_TIMESTAMP WHERE b.id = :id AND b.availableCopies > 0")
+    int reserveCopy(@Param("id") Long id);
+
+    /**
+     * Puts one copy back, never exceeding the total number of copies.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1, b.version = b.version + 1, " +
+           "b.updatedAt = CURRENT_TIMESTAMP WHERE b.id = :id AND b.availableCopies < b.totalCopies")
+    int releaseCopy(@Param("id") Long id);
+
+    interface AvailabilityRef {
+        Long getId();
+
+        String getCategory();
+
+        Integer getAvailableCopies();
+    }
+
+    interface CategoryCount {
+        String getCategory();
+
+        Long getBooks();
+
+        Long getAvailableBooks();
+    }
+}
@@ -3,12 +3,15 @@ package com.library.management.repository;
 import com.library.management.entity.LateFee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,13 +19,29 @@ import java.util.Optional;
 public interface LateFeeRepository extends JpaRepository<LateFee, Long> {
     Optional<LateFee> findByLoanId(Long loanId);
     
+    // Paged reads fetch the loan with its book and member, since every LateFeeDTO shows them.
+    @EntityGraph(attributePaths = {"loan", "loan.book", "loan.member"})
     Page<LateFee> findByLoanId(Long loanId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"loan", "loan.book", "loan.member"})
     Page<LateFee> findByStatus(LateFee.FeeStatus status, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"loan", "loan.book", "loan.member"})
     @Query("SELECT lf FROM LateFee lf WHERE lf.loan.member.id = :memberId")
     Page<LateFee> findByMemberId(@Param("memberId") Long memberId, Pageable pageable);
     
+    @Query("SELECT lf FROM LateFee lf JOIN FETCH lf.loan WHERE lf.loan.id IN :loanIds")
+    List<LateFee> findByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+    
+    @EntityGraph(attributePaths = {"loan", "loan.book", "loan.member"})
+    @Query("SELECT lf FROM LateFee lf WHERE lf.loan.member.id = :memberId AND lf.status = :status")
+    List<LateFee> findByMemberIdAndStatus(@Param("memberId") Long memberId, @Param("status") LateFee.FeeStatus status);
+    
+    boolean existsByLoanMemberIdAndStatus(Long memberId, LateFee.FeeStatus status);
+    
+    @Query("SELECT COALESCE(SUM(lf.amount), 0) FROM LateFee lf WHERE lf.loan.member.id = :memberId AND lf.status = 'PENDING'")
+    BigDecimal sumPendingAmountByMemberId(@Param("memberId") Long memberId);
+    
     @Query("SELECT lf FROM LateFee lf WHERE lf.status = 'PENDING' AND lf.createdAt < :date")
     List<LateFee> findUnpaidFeesOlderThan(@Param("date") LocalDateTime date);
 } 
\ No newline at end of file
@@ -4,13 +4,17 @@ import com.library.management.entity.Loan;
 import com.library.management.entity.Member;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,13 +27,77 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
     @Query("SELECT l FROM Loan l WHERE l.expectedReturnDate < :now AND l.status = 'ACTIVE'")
     List<Loan> findOverdueLoans(@Param("now") LocalDateTime now);
     
+    // Paged reads fetch book and member in the same select, since every LoanDTO shows both.
+    @EntityGraph(attributePaths = {"book", "member"})
     Page<Loan> findByMemberId(Long memberId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"book", "member"})
     Page<Loan> findByBookId(Long bookId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"book", "member"})
     @Query("SELECT l FROM Loan l WHERE l.status = :status")
     Page<Loan> findByStatus(@Param("status") Loan.LoanStatus status, Pageable pageable);
     
+    @Override
+    @EntityGraph(attributePaths = {"book", "member"})
+    Page<Loan> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"book", "member"})
+    Page<Loan> findAll(Specification<Loan> spec, Pageable pageable);
+
+    // Book is left lazy so that callers can lock it before its state is read.
+    @EntityGraph(attributePaths = "member")
+    List<Loan> findByIdIn(Collection<Long> ids);
+
     @Query("SELECT l FROM Loan l WHERE l.book.id = :bookId AND l.status = 'ACTIVE'")
     List<Loan> findActiveLoansForBook(@Param("bookId") Long bookId);
+
+    @Query("SELECT l.id AS id, l.member.id AS memberId FROM Loan l " +
+           "WHERE l.status = 'ACTIVE' AND l.expectedReturnDate < :now AND l.id > :afterId ORDER BY l.id")
+    List<LoanMemberRef> findOverdueLoansAfter(@Param("afterId") Long afterId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT l.id FROM Loan l WHERE l.id IN :ids AND l.status = 'OVERDUE'")
+    List<Long> findOverdueIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT l.id AS id, l.member.id AS memberId, l.expectedReturnDate AS expectedReturnDate, " +
+           "l.book.category AS category " +
+           "FROM Loan l WHERE l.status = 'OVERDUE' AND l.id > :afterId ORDER BY l.id")
+    List<OverdueLoanRef> findOverdueLoansForAccrualAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Loan l SET l.status = 'OVERDUE', l.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE l.id IN :ids AND l.status = 'ACTIVE'")
+    int markOverdue(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Loan l SET l.status = 'OVERDUE', l.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE l.status = 'ACTIVE' AND l.expectedReturnDate < :now")
+    int markAllOverdue(@Param("now") LocalDateTime now);
+
+    @Query("SELECT l.member.id AS memberId, COUNT(l) AS activeLoans FROM Loan l " +
+           "WHERE l.member.id IN :memberIds AND l.status = 'ACTIVE' GROUP BY l.member.id")
+    List<MemberLoanCount> countActiveLoansByMemberIds(@Param("memberIds") List<Long> memberIds);
+
+    interface LoanMemberRef {
+        Long getId();
+
+        Long getMemberId();
+    }
+
+    interface OverdueLoanRef {
+        Long getId();
+
+        Long getMemberId();
+
+        LocalDateTime getExpectedReturnDate();
+
+        String getCategory();
+    }
+
+    interface MemberLoanCount {
+        Long getMemberId();
+
+        Long getActiveLoans();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.library.management.repository;
+
+import com.library.management.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.parkedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findPending(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteDelivered(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id IN :ids")
+    int recordFailure(@Param("ids") List<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.parkedAt = :now WHERE e.id = :id")
+    int park(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
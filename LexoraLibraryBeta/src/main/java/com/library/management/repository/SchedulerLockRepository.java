@@ -0,0 +1,24 @@
+package com.library.management.repository;
+
+import com.library.management.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :owner " +
+           "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryLock(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int unlock(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,41 @@
+package com.library.management.repository.specification;
+
+import com.library.management.entity.AuditLog;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact-match filters over audit entries; null arguments match everything.
+ */
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {
+    }
+
+    public static Specification<AuditLog> matching(String entityType, Long entityId, String action, String performedBy) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (entityType != null) {
+                predicates.add(cb.equal(root.get("entityType"), entityType));
+            }
+
+            if (entityId != null) {
+                predicates.add(cb.equal(root.get("entityId"), entityId));
+            }
+
+            if (action != null) {
+                predicates.add(cb.equal(root.get("action"), action));
+            }
+
+            if (performedBy != null) {
+                predicates.add(cb.equal(root.get("performedBy"), performedBy));
+            }
+
+            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.management.repository.specification;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.entity.Book;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> fromSearchRequest(BookSearchRequest searchRequest) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (searchRequest != null) {
+                if (searchRequest.getTitle() != null && !searchRequest.getTitle().trim().isEmpty()) {
+                    predicates.add(cb.like(cb.lower(root.get("title")), "%" + searchRequest.getTitle().toLowerCase() + "%"));
+                }
+
+                if (searchRequest.getAuthor() != null && !searchRequest.getAuthor().trim().isEmpty()) {
+                    predicates.add(cb.like(cb.lower(root.get("author")), "%" + searchRequest.getAuthor().toLowerCase() + "%"));
+                }
+
+                if (searchRequest.getIsbn() != null && !searchRequest.getIsbn().trim().isEmpty()) {
+                    predicates.add(cb.equal(root.get("isbn"), searchRequest.getIsbn()));
+                }
+
+                if (searchRequest.getCategory() != null && !searchRequest.getCategory().trim().isEmpty()) {
+                    predicates.add(cb.like(cb.lower(root.get("category")), "%" + searchRequest.getCategory().toLowerCase() + "%"));
+                }
+
+                if (searchRequest.getPublicationYear() != null) {
+                    predicates.add(cb.equal(root.get("publicationYear"), searchRequest.getPublicationYear()));
+                }
+
+                if (searchRequest.getAvailable() != null && searchRequest.getAvailable()) {
+                    predicates.add(cb.greaterThan(root.get("availableCopies"), 0));
+                }
+            }
+
+            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * A copy of {@code searchRequest} that selects the same books, with the case-insensitive
+     * terms lower-cased and the no-op filters (blank terms, {@code available=false}) cleared,
+     * so equal results mean equal filters. A null request becomes an empty one.
+     */
+    public static BookSearchRequest normalize(BookSearchRequest searchRequest) {
+        BookSearchRequest normalized = new BookSearchRequest();
+        if (searchRequest != null) {
+            normalized.setTitle(lowerCase(searchRequest.getTitle()));
+            normalized.setAuthor(lowerCase(searchRequest.getAuthor()));
+            normalized.setIsbn(isBlank(searchRequest.getIsbn()) ? null : searchRequest.getIsbn());
+            normalized.setCategory(lowerCase(searchRequest.getCategory()));
+            normalized.setPublicationYear(searchRequest.getPublicationYear());
+            normalized.setAvailable(Boolean.TRUE.equals(searchRequest.getAvailable()) ? Boolean.TRUE : null);
+        }
+        return normalized;
+    }
+
+    /**
+     * In-memory version of {@link #fromSearchRequest} for a normalized request.
+     */
+    public static boolean matches(BookSearchRequest searchRequest, BookDTO book) {
+        return contains(book.getTitle(), searchRequest.getTitle())
+                && contains(book.getAuthor(), searchRequest.getAuthor())
+                && (searchRequest.getIsbn() == null || searchRequest.getIsbn().equals(book.getIsbn()))
+                && contains(book.getCategory(), searchRequest.getCategory())
+                && (searchRequest.getPublicationYear() == null
+                        || Objects.equals(searchRequest.getPublicationYear(), book.getPublicationYear()))
+                && (searchRequest.getAvailable() == null
+                        || book.getAvailableCopies() != null && book.getAvailableCopies() > 0);
+    }
+
+    private static String lowerCase(String term) {
+        return isBlank(term) ? null : term.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String term) {
+        return term == null || term.trim().isEmpty();
+    }
+
+    private static boolean contains(String value, String term) {
+        return term == null || value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
@@ -0,0 +1,101 @@
+package com.library.management.repository.specification;
+
+import com.library.management.dto.LoanDTO;
+import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.entity.Loan;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class LoanSpecifications {
+
+    private LoanSpecifications() {
+    }
+
+    public static Specification<Loan> fromSearchRequest(LoanSearchRequest searchRequest) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (searchRequest != null) {
+                if (searchRequest.getMemberId() != null) {
+                    predicates.add(cb.equal(root.get("member").get("id"), searchRequest.getMemberId()));
+                }
+
+                if (searchRequest.getBookId() != null) {
+                    predicates.add(cb.equal(root.get("book").get("id"), searchRequest.getBookId()));
+                }
+
+                if (searchRequest.getStatus() != null) {
+                    predicates.add(cb.equal(root.get("status"), searchRequest.getStatus()));
+                }
+
+                if (searchRequest.getBorrowDateFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("borrowDate"), searchRequest.getBorrowDateFrom()));
+                }
+
+                if (searchRequest.getBorrowDateTo() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("borrowDate"), searchRequest.getBorrowDateTo()));
+                }
+
+                if (searchRequest.getReturnDateFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("actualReturnDate"), searchRequest.getReturnDateFrom()));
+                }
+
+                if (searchRequest.getReturnDateTo() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("actualReturnDate"), searchRequest.getReturnDateTo()));
+                }
+
+                if (searchRequest.getOverdue() != null && searchRequest.getOverdue()) {
+                    predicates.add(cb.lessThan(root.get("expectedReturnDate"), LocalDateTime.now()));
+                    predicates.add(cb.equal(root.get("status"), Loan.LoanStatus.ACTIVE));
+                }
+            }
+
+            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * A copy of {@code searchRequest} that selects the same loans, with {@code overdue=false},
+     * which filters nothing, cleared. A null request becomes an empty one.
+     */
+    public static LoanSearchRequest normalize(LoanSearchRequest searchRequest) {
+        LoanSearchRequest normalized = new LoanSearchRequest();
+        if (searchRequest != null) {
+            normalized.setMemberId(searchRequest.getMemberId());
+            normalized.setBookId(searchRequest.getBookId());
+            normalized.setStatus(searchRequest.getStatus());
+            normalized.setBorrowDateFrom(searchRequest.getBorrowDateFrom());
+            normalized.setBorrowDateTo(searchRequest.getBorrowDateTo());
+            normalized.setReturnDateFrom(searchRequest.getReturnDateFrom());
+            normalized.setReturnDateTo(searchRequest.getReturnDateTo());
+            normalized.setOverdue(Boolean.TRUE.equals(searchRequest.getOverdue()) ? Boolean.TRUE : null);
+        }
+        return normalized;
+    }
+
+    /**
+     * In-memory version of {@link #fromSearchRequest} for a normalized request, with
+     * {@code overdue} evaluated as of now.
+     */
+    public static boolean matches(LoanSearchRequest searchRequest, LoanDTO loan) {
+        return (searchRequest.getMemberId() == null || searchRequest.getMemberId().equals(loan.getMemberId()))
+                && (searchRequest.getBookId() == null || searchRequest.getBookId().equals(loan.getBookId()))
+                && (searchRequest.getStatus() == null || searchRequest.getStatus() == loan.getStatus())
+                && within(loan.getBorrowDate(), searchRequest.getBorrowDateFrom(), searchRequest.getBorrowDateTo())
+                && within(loan.getActualReturnDate(), searchRequest.getReturnDateFrom(), searchRequest.getReturnDateTo())
+                && (searchRequest.getOverdue() == null
+                        || loan.getStatus() == Loan.LoanStatus.ACTIVE && loan.getExpectedReturnDate() != null
+                        && loan.getExpectedReturnDate().isBefore(LocalDateTime.now()));
+    }
+
+    private static boolean within(LocalDateTime value, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return value != null && (from == null || !value.isBefore(from)) && (to == null || !value.isAfter(to));
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.management.repository.specification;
+
+import com.library.management.dto.MemberDTO;
+import com.library.management.dto.request.MemberSearchRequest;
+import com.library.management.entity.Member;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria version of {@code MemberRepository.searchMembers}, with the same matching rules.
+ */
+public final class MemberSpecifications {
+
+    private MemberSpecifications() {
+    }
+
+    public static Specification<Member> fromSearchRequest(MemberSearchRequest searchRequest) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (searchRequest != null) {
+                if (searchRequest.getName() != null) {
+                    predicates.add(cb.like(cb.lower(root.get("name")), "%" + searchRequest.getName().toLowerCase() + "%"));
+                }
+
+                if (searchRequest.getEmail() != null) {
+                    predicates.add(cb.like(cb.lower(root.get("email")), "%" + searchRequest.getEmail().toLowerCase() + "%"));
+                }
+
+                if (searchRequest.getMembershipId() != null) {
+                    predicates.add(cb.equal(root.get("membershipId"), searchRequest.getMembershipId()));
+                }
+
+                if (searchRequest.getPhoneNumber() != null) {
+                    predicates.add(cb.equal(root.get("phoneNumber"), searchRequest.getPhoneNumber()));
+                }
+
+                if (searchRequest.getActive() != null) {
+                    predicates.add(cb.equal(root.get("active"), searchRequest.getActive()));
+                }
+            }
+
+            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * A copy of {@code searchRequest} that selects the same members, with the
+     * case-insensitive terms lower-cased. A null request becomes an empty one.
+     */
+    public static MemberSearchRequest normalize(MemberSearchRequest searchRequest) {
+        MemberSearchRequest normalized = new MemberSearchRequest();
+        if (searchRequest != null) {
+            normalized.setName(lowerCase(searchRequest.getName()));
+            normalized.setEmail(lowerCase(searchRequest.getEmail()));
+            normalized.setMembershipId(searchRequest.getMembershipId());
+            normalized.setPhoneNumber(searchRequest.getPhoneNumber());
+            normalized.setActive(searchRequest.getActive());
+        }
+        return normalized;
+    }
+
+    /**
+     * In-memory version of {@link #fromSearchRequest} for a normalized request.
+     */
+    public static boolean matches(MemberSearchRequest searchRequest, MemberDTO member) {
+        return contains(member.getName(), searchRequest.getName())
+                && contains(member.getEmail(), searchRequest.getEmail())
+                && (searchRequest.getMembershipId() == null || searchRequest.getMembershipId().equals(member.getMembershipId()))
+                && (searchRequest.getPhoneNumber() == null || searchRequest.getPhoneNumber().equals(member.getPhoneNumber()))
+                && (searchRequest.getActive() == null || searchRequest.getActive() == member.isActive());
+    }
+
+    private static String lowerCase(String term) {
+        return term == null ? null : term.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String value, String term) {
+        return term == null || value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
@@ -0,0 +1,67 @@
+package com.library.management.scheduling;
+
+import com.library.management.entity.SchedulerLock;
+import com.library.management.repository.SchedulerLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide mutual exclusion for scheduled jobs, backed by one row per job in
+ * {@code scheduler_locks}. A lock is taken with a conditional update that only succeeds
+ * once the previous holder's lease has expired, so a node that dies mid-run blocks the
+ * job for at most {@code lockAtMostFor}.
+ */
+@Component
+public class JobLockService {
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate newTransaction;
+    private final String owner;
+
+    public JobLockService(SchedulerLockRepository schedulerLockRepository, PlatformTransactionManager transactionManager) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Tries to take the named lock for at most {@code lockAtMostFor}. Never blocks.
+     */
+    public boolean tryLock(String name, Duration lockAtMostFor) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lockAtMostFor);
+        Integer updated = newTransaction.execute(status -> schedulerLockRepository.tryLock(name, owner, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        try {
+            Boolean created = newTransaction.execute(status -> {
+                if (schedulerLockRepository.existsById(name)) {
+                    return false;
+                }
+                schedulerLockRepository.saveAndFlush(new SchedulerLock(name, until, now, owner));
+                return true;
+            });
+            return Boolean.TRUE.equals(created);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Lock {} was created concurrently by another node", name);
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        newTransaction.executeWithoutResult(status -> schedulerLockRepository.unlock(name, owner, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,225 @@
+package com.library.management.scheduling;
+
+import com.library.management.circulation.LateFeeRates;
+import com.library.management.circulation.MemberStanding;
+import com.library.management.entity.LateFee;
+import com.library.management.entity.Loan;
+import com.library.management.event.FeeAssessed;
+import com.library.management.repository.LateFeeRepository;
+import com.library.management.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accrues late fees for every OVERDUE loan, nightly by default. Loans are walked by id in
+ * chunks of {@code batch-size}, each in its own transaction: one query reads the chunk's
+ * loans with their due date and book category, one more reads the fees they already have,
+ * and new and changed fees are written back as JDBC batches.
+ *
+ * <p>Each fee is recomputed from the due date with the {@link LateFeeRates} of the book's
+ * category, so a missed run is caught up by the next one. Only PENDING fees are updated;
+ * paid and waived fees are left as they are. The cached balances of members whose fees
+ * changed are evicted as each chunk commits, and every fee created or changed is recorded as
+ * a {@link FeeAssessed} in the chunk's transaction. The loans per second of the last run are
+ * published as {@code library.fees.accrual.throughput}.
+ */
+@Component
+public class LateFeeAccrualJob {
+    private static final Logger logger = LoggerFactory.getLogger(LateFeeAccrualJob.class);
+    static final String LOCK_NAME = "late-fee-accrual";
+
+    private final LoanRepository loanRepository;
+    private final LateFeeRepository lateFeeRepository;
+    private final LateFeeRates lateFeeRates;
+    private final MemberStanding memberStanding;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final int batchSize;
+    private final Duration lockAtMostFor;
+    private final Counter loansAccrued;
+    private final Counter feesCreated;
+    private final Counter feesUpdated;
+    private final Timer accrualTimer;
+    private final AtomicReference<Double> throughput = new AtomicReference<>(0.0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LateFeeAccrualJob(LoanRepository loanRepository,
+                             LateFeeRepository lateFeeRepository,
+                             LateFeeRates lateFeeRates,
+                             MemberStanding memberStanding,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             JobLockService jobLockService,
+                             MeterRegistry meterRegistry,
+                             @Value("${library.fees.accrual.batch-size:1000}") int batchSize,
+                             @Value("${library.fees.accrual.lock-at-most-for:PT2H}") Duration lockAtMostFor) {
+        this.loanRepository = loanRepository;
+        this.lateFeeRepository = lateFeeRepository;
+        this.lateFeeRates = lateFeeRates;
+        this.memberStanding = memberStanding;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockAtMostFor = lockAtMostFor;
+        this.loansAccrued = Counter.builder("library.fees.accrual.loans")
+                .description("Overdue loans processed by late fee accrual")
+                .register(meterRegistry);
+        this.feesCreated = Counter.builder("library.fees.accrual.fees")
+                .tag("outcome", "created")
+                .description("Late fees written by accrual")
+                .register(meterRegistry);
+        this.feesUpdated = Counter.builder("library.fees.accrual.fees")
+                .tag("outcome", "updated")
+                .description("Late fees written by accrual")
+                .register(meterRegistry);
+        this.accrualTimer = Timer.builder("library.fees.accrual")
+                .description("Duration of late fee accrual runs")
+                .register(meterRegistry);
+        Gauge.builder("library.fees.accrual.throughput", throughput, AtomicReference::get)
+                .description("Overdue loans processed per second in the last accrual run")
+                .baseUnit("loans/s")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${library.fees.accrual.cron:0 30 1 * * *}")
+    public void scheduledAccrual() {
+        if (!jobLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            logger.debug("Late fee accrual is running on another node, skipping");
+            return;
+        }
+        try {
+            accrue();
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Brings the fee of every OVERDUE loan up to date as of now.
+     */
+    public Result accrue() {
+        LocalDateTime asOf = LocalDateTime.now();
+        long started = System.nanoTime();
+        Result result = accrualTimer.record(() -> accrueInChunks(asOf));
+        double seconds = Math.max(System.nanoTime() - started, 1) / 1_000_000_000.0;
+
+        throughput.set(result.loans() / seconds);
+        loansAccrued.increment(result.loans());
+        feesCreated.increment(result.created());
+        feesUpdated.increment(result.updated());
+        logger.info("Late fee accrual processed {} overdue loans in {} ms ({} loans/s): {} fees created, {} updated",
+                result.loans(), Math.round(seconds * 1000), Math.round(throughput.get()), result.created(), result.updated());
+        return result;
+    }
+
+    private Result accrueInChunks(LocalDateTime asOf) {
+        Result total = new Result(0, 0, 0);
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            Chunk chunk = transactionTemplate.execute(status -> accrueChunk(afterId, asOf));
+            if (chunk == null || chunk.result().loans() == 0) {
+                return total;
+            }
+            total = total.plus(chunk.result());
+            lastId = chunk.lastLoanId();
+            logger.debug("Accrued late fees up to loan ID: {}", lastId);
+            if (chunk.result().loans() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private Chunk accrueChunk(long afterId, LocalDateTime asOf) {
+        List<LoanRepository.OverdueLoanRef> loans =
+                loanRepository.findOverdueLoansForAccrualAfter(afterId, PageRequest.of(0, batchSize));
+        if (loans.isEmpty()) {
+            return new Chunk(new Result(0, 0, 0), afterId);
+        }
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        List<Long> loanIds = loans.stream().map(LoanRepository.OverdueLoanRef::getId).toList();
+        Map<Long, LateFee> fees = lateFeeRepository.findByLoanIdIn(loanIds).stream()
+                .collect(Collectors.toMap(fee -> fee.getLoan().getId(), Function.identity(), (first, second) -> first));
+
+        int created = 0;
+        int updated = 0;
+        Set<Long> changedMembers = new HashSet<>();
+        for (LoanRepository.OverdueLoanRef loan : loans) {
+            long daysOverdue = ChronoUnit.DAYS.between(loan.getExpectedReturnDate(), asOf);
+            if (daysOverdue <= 0) {
+                continue;
+            }
+            BigDecimal amount = lateFeeRates.feeFor(loan.getCategory(), daysOverdue);
+            LateFee fee = fees.get(loan.getId());
+            if (fee == null) {
+                fee = new LateFee();
+                fee.setLoan(entityManager.getReference(Loan.class, loan.getId()));
+                fee.setAmount(amount);
+                fee.setDaysOverdue((int) daysOverdue);
+                fee.setStatus(LateFee.FeeStatus.PENDING);
+                entityManager.persist(fee);
+                changedMembers.add(loan.getMemberId());
+                eventPublisher.publishEvent(assessed(fee, loan));
+                created++;
+            } else if (fee.getStatus() == LateFee.FeeStatus.PENDING
+                    && (fee.getAmount().compareTo(amount) != 0 || fee.getDaysOverdue() != daysOverdue)) {
+                fee.setAmount(amount);
+                fee.setDaysOverdue((int) daysOverdue);
+                changedMembers.add(loan.getMemberId());
+                eventPublisher.publishEvent(assessed(fee, loan));
+                updated++;
+            }
+        }
+        if (!changedMembers.isEmpty()) {
+            memberStanding.invalidateAll(changedMembers);
+        }
+        return new Chunk(new Result(loans.size(), created, updated), loanIds.get(loanIds.size() - 1));
+    }
+
+    private static FeeAssessed assessed(LateFee fee, LoanRepository.OverdueLoanRef loan) {
+        return new FeeAssessed(fee.getId(), loan.getId(), loan.getMemberId(), fee.getAmount(), fee.getDaysOverdue());
+    }
+
+    /**
+     * Outcome of an accrual run: overdue loans looked at, and fees created and updated.
+     */
+    public record Result(int loans, int created, int updated) {
+        Result plus(Result other) {
+            return new Result(loans + other.loans, created + other.created, updated + other.updated);
+        }
+    }
+
+    private record Chunk(Result result, long lastLoanId) {
+    }
+}
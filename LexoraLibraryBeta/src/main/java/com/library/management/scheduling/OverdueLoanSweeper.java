@@ -0,0 +1,141 @@
+package com.library.management.scheduling;
+
+import com.library.management.circulation.MemberLoanCounter;
+import com.library.management.event.LoanOverdue;
+import com.library.management.event.LoansOverdue;
+import com.library.management.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flips ACTIVE loans past their expected return date to OVERDUE with set-based updates.
+ * Loans are walked by id in chunks of {@code batch-size}, each committed on its own, so
+ * neither the persistence context nor the transaction grows with the number of loans.
+ * A batch size of 0 or less issues one {@code UPDATE} for everything instead.
+ *
+ * <p>Chunked sweeps record a {@link LoanOverdue} per loan in the chunk's transaction; the
+ * single {@code UPDATE} does not know which loans it moved and reports only the count.
+ */
+@Component
+public class OverdueLoanSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(OverdueLoanSweeper.class);
+    static final String LOCK_NAME = "overdue-loan-sweep";
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final MemberLoanCounter memberLoanCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration lockAtMostFor;
+    private final Counter loansMarked;
+    private final Timer sweepTimer;
+
+    public OverdueLoanSweeper(LoanRepository loanRepository,
+                              PlatformTransactionManager transactionManager,
+                              JobLockService jobLockService,
+                              MemberLoanCounter memberLoanCounter,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${library.loans.overdue-sweep.batch-size:1000}") int batchSize,
+                              @Value("${library.loans.overdue-sweep.lock-at-most-for:PT30M}") Duration lockAtMostFor) {
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.memberLoanCounter = memberLoanCounter;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.lockAtMostFor = lockAtMostFor;
+        this.loansMarked = Counter.builder("library.loans.overdue.marked")
+                .description("Loans moved from ACTIVE to OVERDUE")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("library.loans.overdue.sweep")
+                .description("Duration of overdue loan sweeps")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${library.loans.overdue-sweep.cron:0 */15 * * * *}")
+    public void scheduledSweep() {
+        if (!jobLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            logger.debug("Overdue sweep is running on another node, skipping");
+            return;
+        }
+        try {
+            sweep();
+        } finally {
+            jobLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Marks every loan that is overdue as of now. Returns the number of loans updated.
+     */
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = sweepTimer.record(() -> batchSize > 0 ? sweepInChunks(now) : sweepAtOnce(now));
+        loansMarked.increment(updated);
+        logger.info("Overdue sweep marked {} loans as overdue", updated);
+        return updated;
+    }
+
+    private int sweepAtOnce(LocalDateTime now) {
+        Integer updated = transactionTemplate.execute(status -> loanRepository.markAllOverdue(now));
+        memberLoanCounter.invalidateAll();
+        int marked = updated == null ? 0 : updated;
+        if (marked > 0) {
+            eventPublisher.publishEvent(new LoansOverdue(marked));
+        }
+        return marked;
+    }
+
+    private int sweepInChunks(LocalDateTime now) {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<LoanRepository.LoanMemberRef> loans =
+                        loanRepository.findOverdueLoansAfter(afterId, now, PageRequest.of(0, batchSize));
+                List<Long> ids = loans.stream().map(LoanRepository.LoanMemberRef::getId).toList();
+                int updated = ids.isEmpty() ? 0 : loanRepository.markOverdue(ids);
+                // Loans returned since they were read were not moved and get no event.
+                Set<Long> moved = updated == ids.size() ? Set.copyOf(ids) : Set.copyOf(loanRepository.findOverdueIds(ids));
+                loans.stream()
+                        .filter(loan -> moved.contains(loan.getId()))
+                        .forEach(loan -> eventPublisher.publishEvent(new LoanOverdue(loan.getId(), loan.getMemberId())));
+                return new Chunk(loans, updated);
+            });
+            if (chunk == null || chunk.loans().isEmpty()) {
+                return total;
+            }
+            chunk.loans().forEach(loan -> memberLoanCounter.invalidate(loan.getMemberId()));
+            if (chunk.updated() > 0) {
+                eventPublisher.publishEvent(new LoansOverdue(chunk.updated()));
+            }
+            total += chunk.updated();
+            lastId = chunk.loans().get(chunk.loans().size() - 1).getId();
+            logger.debug("Marked {} loans as overdue up to loan ID: {}", chunk.updated(), lastId);
+            if (chunk.loans().size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private record Chunk(List<LoanRepository.LoanMemberRef> loans, int updated) {
+    }
+}
@@ -0,0 +1,354 @@
+package com.library.management.search;
+
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory "available now" index over the catalog: a bitmap of the book ids that have a
+ * copy on the shelf, plus book and available-book counts per category. It answers the
+ * {@code available} filter and the category browse counts without scanning {@code books},
+ * whose {@code available_copies} changes on every borrow and return.
+ *
+ * <p>Like {@link BookSearchIndex}, it is loaded once the application is ready and kept in
+ * sync after each committed change: books are (re)indexed on create, update and import,
+ * and on every borrow and return with the copy count that change committed. Counts are
+ * always stored whole, never moved by a delta, so a change replayed over a rebuild that
+ * already read it is harmless. The database stays authoritative; a count can drift if two
+ * changes to the same book are applied out of commit order, so the index is also rebuilt
+ * on {@code rebuild-cron}. Callers fall back to JPA while it warms.
+ */
+@Component
+public class AvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int loadBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Bitmaps bitmaps = new Bitmaps();
+    private List<Consumer<Bitmaps>> pendingMutations;
+    private volatile boolean ready;
+
+    public AvailabilityIndex(BookRepository bookRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${library.catalog.availability.enabled:true}") boolean enabled,
+                             @Value("${library.catalog.availability.load-batch-size:10000}") int loadBatchSize) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${library.catalog.availability.rebuild-cron:0 45 * * * *}")
+    public void scheduledRebuild() {
+        if (isReady()) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether the book has a copy on the shelf. Only meaningful once the index is ready.
+     */
+    public boolean isAvailable(long bookId) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.isAvailable(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of available book ids in id order, with the total number of available
+     * books, or empty while the index is warming.
+     */
+    public Optional<SearchHits> availableBooks(Pageable pageable) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            return Optional.of(bitmaps.availableBooks(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Book and available-book counts for every category, by category name, or empty while
+     * the index is warming.
+     */
+    public Optional<List<CategoryAvailabilityResponse>> categoryCounts() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(bitmaps.categoryCounts());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) the book with its current copy count once the surrounding
+     * transaction commits.
+     */
+    public void index(Book book) {
+        if (!enabled) {
+            return;
+        }
+        long id = book.getId();
+        String category = book.getCategory();
+        int availableCopies = book.getAvailableCopies();
+        TransactionCallbacks.afterCommit(() -> apply(b -> b.put(id, category, availableCopies)));
+    }
+
+    /**
+     * Re-reads the book's copy count in the surrounding transaction and indexes it once that
+     * transaction commits. Call after changing the count with a bulk update, while the
+     * transaction still holds the row's lock, so the count read is the one that commits.
+     */
+    public void reindex(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        bookRepository.findAvailabilityById(bookId).ifPresent(book -> {
+            String category = book.getCategory();
+            int availableCopies = book.getAvailableCopies();
+            TransactionCallbacks.afterCommit(() -> apply(b -> b.put(bookId, category, availableCopies)));
+        });
+    }
+
+    /**
+     * Drops the book once the surrounding transaction commits.
+     */
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(b -> b.remove(bookId)));
+    }
+
+    /**
+     * Reloads the whole index in the background. The current bitmaps keep serving queries
+     * until the new ones are complete; changes made meanwhile are replayed.
+     */
+    public void rebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuildNow);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void apply(Consumer<Bitmaps> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(bitmaps);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildNow() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingMutations = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Bitmaps fresh = load();
+            lock.writeLock().lock();
+            try {
+                pendingMutations.forEach(mutation -> mutation.accept(fresh));
+                bitmaps = fresh;
+                ready = true;
+            } finally {
+                pendingMutations = null;
+                lock.writeLock().unlock();
+            }
+            logger.info("Availability index built with {} books, {} available, in {} ms",
+                    fresh.books(), fresh.availableCount(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingMutations = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("Failed to build availability index, availability filters will keep using the database", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private Bitmaps load() {
+        Bitmaps fresh = new Bitmaps();
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            List<BookRepository.AvailabilityRef> batch = readOnlyTransaction.execute(status ->
+                    bookRepository.findAvailabilityAfter(afterId, PageRequest.of(0, loadBatchSize)));
+            if (batch == null || batch.isEmpty()) {
+                return fresh;
+            }
+            for (BookRepository.AvailabilityRef book : batch) {
+                fresh.put(book.getId(), book.getCategory(), book.getAvailableCopies());
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * The index state. Not thread-safe; guarded by the enclosing index's lock. Book ids are
+     * bit positions, so the available bitmap costs one bit per id up to the highest one.
+     */
+    static final class Bitmaps {
+        private final BitSet available = new BitSet();
+        private final LongIntHashMap copiesByBook = new LongIntHashMap();
+        private final LongIntHashMap categoryByBook = new LongIntHashMap();
+        private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+        private final List<CategoryCounts> categories = new ArrayList<>();
+        private int availableCount;
+
+        void put(long bookId, String category, int availableCopies) {
+            remove(bookId);
+            int bit = Math.toIntExact(bookId);
+            int ordinal = categoryOrdinals.computeIfAbsent(category == null ? "" : category, name -> {
+                categories.add(new CategoryCounts(name));
+                return categories.size() - 1;
+            });
+            int copies = Math.max(availableCopies, 0);
+            copiesByBook.put(bookId, copies);
+            categoryByBook.put(bookId, ordinal);
+            CategoryCounts counts = categories.get(ordinal);
+            counts.books++;
+            if (copies > 0) {
+                available.set(bit);
+                counts.availableBooks++;
+                availableCount++;
+            }
+        }
+
+        void remove(long bookId) {
+            int copies = copiesByBook.remove(bookId);
+            if (copies < 0) {
+                return;
+            }
+            if (copies > 0) {
+                setAvailable(bookId, false);
+            }
+            categories.get(categoryByBook.remove(bookId)).books--;
+        }
+
+        boolean isAvailable(long bookId) {
+            return bookId >= 0 && bookId <= Integer.MAX_VALUE && available.get((int) bookId);
+        }
+
+        int books() {
+            return copiesByBook.size();
+        }
+
+        int availableCount() {
+            return availableCount;
+        }
+
+        SearchHits availableBooks(long offset, int limit) {
+            List<Long> page = new ArrayList<>((int) Math.min(limit, Math.max(availableCount - offset, 0)));
+            long skipped = 0;
+            for (int bit = available.nextSetBit(0); bit >= 0 && page.size() < limit; bit = available.nextSetBit(bit + 1)) {
+                if (skipped++ >= offset) {
+                    page.add((long) bit);
+                }
+            }
+            return new SearchHits(page, availableCount);
+        }
+
+        List<CategoryAvailabilityResponse> categoryCounts() {
+            return categories.stream()
+                    .filter(counts -> counts.books > 0)
+                    .map(counts -> new CategoryAvailabilityResponse(
+                            counts.name.isEmpty() ? null : counts.name, counts.books, counts.availableBooks))
+                    .sorted(Comparator.comparing(CategoryAvailabilityResponse::getCategory,
+                            Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList();
+        }
+
+        private void setAvailable(long bookId, boolean nowAvailable) {
+            CategoryCounts counts = categories.get(categoryByBook.get(bookId));
+            int delta = nowAvailable ? 1 : -1;
+            available.set(Math.toIntExact(bookId), nowAvailable);
+            counts.availableBooks += delta;
+            availableCount += delta;
+        }
+    }
+
+    private static final class CategoryCounts {
+        private final String name;
+        private int books;
+        private int availableBooks;
+
+        private CategoryCounts(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.library.management.search;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory full-text index over the book catalog. It is loaded from the {@code books}
+ * table once the application is ready and kept in sync by {@code BookServiceImpl} after
+ * each committed create, update or delete. Callers fall back to JPA while it is warming.
+ */
+@Component
+public class BookSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final double COMPACTION_DELETED_RATIO = 0.3;
+    private static final int COMPACTION_MIN_DELETED = 10_000;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int loadBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IndexSegment segment = new IndexSegment();
+    private List<Consumer<IndexSegment>> pendingMutations;
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${library.search.index.enabled:true}") boolean enabled,
+                           @Value("${library.search.index.load-batch-size:5000}") int loadBatchSize) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Searches the index, or returns empty if it is still warming, or a prefix in the query
+     * matches too many terms, so the caller can use JPA.
+     */
+    public Optional<SearchHits> search(BookSearchQuery query, Pageable pageable) {
+        return search(query, null, pageable);
+    }
+
+    /**
+     * Searches the index for books the filter accepts, such as those with a copy on the
+     * shelf. Returns empty while the index is warming or for too broad a prefix.
+     */
+    public Optional<SearchHits> search(BookSearchQuery query, LongPredicate filter, Pageable pageable) {
+        if (!isReady() || query.isEmpty()) {
+            return Optional.empty();
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            return segment.search(query, filter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) the book once the surrounding transaction commits.
+     */
+    public void index(Book book) {
+        if (!enabled) {
+            return;
+        }
+        long id = book.getId();
+        String title = book.getTitle();
+        String author = book.getAuthor();
+        String category = book.getCategory();
+        String isbn = book.getIsbn();
+        TransactionCallbacks.afterCommit(() -> apply(s -> s.add(id, title, author, category, isbn)));
+    }
+
+    /**
+     * Drops the book from the index once the surrounding transaction commits.
+     */
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            apply(s -> s.remove(bookId));
+            compactIfNeeded();
+        });
+    }
+
+    /**
+     * Reloads the whole index in the background. The current segment keeps serving
+     * queries until the new one is complete; mutations made meanwhile are replayed.
+     */
+    public void rebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuildNow);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void apply(Consumer<IndexSegment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(segment);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deleted;
+        int live;
+        lock.readLock().lock();
+        try {
+            deleted = segment.deletedDocs();
+            live = segment.liveDocs();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (deleted >= COMPACTION_MIN_DELETED && deleted > (deleted + live) * COMPACTION_DELETED_RATIO) {
+            logger.info("Book search index has {} deleted documents, rebuilding", deleted);
+            rebuild();
+        }
+    }
+
+    private void rebuildNow() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingMutations = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            IndexSegment fresh = load();
+            lock.writeLock().lock();
+            try {
+                pendingMutations.forEach(mutation -> mutation.accept(fresh));
+                segment = fresh;
+                ready = true;
+            } finally {
+                pendingMutations = null;
+                lock.writeLock().unlock();
+            }
+            logger.info("Book search index built with {} books in {} ms",
+                    fresh.liveDocs(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingMutations = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("Failed to build book search index, searches will keep using the database", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private IndexSegment load() {
+        IndexSegment fresh = new IndexSegment();
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            List<Book> batch = readOnlyTransaction.execute(status ->
+                    bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, loadBatchSize)));
+            if (batch == null || batch.isEmpty()) {
+                return fresh;
+            }
+            for (Book book : batch) {
+                fresh.add(book.getId(), book.getTitle(), book.getAuthor(), book.getCategory(), book.getIsbn());
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+}
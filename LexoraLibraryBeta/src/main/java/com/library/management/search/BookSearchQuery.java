@@ -0,0 +1,73 @@
+package com.library.management.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A conjunctive query against the book index: every clause must match, and each clause
+ * token is matched as a prefix within its fields.
+ */
+public final class BookSearchQuery {
+
+    static final int TITLE = 0;
+    static final int AUTHOR = 1;
+    static final int CATEGORY = 2;
+    static final int ISBN = 3;
+    static final int FIELD_COUNT = 4;
+    static final int ALL_FIELDS = (1 << FIELD_COUNT) - 1;
+
+    private final List<Clause> clauses;
+
+    private BookSearchQuery(List<Clause> clauses) {
+        this.clauses = Collections.unmodifiableList(clauses);
+    }
+
+    /**
+     * Free-text query across title, author, category and ISBN. ISBN-looking input is
+     * compacted into a single token instead of being split on hyphens.
+     */
+    public static BookSearchQuery freeText(String text) {
+        List<Clause> clauses = new ArrayList<>();
+        if (SearchTokenizer.looksLikeIsbn(text)) {
+            clauses.add(new Clause(SearchTokenizer.compactIsbn(text), ALL_FIELDS));
+        } else {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                clauses.add(new Clause(token, ALL_FIELDS));
+            }
+        }
+        return new BookSearchQuery(clauses);
+    }
+
+    /**
+     * Fielded query as issued by the book list filters; blank fields are ignored.
+     */
+    public static BookSearchQuery fields(String title, String author, String category) {
+        List<Clause> clauses = new ArrayList<>();
+        addFieldClauses(clauses, title, TITLE);
+        addFieldClauses(clauses, author, AUTHOR);
+        addFieldClauses(clauses, category, CATEGORY);
+        return new BookSearchQuery(clauses);
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+
+    List<Clause> clauses() {
+        return clauses;
+    }
+
+    private static void addFieldClauses(List<Clause> clauses, String text, int field) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            clauses.add(new Clause(token, 1 << field));
+        }
+    }
+
+    record Clause(String token, int fieldMask) {
+
+        boolean covers(int field) {
+            return (fieldMask & (1 << field)) != 0;
+        }
+    }
+}
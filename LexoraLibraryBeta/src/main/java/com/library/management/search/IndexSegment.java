@@ -0,0 +1,316 @@
+package com.library.management.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+import static com.library.management.search.BookSearchQuery.AUTHOR;
+import static com.library.management.search.BookSearchQuery.CATEGORY;
+import static com.library.management.search.BookSearchQuery.FIELD_COUNT;
+import static com.library.management.search.BookSearchQuery.ISBN;
+import static com.library.management.search.BookSearchQuery.TITLE;
+
+/**
+ * Inverted index over the book catalog with BM25 scoring. Not thread-safe; callers
+ * guard it with a read/write lock. Updates are an append plus a tombstone, so the
+ * segment is periodically rebuilt to drop dead postings.
+ */
+final class IndexSegment {
+
+    private static final float[] FIELD_WEIGHTS = {3.0f, 2.0f, 1.0f, 1.0f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final List<TreeMap<String, PostingsList>> dictionaries = new ArrayList<>(FIELD_COUNT);
+    private final int[][] fieldLengths = new int[FIELD_COUNT][];
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    private final BitSet deleted = new BitSet();
+    private final LongIntHashMap docsByBookId = new LongIntHashMap();
+    private long[] bookIds = new long[1024];
+    private int maxDoc;
+    private int liveDocs;
+
+    IndexSegment() {
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            dictionaries.add(new TreeMap<>());
+            fieldLengths[field] = new int[bookIds.length];
+        }
+    }
+
+    void add(long bookId, String title, String author, String category, String isbn) {
+        remove(bookId);
+        int doc = maxDoc++;
+        ensureCapacity(maxDoc);
+        bookIds[doc] = bookId;
+        indexField(doc, TITLE, SearchTokenizer.tokenize(title));
+        indexField(doc, AUTHOR, SearchTokenizer.tokenize(author));
+        indexField(doc, CATEGORY, SearchTokenizer.tokenize(category));
+        indexField(doc, ISBN, SearchTokenizer.isbnTokens(isbn));
+        docsByBookId.put(bookId, doc);
+        liveDocs++;
+    }
+
+    boolean remove(long bookId) {
+        int doc = docsByBookId.remove(bookId);
+        if (doc < 0) {
+            return false;
+        }
+        deleted.set(doc);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalFieldLengths[field] -= fieldLengths[field][doc];
+        }
+        liveDocs--;
+        return true;
+    }
+
+    int liveDocs() {
+        return liveDocs;
+    }
+
+    int deletedDocs() {
+        return maxDoc - liveDocs;
+    }
+
+    /**
+     * Ranks the books matching every clause. Returns empty when a clause's prefix matches more
+     * than {@value #MAX_PREFIX_EXPANSIONS} terms in a field: ranking them all is too costly, and
+     * ranking only some would drop matches and understate the total, so the caller asks the
+     * database instead.
+     */
+    Optional<SearchHits> search(BookSearchQuery query, long offset, int limit) {
+        return search(query, null, offset, limit);
+    }
+
+    /**
+     * Like {@link #search(BookSearchQuery, long, int)}, keeping only the books the filter
+     * accepts. The filter runs once per matching doc, before ranking.
+     */
+    Optional<SearchHits> search(BookSearchQuery query, LongPredicate filter, long offset, int limit) {
+        if (query.clauses().stream().anyMatch(this::expandsTooFar)) {
+            return Optional.empty();
+        }
+        List<BookSearchQuery.Clause> clauses = new ArrayList<>(query.clauses());
+        clauses.sort(Comparator.comparingLong(this::estimateMatches));
+
+        IntFloatHashMap accumulated = null;
+        for (BookSearchQuery.Clause clause : clauses) {
+            IntFloatHashMap clauseScores = evaluate(clause, accumulated);
+            if (accumulated != null) {
+                IntFloatHashMap merged = new IntFloatHashMap(clauseScores.size());
+                int[] docs = new int[clauseScores.size()];
+                float[] scores = new float[clauseScores.size()];
+                clauseScores.drainTo(docs, scores);
+                for (int i = 0; i < docs.length; i++) {
+                    merged.addTo(docs[i], scores[i] + accumulated.get(docs[i]));
+                }
+                clauseScores = merged;
+            }
+            accumulated = clauseScores;
+            if (accumulated.isEmpty()) {
+                break;
+            }
+        }
+        if (accumulated != null && filter != null) {
+            accumulated = retain(accumulated, filter);
+        }
+        if (accumulated == null || accumulated.isEmpty()) {
+            return Optional.of(new SearchHits(List.of(), 0));
+        }
+        return Optional.of(topHits(accumulated, offset, limit));
+    }
+
+    private IntFloatHashMap retain(IntFloatHashMap accumulated, LongPredicate filter) {
+        int[] docs = new int[accumulated.size()];
+        float[] scores = new float[accumulated.size()];
+        accumulated.drainTo(docs, scores);
+        IntFloatHashMap retained = new IntFloatHashMap(docs.length);
+        for (int i = 0; i < docs.length; i++) {
+            if (filter.test(bookIds[docs[i]])) {
+                retained.addTo(docs[i], scores[i]);
+            }
+        }
+        return retained;
+    }
+
+    private void indexField(int doc, int field, List<String> tokens) {
+        fieldLengths[field][doc] = tokens.size();
+        totalFieldLengths[field] += tokens.size();
+        if (tokens.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        TreeMap<String, PostingsList> dictionary = dictionaries.get(field);
+        frequencies.forEach((term, freq) ->
+                dictionary.computeIfAbsent(term, t -> new PostingsList()).add(doc, freq));
+    }
+
+    private boolean expandsTooFar(BookSearchQuery.Clause clause) {
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (!clause.covers(field)) {
+                continue;
+            }
+            int expansions = 0;
+            for (String ignored : prefixRange(field, clause.token()).navigableKeySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long estimateMatches(BookSearchQuery.Clause clause) {
+        long estimate = 0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (clause.covers(field)) {
+                for (PostingsList postings : prefixRange(field, clause.token()).values()) {
+                    estimate += postings.size();
+                }
+            }
+        }
+        return estimate;
+    }
+
+    private IntFloatHashMap evaluate(BookSearchQuery.Clause clause, IntFloatHashMap candidates) {
+        IntFloatHashMap scores = new IntFloatHashMap(candidates != null ? candidates.size() : 64);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if (!clause.covers(field)) {
+                continue;
+            }
+            float averageLength = liveDocs == 0 ? 1f : Math.max(1f, totalFieldLengths[field] / (float) liveDocs);
+            for (Map.Entry<String, PostingsList> entry : prefixRange(field, clause.token()).entrySet()) {
+                float boost = entry.getKey().equals(clause.token()) ? 1f : PREFIX_BOOST;
+                accumulate(entry.getValue(), field, averageLength, boost, scores, candidates);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(PostingsList postings, int field, float averageLength, float boost,
+                            IntFloatHashMap scores, IntFloatHashMap candidates) {
+        float idf = (float) Math.log(1 + (liveDocs - postings.size() + 0.5) / (postings.size() + 0.5));
+        float weight = FIELD_WEIGHTS[field] * boost * Math.max(idf, 0.01f);
+        int[] lengths = fieldLengths[field];
+        for (int i = 0; i < postings.size(); i++) {
+            int doc = postings.doc(i);
+            if (deleted.get(doc) || (candidates != null && !candidates.contains(doc))) {
+                continue;
+            }
+            int tf = postings.freq(i);
+            float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            scores.addTo(doc, weight * tf * (K1 + 1) / (tf + norm));
+        }
+    }
+
+    private NavigableMap<String, PostingsList> prefixRange(int field, String prefix) {
+        return dictionaries.get(field).subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Selects the requested page with a bounded heap instead of sorting every match.
+     * Ties on score are broken by book id so page boundaries are stable.
+     */
+    private SearchHits topHits(IntFloatHashMap accumulated, long offset, int limit) {
+        int total = accumulated.size();
+        if (offset >= total) {
+            return new SearchHits(List.of(), total);
+        }
+        int[] docs = new int[total];
+        float[] scores = new float[total];
+        accumulated.drainTo(docs, scores);
+
+        int k = (int) Math.min(total, offset + (long) limit);
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < total; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, docs, scores);
+            } else if (ranksBefore(i, heap[0], docs, scores)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, docs, scores);
+            }
+        }
+
+        int[] ranked = new int[k];
+        for (int position = k - 1; position >= 0; position--) {
+            ranked[position] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, docs, scores);
+        }
+
+        List<Long> page = new ArrayList<>(k - (int) offset);
+        for (int position = (int) offset; position < k; position++) {
+            page.add(bookIds[docs[ranked[position]]]);
+        }
+        return new SearchHits(page, total);
+    }
+
+    private boolean ranksBefore(int a, int b, int[] docs, float[] scores) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        return bookIds[docs[a]] < bookIds[docs[b]];
+    }
+
+    // Min-heap on rank: the root is the weakest hit kept so far.
+    private void siftUp(int[] heap, int index, int[] docs, float[] scores) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], item, docs, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private void siftDown(int[] heap, int size, int[] docs, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int item = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], docs, scores)) {
+                child++;
+            }
+            if (!ranksBefore(item, heap[child], docs, scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= bookIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, bookIds.length + (bookIds.length >> 1));
+        bookIds = Arrays.copyOf(bookIds, newCapacity);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            fieldLengths[field] = Arrays.copyOf(fieldLengths[field], newCapacity);
+        }
+    }
+}
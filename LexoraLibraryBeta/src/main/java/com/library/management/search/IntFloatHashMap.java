@@ -0,0 +1,104 @@
+package com.library.management.search;
+
+import java.util.Arrays;
+
+/**
+ * Score accumulator keyed by internal document id. Keys are never removed, which
+ * keeps probing trivial; a fresh map is built per query clause.
+ */
+final class IntFloatHashMap {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private float[] values;
+    private int size;
+
+    IntFloatHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void addTo(int key, float delta) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                values[slot] = delta;
+                size++;
+                return;
+            }
+        }
+    }
+
+    boolean contains(int key) {
+        return slotOf(key) >= 0;
+    }
+
+    float get(int key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : 0f;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the entries into the given arrays, which must hold at least {@link #size()} elements.
+     */
+    void drainTo(int[] docs, float[] scores) {
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                docs[n] = keys[slot];
+                scores[n] = values[slot];
+                n++;
+            }
+        }
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new int[oldKeys.length << 1];
+        values = new float[oldKeys.length << 1];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                addTo(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.management.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from book id to internal document id, avoiding a boxed
+ * {@code Long}/{@code Integer} pair per catalog row.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long REMOVED = Long.MIN_VALUE + 1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int used;
+
+    LongIntHashMap() {
+        this(1024);
+    }
+
+    LongIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == EMPTY) {
+                return -1;
+            }
+            if (current == key) {
+                return values[slot];
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if ((used + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int firstRemoved = -1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == REMOVED && firstRemoved < 0) {
+                firstRemoved = slot;
+            } else if (current == EMPTY) {
+                int target = firstRemoved >= 0 ? firstRemoved : slot;
+                if (target == slot) {
+                    used++;
+                }
+                keys[target] = key;
+                values[target] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    int remove(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == EMPTY) {
+                return -1;
+            }
+            if (current == key) {
+                keys[slot] = REMOVED;
+                size--;
+                return values[slot];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int capacity = size * 4 > oldKeys.length ? oldKeys.length << 1 : oldKeys.length;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        used = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldKeys[i] != REMOVED) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
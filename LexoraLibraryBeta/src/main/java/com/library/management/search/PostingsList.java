@@ -0,0 +1,37 @@
+package com.library.management.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only postings for one term in one field. Document ids are assigned in
+ * increasing order, so the arrays stay sorted without any extra work.
+ */
+final class PostingsList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            freqs = Arrays.copyOf(freqs, capacity);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+}
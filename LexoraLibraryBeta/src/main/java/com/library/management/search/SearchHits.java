@@ -0,0 +1,54 @@
+package com.library.management.search;
+
+import com.library.management.entity.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One page of ranked book ids plus the total number of matching books.
+ */
+public final class SearchHits {
+
+    private final List<Long> bookIds;
+    private final long totalHits;
+
+    public SearchHits(List<Long> bookIds, long totalHits) {
+        this.bookIds = Collections.unmodifiableList(bookIds);
+        this.totalHits = totalHits;
+    }
+
+    public List<Long> getBookIds() {
+        return bookIds;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * Maps the loaded books back into rank order. Ids that no longer resolve to a row
+     * (deleted since they were indexed) are skipped.
+     */
+    public <T> Page<T> toPage(List<Book> books, Function<Book, T> mapper, Pageable pageable) {
+        Map<Long, Book> booksById = new HashMap<>(books.size() * 2);
+        for (Book book : books) {
+            booksById.put(book.getId(), book);
+        }
+        List<T> content = new ArrayList<>(bookIds.size());
+        for (Long id : bookIds) {
+            Book book = booksById.get(id);
+            if (book != null) {
+                content.add(mapper.apply(book));
+            }
+        }
+        return new PageImpl<>(content, pageable, totalHits);
+    }
+}
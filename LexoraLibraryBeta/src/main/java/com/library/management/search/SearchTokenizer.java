@@ -0,0 +1,77 @@
+package com.library.management.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits catalog text into lower-cased, accent-folded alphanumeric tokens. The same
+ * rules are applied at index and query time so prefix lookups line up.
+ */
+final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern ISBN_LIKE = Pattern.compile("^[0-9Xx][0-9Xx\\- ]*$");
+
+    private SearchTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    /**
+     * ISBNs are indexed as a single compact token (digits and check character only) so
+     * "978-3-16" and "978316" both prefix-match "9783161484100".
+     */
+    static List<String> isbnTokens(String isbn) {
+        String compact = compactIsbn(isbn);
+        return compact.isEmpty() ? List.of() : List.of(compact);
+    }
+
+    static boolean looksLikeIsbn(String text) {
+        return text != null && ISBN_LIKE.matcher(text.trim()).matches() && compactIsbn(text).length() >= 3;
+    }
+
+    static String compactIsbn(String isbn) {
+        if (isbn == null) {
+            return "";
+        }
+        StringBuilder compact = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (Character.isDigit(c)) {
+                compact.append(c);
+            } else if (c == 'X' || c == 'x') {
+                compact.append('x');
+            }
+        }
+        return compact.toString();
+    }
+
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
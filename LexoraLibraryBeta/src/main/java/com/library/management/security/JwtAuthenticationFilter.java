@@ -1,6 +1,7 @@
 package com.library.management.security;
 
 import com.library.management.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,15 +13,18 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final ValidatedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService, ValidatedTokenCache tokenCache) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -28,7 +32,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -36,22 +39,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<UserDetails> cached = tokenCache.get(jwt);
+            if (cached.isPresent()) {
+                authenticate(request, cached.get());
+            } else {
+                // One signature check for the whole request; the claims are reused below.
+                Claims claims = jwtService.parseToken(jwt);
+                String username = claims.getSubject();
+                if (username != null) {
+                    long generation = tokenCache.generation(username);
+                    UserDetails userDetails = userService.loadUserByUsername(username);
+
+                    if (jwtService.isTokenValid(claims, userDetails)) {
+                        authenticate(request, userDetails);
+                        tokenCache.put(jwt, userDetails, claims.getExpiration().toInstant(), generation);
+                    }
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            userDetails,
+            null,
+            userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+}
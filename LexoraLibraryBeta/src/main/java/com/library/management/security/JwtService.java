@@ -1,6 +1,8 @@
 package com.library.management.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -24,6 +26,8 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    private volatile JwtParser parser;
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -48,26 +52,43 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Checks already-verified claims, so a caller that has parsed the token once does not
+     * pay for a second signature check.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Verifies the signature and returns the token's claims. Throws a {@link JwtException}
+     * if the token is malformed, tampered with or expired.
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    // The parser is thread-safe; building it decodes the secret, so it is done once.
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
     private Key getSignInKey() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         return Keys.hmacShaKeyFor(keyBytes);
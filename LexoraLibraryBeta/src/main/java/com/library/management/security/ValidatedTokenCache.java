@@ -0,0 +1,154 @@
+package com.library.management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tokens that have already passed signature and expiry checks, with the principal they
+ * resolved to, so repeat requests with the same token skip both the JWT parse and the user
+ * lookup.
+ *
+ * <p>Entries are keyed by a SHA-256 of the token rather than the token itself, bounded in
+ * number, and never outlive the token's own expiry or {@code max-ttl}, whichever is sooner.
+ * The TTL bounds how long a change to the user goes unnoticed; changes made through
+ * {@code UserService} evict the user's entries straight away.
+ *
+ * <p>A principal loaded before a change commits can reach {@link #put} after the change has
+ * evicted the user. Each eviction therefore moves a per-user {@link #generation}; callers read
+ * it before loading and pass it to {@code put}, which drops an entry whose user was evicted in
+ * between. The user details cache in {@code UserServiceImpl} guards its puts the same way.
+ */
+@Component
+public class ValidatedTokenCache implements MeterBinder {
+
+    // Generations are striped by username; an eviction only ever turns away extra puts.
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Cache<String, Entry> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public ValidatedTokenCache(@Value("${library.security.token-cache.enabled:true}") boolean enabled,
+                               @Value("${library.security.token-cache.max-size:10000}") long maxSize,
+                               @Value("${library.security.token-cache.max-ttl:PT5M}") Duration maxTtl) {
+        this(enabled, maxSize, maxTtl, Clock.systemUTC());
+    }
+
+    ValidatedTokenCache(boolean enabled, long maxSize, Duration maxTtl, Clock clock) {
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<UserDetails> get(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(hash(token));
+        // The cache times entries on its own ticker; re-checking here keeps token expiry exact.
+        if (entry == null || !entry.expiresAt().isAfter(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.principal());
+    }
+
+    /**
+     * Caches the principal unless the user has been evicted since {@code generation} was read.
+     */
+    public void put(String token, UserDetails principal, Instant tokenExpiresAt, long generation) {
+        if (!enabled || !tokenExpiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        String key = hash(token);
+        cache.put(key, new Entry(principal, tokenExpiresAt));
+        // invalidateUser moves the generation before removing entries, so a put it missed is caught here.
+        if (generation(principal.getUsername()) != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Moves on every {@link #invalidateUser} of the username. Read it before loading anything
+     * cached about the user.
+     */
+    public long generation(String username) {
+        return generations.get(stripe(username));
+    }
+
+    /**
+     * Drops every cached token of the user, e.g. after a password or role change.
+     */
+    public void invalidateUser(String username) {
+        generations.incrementAndGet(stripe(username));
+        cache.asMap().values().removeIf(entry -> entry.principal().getUsername().equals(username));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "validatedTokens");
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(UserDetails principal, Instant expiresAt) {
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            Duration untilExpiry = Duration.between(clock.instant(), entry.expiresAt());
+            return Math.max(0, Math.min(untilExpiry.toNanos(), maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
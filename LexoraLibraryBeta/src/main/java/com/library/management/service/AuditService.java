@@ -1,8 +1,10 @@
 package com.library.management.service;
 
 import com.library.management.entity.AuditLog;
+import com.library.management.export.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface AuditService {
     void logAction(String action, String entityType, Long entityId, String details);
@@ -11,4 +13,5 @@ public interface AuditService {
     Page<AuditLog> getAuditLogsByPerformedBy(String performedBy, Pageable pageable);
     Page<AuditLog> getAuditLogsByAction(String action, Pageable pageable);
     Page<AuditLog> getAllAuditLogs(Pageable pageable);
+    StreamingResponseBody exportAuditLogs(String entityType, Long entityId, String action, String performedBy, ExportFormat format);
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.response.BulkImportResponse;
+import com.library.management.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface BookImportService {
+    BulkImportResponse importBooks(List<BookDTO> books);
+    BulkImportResponse importBooks(InputStream input, ExportFormat format) throws IOException;
+}
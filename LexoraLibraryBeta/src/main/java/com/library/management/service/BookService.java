@@ -2,9 +2,17 @@ package com.library.management.service;
 
 import com.library.management.dto.BookDTO;
 import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 public interface BookService {
     BookDTO createBook(BookDTO bookDTO);
@@ -16,5 +24,9 @@ public interface BookService {
     BookDTO updateBook(Long id, BookDTO bookDTO);
     void deleteBook(Long id);
     boolean isIsbnUnique(String isbn);
-    PaginatedResponse<BookDTO> getBookListWithFilters(Integer pageNo, Integer pageSize, BookSearchRequest searchRequest);
+    PaginatedResponse<BookDTO> getBookListWithFilters(Integer pageNo, Integer pageSize, BookSearchRequest searchRequest,
+                                                      PageTotals totals);
+    List<CategoryAvailabilityResponse> getCategoryAvailability();
+    CursorPaginatedResponse<BookDTO> getBookListByCursor(CursorPageRequest pageRequest, BookSearchRequest searchRequest);
+    StreamingResponseBody exportBooks(BookSearchRequest searchRequest, ExportFormat format);
 } 
\ No newline at end of file
@@ -1,21 +1,34 @@
 package com.library.management.service;
 
 import com.library.management.dto.LoanDTO;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.dto.response.BatchLoanResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 public interface LoanService {
     LoanDTO borrowBook(LoanDTO loanDTO);
     LoanDTO returnBook(Long id);
+    BatchLoanResponse borrowBooks(Long memberId, List<Long> bookIds);
+    BatchLoanResponse returnBooks(List<Long> loanIds);
     LoanDTO getLoanById(Long id);
     Page<LoanDTO> getLoansByMember(Long memberId, Pageable pageable);
     Page<LoanDTO> getLoansByBook(Long bookId, Pageable pageable);
-    PaginatedResponse<LoanDTO> getLoansByMember(Long memberId, Integer pageNo, Integer pageSize);
-    PaginatedResponse<LoanDTO> getLoansByBook(Long bookId, Integer pageNo, Integer pageSize);
-    PaginatedResponse<LoanDTO> getAllLoans(Integer pageNo, Integer pageSize);
-    PaginatedResponse<LoanDTO> getLoanListWithFilters(Integer pageNo, Integer pageSize, LoanSearchRequest searchRequest);
+    PaginatedResponse<LoanDTO> getLoansByMember(Long memberId, Integer pageNo, Integer pageSize, PageTotals totals);
+    PaginatedResponse<LoanDTO> getLoansByBook(Long bookId, Integer pageNo, Integer pageSize, PageTotals totals);
+    PaginatedResponse<LoanDTO> getAllLoans(Integer pageNo, Integer pageSize, PageTotals totals);
+    PaginatedResponse<LoanDTO> getLoanListWithFilters(Integer pageNo, Integer pageSize, LoanSearchRequest searchRequest,
+                                                      PageTotals totals);
+    CursorPaginatedResponse<LoanDTO> getLoanListByCursor(CursorPageRequest pageRequest, LoanSearchRequest searchRequest);
+    StreamingResponseBody exportLoans(LoanSearchRequest searchRequest, ExportFormat format);
     void updateOverdueLoans();
     boolean canMemberBorrow(Long memberId);
     long getActiveLoansCount(Long memberId);
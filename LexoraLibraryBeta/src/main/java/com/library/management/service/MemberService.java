@@ -1,10 +1,15 @@
 package com.library.management.service;
 
 import com.library.management.dto.MemberDTO;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.MemberSearchRequest;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.export.ExportFormat;
+import com.library.management.pagination.PageTotals;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface MemberService {
     MemberDTO createMember(MemberDTO memberDTO);
@@ -17,5 +22,8 @@ public interface MemberService {
     Page<MemberDTO> searchMembers(String name, String email, String membershipId, 
                                 String phoneNumber, Boolean active, Pageable pageable);
     Page<MemberDTO> getAllMembers(Pageable pageable);
-    PaginatedResponse<MemberDTO> getMemberListWithFilters(Integer pageNo, Integer pageSize, MemberSearchRequest searchRequest);
+    PaginatedResponse<MemberDTO> getMemberListWithFilters(Integer pageNo, Integer pageSize, MemberSearchRequest searchRequest,
+                                                          PageTotals totals);
+    CursorPaginatedResponse<MemberDTO> getMemberListByCursor(CursorPageRequest pageRequest, MemberSearchRequest searchRequest);
+    StreamingResponseBody exportMembers(MemberSearchRequest searchRequest, ExportFormat format);
 } 
\ No newline at end of file
@@ -1,28 +1,54 @@
 package com.library.management.service.impl;
 
+import com.library.management.audit.AuditLogWriter;
 import com.library.management.entity.AuditLog;
+import com.library.management.export.CsvColumns;
+import com.library.management.export.EntityExporter;
+import com.library.management.export.ExportFormat;
 import com.library.management.repository.AuditLogRepository;
+import com.library.management.repository.specification.AuditLogSpecifications;
 import com.library.management.service.AuditService;
+import com.library.management.util.TransactionCallbacks;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
+import java.util.function.Function;
 
 @Service
 @Slf4j
 public class AuditServiceImpl implements AuditService {
+    private static final CsvColumns<AuditLog> EXPORT_COLUMNS = CsvColumns.<AuditLog>builder()
+            .add("id", AuditLog::getId)
+            .add("timestamp", AuditLog::getCreatedAt)
+            .add("action", AuditLog::getAction)
+            .add("entityType", AuditLog::getEntityType)
+            .add("entityId", AuditLog::getEntityId)
+            .add("performedBy", AuditLog::getPerformedBy)
+            .add("details", AuditLog::getDetails)
+            .build();
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final EntityExporter entityExporter;
 
-    public AuditServiceImpl(AuditLogRepository auditLogRepository) {
+    public AuditServiceImpl(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter,
+                            EntityExporter entityExporter) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.entityExporter = entityExporter;
     }
 
+    /**
+     * Queues the entry for the background writer once the caller's transaction commits, so
+     * the caller never waits on the audit insert and rolled-back changes are not audited.
+     */
     @Override
     public void logAction(String action, String entityType, Long entityId, String details) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -37,7 +63,7 @@ public class AuditServiceImpl implements AuditService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        auditLogRepository.save(auditLog);
+        TransactionCallbacks.afterCommit(() -> auditLogWriter.submit(auditLog));
     }
 
     @Override
@@ -67,4 +93,11 @@ public class AuditServiceImpl implements AuditService {
     public Page<AuditLog> getAllAuditLogs(Pageable pageable) {
         return auditLogRepository.findAll(pageable);
     }
+
+    @Override
+    public StreamingResponseBody exportAuditLogs(String entityType, Long entityId, String action, String performedBy,
+                                                 ExportFormat format) {
+        return entityExporter.export(AuditLog.class, AuditLogSpecifications.matching(entityType, entityId, action, performedBy),
+                Function.identity(), EXPORT_COLUMNS, format);
+    }
 } 
\ No newline at end of file
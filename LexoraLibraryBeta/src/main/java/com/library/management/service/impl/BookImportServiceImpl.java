@@ -0,0 +1,268 @@
+package com.library.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.response.BulkImportResponse;
+import com.library.management.entity.Book;
+import com.library.management.event.BooksImported;
+import com.library.management.export.ExportFormat;
+import com.library.management.mapper.BookMapper;
+import com.library.management.repository.BookRepository;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.service.AuditService;
+import com.library.management.service.BookImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports books in chunks of {@code chunk-size} rows. Each chunk is validated in parallel,
+ * checked against the catalog with one {@code IN} query on ISBN, and inserted in one
+ * transaction as a JDBC batch, with ids taken from the pooled {@code books_seq}. A chunk
+ * writes a single summary audit entry rather than one per book.
+ *
+ * <p>Invalid rows, ISBNs repeated within the upload and ISBNs already in the catalog are
+ * reported per row and skipped; the rest of the chunk is still imported. If the batch insert
+ * itself fails (say, an ISBN created concurrently), the chunk is retried one row at a time
+ * so only the offending rows are rejected. Uploads are read one chunk at a time, so their
+ * size is not bounded by memory.
+ */
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceImpl.class);
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final AuditService auditService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookSearchIndex bookSearchIndex,
+                                 AvailabilityIndex availabilityIndex,
+                                 AuditService auditService,
+                                 Validator validator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${library.books.import.chunk-size:1000}") int chunkSize) {
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.auditService = auditService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ndjsonReader = objectMapper.readerFor(BookDTO.class);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(BookDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public BulkImportResponse importBooks(List<BookDTO> books) {
+        Import batch = new Import();
+        for (BookDTO book : books) {
+            batch.add(book);
+        }
+        return batch.finish();
+    }
+
+    @Override
+    public BulkImportResponse importBooks(InputStream input, ExportFormat format) throws IOException {
+        ObjectReader reader = format == ExportFormat.CSV ? csvReader : ndjsonReader;
+        Import batch = new Import();
+        try (MappingIterator<BookDTO> rows = reader.readValues(input)) {
+            while (rows.hasNextValue()) {
+                try {
+                    batch.add(rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    batch.skip("Unreadable row: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // The reader could not find the start of the next row; nothing after it can be trusted.
+            batch.skip("Unreadable input, import stopped: " + e.getOriginalMessage());
+        }
+        return batch.finish();
+    }
+
+    private record Row(int number, BookDTO book) {
+    }
+
+    /**
+     * One import in progress: rows are buffered until a chunk is full, then imported.
+     */
+    private class Import {
+        private final BulkImportResponse response = new BulkImportResponse();
+        private final List<Row> pending = new ArrayList<>(chunkSize);
+
+        void add(BookDTO book) {
+            if (book == null) {
+                skip("Empty row");
+                return;
+            }
+            pending.add(new Row(next(), book));
+            if (pending.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void skip(String message) {
+            reject(new Row(next(), null), message);
+        }
+
+        BulkImportResponse finish() {
+            flush();
+            response.getErrors().sort(Comparator.comparingInt(BulkImportResponse.RowError::getRow));
+            logger.info("Bulk import finished: {} rows, {} created, {} rejected",
+                    response.getReceived(), response.getCreated(), response.getRejected());
+            return response;
+        }
+
+        private int next() {
+            response.setReceived(response.getReceived() + 1);
+            return response.getReceived();
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                importChunk(List.copyOf(pending), this);
+                pending.clear();
+            }
+        }
+
+        void created(int count) {
+            response.setCreated(response.getCreated() + count);
+        }
+
+        void reject(Row row, String message) {
+            String isbn = row.book() == null ? null : row.book().getIsbn();
+            response.setRejected(response.getRejected() + 1);
+            response.getErrors().add(new BulkImportResponse.RowError(row.number(), isbn, message));
+        }
+    }
+
+    private void importChunk(List<Row> chunk, Import batch) {
+        List<String> problems = chunk.parallelStream()
+                .map(row -> validate(row.book()))
+                .toList();
+
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        Set<String> isbns = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            if (problems.get(i) != null) {
+                batch.reject(row, problems.get(i));
+            } else if (!isbns.add(row.book().getIsbn())) {
+                batch.reject(row, "Duplicate ISBN in this import");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = bookRepository.findIsbnsIn(isbns);
+        List<Row> rows = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existing.contains(row.book().getIsbn())) {
+                batch.reject(row, "Book with ISBN " + row.book().getIsbn() + " already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            batch.created(insert(rows));
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} books failed, retrying row by row: {}", rows.size(), e.getMessage());
+            for (Row row : rows) {
+                try {
+                    batch.created(insert(List.of(row)));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    batch.reject(row, "Book with ISBN " + row.book().getIsbn() + " already exists");
+                } catch (DataAccessException rowFailure) {
+                    batch.reject(row, "Could not be saved: " + rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private String validate(BookDTO book) {
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(book);
+        List<String> messages = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (book.getPublicationYear() == null) {
+            messages.add("Publication year is required");
+        }
+        if (book.getTotalCopies() == null) {
+            messages.add("Total copies is required");
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private int insert(List<Row> rows) {
+        List<Book> saved = transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(rows.size());
+            List<Book> books = bookRepository.saveAll(rows.stream().map(row -> BookMapper.toEntity(row.book())).toList());
+            books.forEach(bookSearchIndex::index);
+            books.forEach(availabilityIndex::index);
+            eventPublisher.publishEvent(new BooksImported(books.size()));
+            Book first = books.get(0);
+            auditService.logAction("BULK_CREATE", "BOOK", first.getId(), books.size() == 1
+                    ? "Imported book: " + first.getTitle()
+                    : "Imported " + books.size() + " books, rows " + rows.get(0).number()
+                            + " to " + rows.get(rows.size() - 1).number() + " of the upload, IDs from " + first.getId());
+            return books;
+        });
+        return saved.size();
+    }
+}
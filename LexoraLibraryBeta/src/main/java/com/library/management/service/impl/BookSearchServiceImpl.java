@@ -2,10 +2,15 @@ package com.library.management.service.impl;
 
 import com.library.management.dto.BookDTO;
 import com.library.management.entity.Book;
+import com.library.management.mapper.BookMapper;
 import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSearchQuery;
+import com.library.management.search.SearchHits;
 import com.library.management.service.BookSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -15,22 +20,32 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
+@Profile("!postgres")
 public class BookSearchServiceImpl implements BookSearchService {
     private static final Logger logger = LoggerFactory.getLogger(BookSearchServiceImpl.class);
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
 
-    public BookSearchServiceImpl(BookRepository bookRepository) {
+    public BookSearchServiceImpl(BookRepository bookRepository, BookSearchIndex bookSearchIndex) {
         this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<BookDTO> searchBooks(String query, Pageable pageable) {
         logger.debug("Searching books with query: {}", query);
+        if (pageable.getSort().isUnsorted()) {
+            Optional<SearchHits> hits = bookSearchIndex.search(BookSearchQuery.freeText(query), pageable);
+            if (hits.isPresent()) {
+                return hits.get().toPage(bookRepository.findAllById(hits.get().getBookIds()), BookMapper::toDTO, pageable);
+            }
+        }
         return bookRepository.findAll(createSearchSpecification(query), pageable)
-                .map(this::convertToDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
@@ -38,7 +53,7 @@ public class BookSearchServiceImpl implements BookSearchService {
     public Page<BookDTO> searchByTitle(String title, Pageable pageable) {
         logger.debug("Searching books by title: {}", title);
         return bookRepository.findByTitleContainingIgnoreCase(title, pageable)
-                .map(this::convertToDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
@@ -46,7 +61,7 @@ public class BookSearchServiceImpl implements BookSearchService {
     public Page<BookDTO> searchByAuthor(String author, Pageable pageable) {
         logger.debug("Searching books by author: {}", author);
         return bookRepository.findByAuthorContainingIgnoreCase(author, pageable)
-                .map(this::convertToDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
@@ -54,7 +69,7 @@ public class BookSearchServiceImpl implements BookSearchService {
     public Page<BookDTO> searchByCategory(String category, Pageable pageable) {
         logger.debug("Searching books by category: {}", category);
         return bookRepository.findByCategoryContainingIgnoreCase(category, pageable)
-                .map(this::convertToDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
@@ -63,7 +78,7 @@ public class BookSearchServiceImpl implements BookSearchService {
         logger.debug("Searching books by availability: {}", available);
         if (available) {
             return bookRepository.findAvailableBooks(pageable)
-                    .map(this::convertToDTO);
+                    .map(BookMapper::toDTO);
         }
         return findAllBooks(pageable);
     }
@@ -73,7 +88,7 @@ public class BookSearchServiceImpl implements BookSearchService {
     public Page<BookDTO> findAllBooks(Pageable pageable) {
         logger.debug("Fetching all books");
         return bookRepository.findAll(pageable)
-                .map(this::convertToDTO);
+                .map(BookMapper::toDTO);
     }
 
     private Specification<Book> createSearchSpecification(String query) {
@@ -89,17 +104,4 @@ public class BookSearchServiceImpl implements BookSearchService {
             return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
         };
     }
-
-    private BookDTO convertToDTO(Book book) {
-        BookDTO dto = new BookDTO();
-        dto.setId(book.getId());
-        dto.setTitle(book.getTitle());
-        dto.setAuthor(book.getAuthor());
-        dto.setIsbn(book.getIsbn());
-        dto.setCategory(book.getCategory());
-        dto.setPublicationYear(book.getPublicationYear());
-        dto.setTotalCopies(book.getTotalCopies());
-        dto.setAvailableCopies(book.getAvailableCopies());
-        return dto;
-    }
 } 
\ No newline at end of file
@@ -1,37 +1,95 @@
 package com.library.management.service.impl;
 
+import com.library.management.cache.CatalogCache;
+import com.library.management.circulation.BookCopyCounter;
 import com.library.management.dto.BookDTO;
 import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
 import com.library.management.entity.Book;
+import com.library.management.event.BookCreated;
+import com.library.management.event.BookDeleted;
+import com.library.management.event.BookUpdated;
+import com.library.management.export.CsvColumns;
+import com.library.management.export.EntityExporter;
+import com.library.management.export.ExportFormat;
+import com.library.management.mapper.BookMapper;
+import com.library.management.pagination.KeysetPagination;
+import com.library.management.pagination.OffsetPagination;
+import com.library.management.pagination.PageTotals;
+import com.library.management.pagination.SortableFields;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.LoanRepository;
-import com.library.management.service.AuditService;
+import com.library.management.repository.specification.BookSpecifications;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSearchQuery;
+import com.library.management.search.SearchHits;
 import com.library.management.service.BookService;
+import com.library.management.util.TransactionCallbacks;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class BookServiceImpl implements BookService {
     private static final Logger logger = LoggerFactory.getLogger(BookServiceImpl.class);
+    private static final SortableFields SORTABLE_FIELDS = SortableFields.builder()
+            .add("title", String.class)
+            .add("author", String.class)
+            .add("category", String.class)
+            .add("publicationYear", Integer.class)
+            .add("createdAt", LocalDateTime.class)
+            .build();
+    private static final CsvColumns<BookDTO> EXPORT_COLUMNS = CsvColumns.<BookDTO>builder()
+            .add("id", BookDTO::getId)
+            .add("title", BookDTO::getTitle)
+            .add("author", BookDTO::getAuthor)
+            .add("isbn", BookDTO::getIsbn)
+            .add("category", BookDTO::getCategory)
+            .add("publicationYear", BookDTO::getPublicationYear)
+            .add("totalCopies", BookDTO::getTotalCopies)
+            .add("availableCopies", BookDTO::getAvailableCopies)
+            .build();
     private final BookRepository bookRepository;
     private final LoanRepository loanRepository;
-    private final AuditService auditService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCopyCounter bookCopyCounter;
+    private final EntityExporter entityExporter;
+    private final CatalogCache catalogCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final OffsetPagination offsetPagination;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookServiceImpl(BookRepository bookRepository, LoanRepository loanRepository, AuditService auditService) {
+    public BookServiceImpl(BookRepository bookRepository, LoanRepository loanRepository, BookSearchIndex bookSearchIndex,
+                           BookCopyCounter bookCopyCounter, EntityExporter entityExporter,
+                           CatalogCache catalogCache, AvailabilityIndex availabilityIndex,
+                           OffsetPagination offsetPagination, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
         this.loanRepository = loanRepository;
-        this.auditService = auditService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookCopyCounter = bookCopyCounter;
+        this.entityExporter = entityExporter;
+        this.catalogCache = catalogCache;
+        this.availabilityIndex = availabilityIndex;
+        this.offsetPagination = offsetPagination;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -43,32 +101,32 @@ public class BookServiceImpl implements BookService {
             throw new IllegalArgumentException("Book with ISBN " + bookDTO.getIsbn() + " already exists");
         }
 
-        Book book = convertToEntity(bookDTO);
+        Book book = BookMapper.toEntity(bookDTO);
         book.setAvailableCopies(bookDTO.getTotalCopies());
         Book savedBook = bookRepository.save(book);
-        
-        auditService.logAction("CREATE", "BOOK", savedBook.getId(), 
-            "Created new book: " + savedBook.getTitle());
+        bookSearchIndex.index(savedBook);
+        availabilityIndex.index(savedBook);
         
         logger.info("Book created successfully with ID: {}", savedBook.getId());
-        return convertToDTO(savedBook);
+        BookDTO created = BookMapper.toDTO(savedBook);
+        eventPublisher.publishEvent(new BookCreated(created));
+        return created;
     }
 
+    // Cache hits need no connection; a miss reads in the repository's own transaction.
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookDTO getBookById(Long id) {
         logger.debug("Fetching book with ID: {}", id);
-        return bookRepository.findById(id)
-                .map(this::convertToDTO)
+        return catalogCache.book(id, key -> bookRepository.findById(key).map(BookMapper::toDTO))
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + id));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookDTO getBookByIsbn(String isbn) {
         logger.debug("Fetching book with ISBN: {}", isbn);
-        return bookRepository.findByIsbn(isbn)
-                .map(this::convertToDTO)
+        return catalogCache.bookByIsbn(isbn, key -> bookRepository.findByIsbn(key).map(BookMapper::toDTO))
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with ISBN: " + isbn));
     }
 
@@ -76,7 +134,7 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Page<BookDTO> getAllBooks(Pageable pageable) {
         logger.debug("Fetching all books with pagination");
-        return bookRepository.findAll(pageable).map(this::convertToDTO);
+        return bookRepository.findAll(pageable).map(BookMapper::toDTO);
     }
 
     @Override
@@ -108,7 +166,7 @@ public class BookServiceImpl implements BookService {
         
         try {
             Page<Book> books = bookRepository.findAll(spec, pageable);
-            return books.map(this::convertToDTO);
+            return books.map(BookMapper::toDTO);
         } catch (Exception e) {
             logger.error("Error searching books: {}", e.getMessage());
             throw new RuntimeException("Error searching books", e);
@@ -119,7 +177,13 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Page<BookDTO> getAvailableBooks(Pageable pageable) {
         logger.debug("Fetching available books");
-        return bookRepository.findByAvailableCopiesGreaterThan(0, pageable).map(this::convertToDTO);
+        if (isIdOrder(pageable)) {
+            Optional<SearchHits> hits = availabilityIndex.availableBooks(pageable);
+            if (hits.isPresent()) {
+                return hits.get().toPage(bookRepository.findAllById(hits.get().getBookIds()), BookMapper::toDTO, pageable);
+            }
+        }
+        return bookRepository.findByAvailableCopiesGreaterThan(0, pageable).map(BookMapper::toDTO);
     }
 
     @Override
@@ -135,14 +199,18 @@ public class BookServiceImpl implements BookService {
             throw new IllegalArgumentException("Book with ISBN " + bookDTO.getIsbn() + " already exists");
         }
 
+        BookDTO before = BookMapper.toDTO(existingBook);
         updateBookEntity(existingBook, bookDTO);
         Book updatedBook = bookRepository.save(existingBook);
-        
-        auditService.logAction("UPDATE", "BOOK", updatedBook.getId(), 
-            "Updated book: " + updatedBook.getTitle());
+        bookSearchIndex.index(updatedBook);
+        availabilityIndex.index(updatedBook);
+        TransactionCallbacks.afterCommit(() -> bookCopyCounter.invalidate(id));
+        catalogCache.evictBook(id, before.getIsbn(), updatedBook.getIsbn());
         
         logger.info("Book updated successfully with ID: {}", id);
-        return convertToDTO(updatedBook);
+        BookDTO after = BookMapper.toDTO(updatedBook);
+        eventPublisher.publishEvent(new BookUpdated(before, after));
+        return after;
     }
 
     @Override
@@ -157,91 +225,113 @@ public class BookServiceImpl implements BookService {
             throw new IllegalStateException("Cannot delete book with active loans");
         }
         
-        String bookTitle = book.getTitle();
         bookRepository.delete(book);
-        
-        auditService.logAction("DELETE", "BOOK", id, 
-            "Deleted book: " + bookTitle);
+        bookSearchIndex.remove(id);
+        availabilityIndex.remove(id);
+        TransactionCallbacks.afterCommit(() -> bookCopyCounter.invalidate(id));
+        catalogCache.evictBook(id, book.getIsbn());
+        eventPublisher.publishEvent(new BookDeleted(BookMapper.toDTO(book)));
         
         logger.info("Book deleted successfully with ID: {}", id);
     }
 
     @Override
     public boolean isIsbnUnique(String isbn) {
-        return !bookRepository.existsByIsbn(isbn);
+        return catalogCache.bookByIsbn(isbn, key -> bookRepository.findByIsbn(key).map(BookMapper::toDTO)).isEmpty();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<BookDTO> getBookListWithFilters(Integer pageNo, Integer pageSize, BookSearchRequest searchRequest) {
+    public PaginatedResponse<BookDTO> getBookListWithFilters(Integer pageNo, Integer pageSize, BookSearchRequest searchRequest,
+                                                             PageTotals totals) {
         logger.debug("Fetching books with filters: {}", searchRequest);
-        
-        Specification<Book> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            
-            if (searchRequest != null) {
-                if (searchRequest.getTitle() != null && !searchRequest.getTitle().trim().isEmpty()) {
-                    predicates.add(cb.like(cb.lower(root.get("title")), "%" + searchRequest.getTitle().toLowerCase() + "%"));
-                }
-                
-                if (searchRequest.getAuthor() != null && !searchRequest.getAuthor().trim().isEmpty()) {
-                    predicates.add(cb.like(cb.lower(root.get("author")), "%" + searchRequest.getAuthor().toLowerCase() + "%"));
-                }
-                
-                if (searchRequest.getIsbn() != null && !searchRequest.getIsbn().trim().isEmpty()) {
-                    predicates.add(cb.equal(root.get("isbn"), searchRequest.getIsbn()));
-                }
-                
-                if (searchRequest.getCategory() != null && !searchRequest.getCategory().trim().isEmpty()) {
-                    predicates.add(cb.like(cb.lower(root.get("category")), "%" + searchRequest.getCategory().toLowerCase() + "%"));
-                }
-                
-                if (searchRequest.getPublicationYear() != null) {
-                    predicates.add(cb.equal(root.get("publicationYear"), searchRequest.getPublicationYear()));
-                }
-                
-                if (searchRequest.getAvailable() != null && searchRequest.getAvailable()) {
-                    predicates.add(cb.greaterThan(root.get("availableCopies"), 0));
-                }
+
+        Optional<SearchHits> hits = Optional.empty();
+        if (isTextOnlySearch(searchRequest)) {
+            Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
+            BookSearchQuery query = BookSearchQuery.fields(
+                    searchRequest.getTitle(), searchRequest.getAuthor(), searchRequest.getCategory());
+            if (!Boolean.TRUE.equals(searchRequest.getAvailable())) {
+                hits = bookSearchIndex.search(query, pageable);
+            } else if (availabilityIndex.isReady()) {
+                hits = bookSearchIndex.search(query, availabilityIndex::isAvailable, pageable);
             }
-            
-            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
-        };
+            if (hits.isPresent()) {
+                List<Book> books = bookRepository.findAllById(hits.get().getBookIds());
+                return PaginatedResponse.from(hits.get().toPage(books, BookMapper::toDTO, pageable));
+            }
+        } else if (isAvailabilityOnly(searchRequest)) {
+            Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
+            hits = availabilityIndex.availableBooks(pageable);
+            if (hits.isPresent()) {
+                List<Book> books = bookRepository.findAllById(hits.get().getBookIds());
+                return PaginatedResponse.from(hits.get().toPage(books, BookMapper::toDTO, pageable));
+            }
+        }
         
+        BookSearchRequest filter = BookSpecifications.normalize(searchRequest);
+        Specification<Book> spec = BookSpecifications.fromSearchRequest(filter);
+
         try {
             Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
-            Page<Book> books = bookRepository.findAll(spec, pageable);
-            Page<BookDTO> bookDTOs = books.map(this::convertToDTO);
-            return PaginatedResponse.from(bookDTOs);
+            return offsetPagination.fetch(bookRepository, spec, filter, pageable, totals, BookMapper::toDTO);
         } catch (Exception e) {
             logger.error("Error fetching books with filters: {}", e.getMessage());
             throw new RuntimeException("Error fetching books", e);
         }
     }
 
-    private Book convertToEntity(BookDTO bookDTO) {
-        Book book = new Book();
-        book.setTitle(bookDTO.getTitle());
-        book.setAuthor(bookDTO.getAuthor());
-        book.setIsbn(bookDTO.getIsbn());
-        book.setCategory(bookDTO.getCategory());
-        book.setPublicationYear(bookDTO.getPublicationYear());
-        book.setTotalCopies(bookDTO.getTotalCopies());
-        book.setAvailableCopies(bookDTO.getTotalCopies());
-        return book;
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryAvailabilityResponse> getCategoryAvailability() {
+        logger.debug("Fetching availability by category");
+        return availabilityIndex.categoryCounts().orElseGet(() -> bookRepository.countByCategory().stream()
+                .map(counts -> new CategoryAvailabilityResponse(
+                        counts.getCategory(), counts.getBooks(), counts.getAvailableBooks()))
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<BookDTO> getBookListByCursor(CursorPageRequest pageRequest, BookSearchRequest searchRequest) {
+        logger.debug("Fetching books by cursor with filters: {}", searchRequest);
+        return KeysetPagination.fetch(bookRepository, BookSpecifications.fromSearchRequest(searchRequest),
+                pageRequest, SORTABLE_FIELDS, BookMapper::toDTO);
+    }
+
+    @Override
+    public StreamingResponseBody exportBooks(BookSearchRequest searchRequest, ExportFormat format) {
+        logger.debug("Exporting books as {} with filters: {}", format, searchRequest);
+        return entityExporter.export(Book.class, BookSpecifications.fromSearchRequest(searchRequest),
+                BookMapper::toDTO, EXPORT_COLUMNS, format);
+    }
+
+    /**
+     * The search index only knows title, author and category, and the availability index
+     * can narrow its hits to books on the shelf; any other filter goes to JPA.
+     */
+    private boolean isTextOnlySearch(BookSearchRequest searchRequest) {
+        if (searchRequest == null || hasText(searchRequest.getIsbn()) || searchRequest.getPublicationYear() != null) {
+            return false;
+        }
+        return hasText(searchRequest.getTitle()) || hasText(searchRequest.getAuthor()) || hasText(searchRequest.getCategory());
+    }
+
+    private boolean isAvailabilityOnly(BookSearchRequest searchRequest) {
+        return searchRequest != null && Boolean.TRUE.equals(searchRequest.getAvailable())
+                && !hasText(searchRequest.getIsbn()) && searchRequest.getPublicationYear() == null;
+    }
+
+    /**
+     * The availability index lists books in id order, so it can only serve unsorted pages
+     * or pages sorted by ascending id.
+     */
+    private boolean isIdOrder(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> order.getProperty().equals("id") && order.isAscending());
     }
 
-    private BookDTO convertToDTO(Book book) {
-        BookDTO dto = new BookDTO();
-        dto.setId(book.getId());
-        dto.setTitle(book.getTitle());
-        dto.setAuthor(book.getAuthor());
-        dto.setIsbn(book.getIsbn());
-        dto.setCategory(book.getCategory());
-        dto.setPublicationYear(book.getPublicationYear());
-        dto.setTotalCopies(book.getTotalCopies());
-        dto.setAvailableCopies(book.getAvailableCopies());
-        return dto;
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
     }
 
     private void updateBookEntity(Book book, BookDTO bookDTO) {
@@ -1,21 +1,25 @@
 package com.library.management.service.impl;
 
+import com.library.management.circulation.LateFeeRates;
+import com.library.management.circulation.MemberStanding;
 import com.library.management.dto.LateFeeDTO;
 import com.library.management.entity.LateFee;
 import com.library.management.entity.Loan;
+import com.library.management.event.FeeAssessed;
+import com.library.management.mapper.LateFeeMapper;
 import com.library.management.repository.LateFeeRepository;
 import com.library.management.repository.LoanRepository;
 import com.library.management.service.LateFeeService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -24,14 +28,21 @@ import java.util.stream.Collectors;
 @Service
 public class LateFeeServiceImpl implements LateFeeService {
     private static final Logger logger = LoggerFactory.getLogger(LateFeeServiceImpl.class);
-    private static final BigDecimal DAILY_LATE_FEE_RATE = new BigDecimal("1.00"); // $1 per day
 
     private final LateFeeRepository lateFeeRepository;
     private final LoanRepository loanRepository;
+    private final LateFeeRates lateFeeRates;
+    private final MemberStanding memberStanding;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LateFeeServiceImpl(LateFeeRepository lateFeeRepository, LoanRepository loanRepository) {
+    public LateFeeServiceImpl(LateFeeRepository lateFeeRepository, LoanRepository loanRepository,
+                              LateFeeRates lateFeeRates, MemberStanding memberStanding,
+                              ApplicationEventPublisher eventPublisher) {
         this.lateFeeRepository = lateFeeRepository;
         this.loanRepository = loanRepository;
+        this.lateFeeRates = lateFeeRates;
+        this.memberStanding = memberStanding;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,19 +62,21 @@ public class LateFeeServiceImpl implements LateFeeService {
             throw new IllegalStateException("Late fee already exists for loan ID: " + loanId);
         }
 
-        BigDecimal amount = calculateLateFeeAmount(loanId);
-        int daysOverdue = (int) ChronoUnit.DAYS.between(loan.getExpectedReturnDate(), LocalDateTime.now());
+        long daysOverdue = daysLate(loan);
 
         LateFee lateFee = new LateFee();
         lateFee.setLoan(loan);
-        lateFee.setAmount(amount);
-        lateFee.setDaysOverdue(daysOverdue);
+        lateFee.setAmount(lateFeeRates.feeFor(loan.getBook().getCategory(), daysOverdue));
+        lateFee.setDaysOverdue((int) Math.max(daysOverdue, 0));
         lateFee.setStatus(LateFee.FeeStatus.PENDING);
 
         LateFee savedLateFee = lateFeeRepository.save(lateFee);
+        memberStanding.invalidate(loan.getMember().getId());
+        eventPublisher.publishEvent(new FeeAssessed(savedLateFee.getId(), loanId, loan.getMember().getId(),
+                savedLateFee.getAmount(), savedLateFee.getDaysOverdue()));
         logger.info("Late fee calculated and saved for loan ID: {}", loanId);
 
-        return convertToDTO(savedLateFee);
+        return LateFeeMapper.toDTO(savedLateFee);
     }
 
     @Override
@@ -82,9 +95,10 @@ public class LateFeeServiceImpl implements LateFeeService {
         lateFee.setPaidDate(LocalDateTime.now());
 
         LateFee updatedLateFee = lateFeeRepository.save(lateFee);
+        memberStanding.invalidate(lateFee.getLoan().getMember().getId());
         logger.info("Late fee paid successfully for ID: {}", lateFeeId);
 
-        return convertToDTO(updatedLateFee);
+        return LateFeeMapper.toDTO(updatedLateFee);
     }
 
     @Override
@@ -92,7 +106,7 @@ public class LateFeeServiceImpl implements LateFeeService {
     public LateFeeDTO getLateFeeById(Long id) {
         logger.debug("Fetching late fee with ID: {}", id);
         return lateFeeRepository.findById(id)
-                .map(this::convertToDTO)
+                .map(LateFeeMapper::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Late fee not found with ID: " + id));
     }
 
@@ -100,24 +114,23 @@ public class LateFeeServiceImpl implements LateFeeService {
     @Transactional(readOnly = true)
     public Page<LateFeeDTO> getLateFeesByLoan(Long loanId, Pageable pageable) {
         logger.debug("Fetching late fees for loan ID: {}", loanId);
-        return lateFeeRepository.findByLoanId(loanId, pageable).map(this::convertToDTO);
+        return lateFeeRepository.findByLoanId(loanId, pageable).map(LateFeeMapper::toDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LateFeeDTO> getUnpaidFeesByMember(Long memberId) {
         logger.debug("Fetching unpaid late fees for member ID: {}", memberId);
-        return lateFeeRepository.findByMemberId(memberId, Pageable.unpaged())
+        return lateFeeRepository.findByMemberIdAndStatus(memberId, LateFee.FeeStatus.PENDING)
                 .stream()
-                .filter(lateFee -> lateFee.getStatus() == LateFee.FeeStatus.PENDING)
-                .map(this::convertToDTO)
+                .map(LateFeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean hasUnpaidFees(Long memberId) {
-        return !getUnpaidFeesByMember(memberId).isEmpty();
+        return lateFeeRepository.existsByLoanMemberIdAndStatus(memberId, LateFee.FeeStatus.PENDING);
     }
 
     @Override
@@ -126,33 +139,19 @@ public class LateFeeServiceImpl implements LateFeeService {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new EntityNotFoundException("Loan not found with ID: " + loanId));
 
-        if (loan.getExpectedReturnDate() == null) {
-            throw new IllegalStateException("Loan has no expected return date");
-        }
-
-        LocalDateTime returnDate = loan.getActualReturnDate() != null ? 
-                loan.getActualReturnDate() : LocalDateTime.now();
-        
-        long daysLate = ChronoUnit.DAYS.between(loan.getExpectedReturnDate(), returnDate);
-        
+        long daysLate = daysLate(loan);
         if (daysLate <= 0) {
             return BigDecimal.ZERO;
         }
-
-        return DAILY_LATE_FEE_RATE.multiply(new BigDecimal(daysLate))
-                .setScale(2, RoundingMode.HALF_UP);
+        return lateFeeRates.feeFor(loan.getBook().getCategory(), daysLate);
     }
 
-    private LateFeeDTO convertToDTO(LateFee lateFee) {
-        LateFeeDTO dto = new LateFeeDTO();
-        dto.setId(lateFee.getId());
-        dto.setLoanId(lateFee.getLoan().getId());
-        dto.setAmount(lateFee.getAmount());
-        dto.setDaysOverdue(lateFee.getDaysOverdue());
-        dto.setPaidDate(lateFee.getPaidDate());
-        dto.setStatus(lateFee.getStatus());
-        dto.setMemberName(lateFee.getLoan().getMember().getName());
-        dto.setBookTitle(lateFee.getLoan().getBook().getTitle());
-        return dto;
+    private long daysLate(Loan loan) {
+        if (loan.getExpectedReturnDate() == null) {
+            throw new IllegalStateException("Loan has no expected return date");
+        }
+        LocalDateTime returnDate = loan.getActualReturnDate() != null ?
+                loan.getActualReturnDate() : LocalDateTime.now();
+        return ChronoUnit.DAYS.between(loan.getExpectedReturnDate(), returnDate);
     }
 } 
\ No newline at end of file
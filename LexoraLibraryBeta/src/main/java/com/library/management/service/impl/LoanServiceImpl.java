@@ -1,47 +1,122 @@
 package com.library.management.service.impl;
 
+import com.library.management.cache.CatalogCache;
+import com.library.management.circulation.BookCopyCounter;
+import com.library.management.circulation.MemberLoanCounter;
+import com.library.management.circulation.MemberStanding;
 import com.library.management.dto.LoanDTO;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.dto.response.BatchLoanResponse;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
 import com.library.management.entity.Book;
 import com.library.management.entity.Loan;
 import com.library.management.entity.Member;
+import com.library.management.event.LoanOpened;
+import com.library.management.event.LoanReturned;
+import com.library.management.export.CsvColumns;
+import com.library.management.export.EntityExporter;
+import com.library.management.export.ExportFormat;
+import com.library.management.mapper.LoanMapper;
+import com.library.management.pagination.KeysetPagination;
+import com.library.management.pagination.OffsetPagination;
+import com.library.management.pagination.PageTotals;
+import com.library.management.pagination.SortableFields;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.LoanRepository;
 import com.library.management.repository.MemberRepository;
+import com.library.management.repository.specification.LoanSpecifications;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
 import com.library.management.service.LoanService;
+import com.library.management.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LoanServiceImpl implements LoanService {
     private static final Logger logger = LoggerFactory.getLogger(LoanServiceImpl.class);
     private static final int LOAN_PERIOD_DAYS = 14;
     private static final int MAX_ACTIVE_LOANS = 5;
+    private static final SortableFields SORTABLE_FIELDS = SortableFields.builder()
+            .add("borrowDate", LocalDateTime.class)
+            .add("expectedReturnDate", LocalDateTime.class)
+            .add("status", Loan.LoanStatus.class)
+            .build();
+    private static final CsvColumns<LoanDTO> EXPORT_COLUMNS = CsvColumns.<LoanDTO>builder()
+            .add("id", LoanDTO::getId)
+            .add("bookId", LoanDTO::getBookId)
+            .add("bookTitle", LoanDTO::getBookTitle)
+            .add("memberId", LoanDTO::getMemberId)
+            .add("memberName", LoanDTO::getMemberName)
+            .add("borrowDate", LoanDTO::getBorrowDate)
+            .add("expectedReturnDate", LoanDTO::getExpectedReturnDate)
+            .add("actualReturnDate", LoanDTO::getActualReturnDate)
+            .add("status", LoanDTO::getStatus)
+            .build();
 
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
-
-    public LoanServiceImpl(LoanRepository loanRepository, BookRepository bookRepository, MemberRepository memberRepository) {
+    private final BookCopyCounter bookCopyCounter;
+    private final MemberLoanCounter memberLoanCounter;
+    private final MemberStanding memberStanding;
+    private final OverdueLoanSweeper overdueLoanSweeper;
+    private final EntityExporter entityExporter;
+    private final CatalogCache catalogCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final OffsetPagination offsetPagination;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LoanServiceImpl(LoanRepository loanRepository, BookRepository bookRepository, MemberRepository memberRepository,
+                           BookCopyCounter bookCopyCounter, MemberLoanCounter memberLoanCounter,
+                           MemberStanding memberStanding, OverdueLoanSweeper overdueLoanSweeper, EntityExporter entityExporter,
+                           CatalogCache catalogCache, AvailabilityIndex availabilityIndex,
+                           OffsetPagination offsetPagination, ApplicationEventPublisher eventPublisher) {
         this.loanRepository = loanRepository;
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
+        this.bookCopyCounter = bookCopyCounter;
+        this.memberLoanCounter = memberLoanCounter;
+        this.memberStanding = memberStanding;
+        this.overdueLoanSweeper = overdueLoanSweeper;
+        this.entityExporter = entityExporter;
+        this.catalogCache = catalogCache;
+        this.availabilityIndex = availabilityIndex;
+        this.offsetPagination = offsetPagination;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -50,32 +125,30 @@ public class LoanServiceImpl implements LoanService {
         logger.info("Processing book borrow request for book ID: {} and member ID: {}", 
                    loanDTO.getBookId(), loanDTO.getMemberId());
 
+        if (!bookCopyCounter.mayHaveCopies(loanDTO.getBookId())) {
+            throw new IllegalStateException("No available copies of the book");
+        }
+
         Member member = memberRepository.findById(loanDTO.getMemberId())
                 .orElseThrow(() -> new EntityNotFoundException("Member not found with ID: " + loanDTO.getMemberId()));
 
         if (!member.isActive()) {
             throw new IllegalStateException("Member is not active");
         }
+        requireGoodStanding(member.getId());
 
         Book book = bookRepository.findById(loanDTO.getBookId())
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with ID: " + loanDTO.getBookId()));
 
         validateLoanCreation(book, member);
+        reserveCopy(book);
 
-        Loan loan = new Loan();
-        loan.setBook(book);
-        loan.setMember(member);
-        loan.setBorrowDate(LocalDateTime.now());
-        loan.setExpectedReturnDate(loan.getBorrowDate().plusDays(LOAN_PERIOD_DAYS));
-        loan.setStatus(Loan.LoanStatus.ACTIVE);
-
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
-        bookRepository.save(book);
-
-        Loan savedLoan = loanRepository.save(loan);
+        Loan savedLoan = loanRepository.save(newLoan(book, member, LocalDateTime.now()));
         logger.info("Book borrowed successfully. Loan ID: {}", savedLoan.getId());
 
-        return convertToDTO(savedLoan);
+        LoanDTO opened = LoanMapper.toDTO(savedLoan);
+        eventPublisher.publishEvent(new LoanOpened(opened));
+        return opened;
     }
 
     @Override
@@ -90,17 +163,165 @@ public class LoanServiceImpl implements LoanService {
             throw new IllegalStateException("Loan is already returned");
         }
 
+        Loan.LoanStatus previousStatus = loan.getStatus();
+        boolean wasActive = previousStatus == Loan.LoanStatus.ACTIVE;
         loan.setActualReturnDate(LocalDateTime.now());
         loan.setStatus(Loan.LoanStatus.RETURNED);
 
-        Book book = loan.getBook();
-        book.setAvailableCopies(book.getAvailableCopies() + 1);
-        bookRepository.save(book);
+        Long bookId = loan.getBook().getId();
+        if (bookRepository.releaseCopy(bookId) > 0) {
+            TransactionCallbacks.afterCommit(() -> bookCopyCounter.release(bookId));
+            catalogCache.evictBook(bookId);
+            availabilityIndex.reindex(bookId);
+        } else {
+            logger.warn("Book ID: {} already has all copies available, not incrementing", bookId);
+        }
 
         Loan updatedLoan = loanRepository.save(loan);
+        if (wasActive) {
+            Long memberId = loan.getMember().getId();
+            TransactionCallbacks.afterCommit(() -> memberLoanCounter.release(memberId));
+        }
         logger.info("Book returned successfully for loan ID: {}", loanId);
 
-        return convertToDTO(updatedLoan);
+        LoanDTO returned = LoanMapper.toDTO(updatedLoan);
+        eventPublisher.publishEvent(new LoanReturned(returned, previousStatus));
+        return returned;
+    }
+
+    /**
+     * Lends several books to one member in a single transaction. The member is read once,
+     * every requested book is loaded and write-locked in one statement, and the loan limit
+     * is checked once for the whole set, granting as many books as the member has slots for
+     * in request order. Books that cannot be lent are reported per item and do not stop the
+     * others. Copy updates and new loans go out in one batched flush at commit.
+     */
+    @Override
+    @Transactional
+    public BatchLoanResponse borrowBooks(Long memberId, List<Long> bookIds) {
+        logger.info("Processing batch borrow of {} books for member ID: {}", bookIds.size(), memberId);
+
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member not found with ID: " + memberId));
+        if (!member.isActive()) {
+            throw new IllegalStateException("Member is not active");
+        }
+        requireGoodStanding(memberId);
+
+        String[] errors = new String[bookIds.size()];
+        Set<Long> requested = new LinkedHashSet<>();
+        for (int i = 0; i < bookIds.size(); i++) {
+            Long bookId = bookIds.get(i);
+            if (!requested.add(bookId)) {
+                errors[i] = "Book is listed more than once";
+            } else if (!bookCopyCounter.mayHaveCopies(bookId)) {
+                errors[i] = "No available copies of the book";
+            }
+        }
+        Map<Long, Book> books = lockBooks(indexesWithout(errors).stream().map(bookIds::get).toList());
+
+        List<Integer> lendable = new ArrayList<>();
+        for (int i : indexesWithout(errors)) {
+            Long bookId = bookIds.get(i);
+            Book book = books.get(bookId);
+            if (book == null) {
+                errors[i] = "Book not found with ID: " + bookId;
+            } else if (book.getAvailableCopies() <= 0 || !bookCopyCounter.tryAcquire(bookId, book.getAvailableCopies())) {
+                errors[i] = "No available copies of the book";
+            } else {
+                lendable.add(i);
+            }
+        }
+
+        int granted = lendable.isEmpty() ? 0 : memberLoanCounter.tryAcquire(memberId, MAX_ACTIVE_LOANS, lendable.size());
+        Loan[] loans = new Loan[bookIds.size()];
+        LocalDateTime now = LocalDateTime.now();
+        for (int k = 0; k < lendable.size(); k++) {
+            int i = lendable.get(k);
+            Long bookId = bookIds.get(i);
+            if (k >= granted) {
+                bookCopyCounter.release(bookId);
+                errors[i] = "Member has reached maximum number of active loans";
+                continue;
+            }
+            // The row is locked, so the copy can be taken on the entity itself.
+            Book book = books.get(bookId);
+            book.setAvailableCopies(book.getAvailableCopies() - 1);
+            TransactionCallbacks.afterRollback(() -> bookCopyCounter.release(bookId));
+            catalogCache.evictBook(bookId);
+            availabilityIndex.index(book);
+            loans[i] = newLoan(book, member, now);
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(bookIds.size());
+        loanRepository.saveAll(Arrays.stream(loans).filter(Objects::nonNull).toList())
+                .forEach(loan -> eventPublisher.publishEvent(new LoanOpened(LoanMapper.toDTO(loan))));
+        logger.info("Batch borrow for member ID: {} lent {} of {} books", memberId, granted, bookIds.size());
+
+        return batchResponse(bookIds, loans, errors);
+    }
+
+    /**
+     * Closes several loans in a single transaction: the loans are read in one statement and
+     * their books write-locked in another, and loans that cannot be returned are reported
+     * per item. Loan and copy updates go out in one batched flush at commit.
+     */
+    @Override
+    @Transactional
+    public BatchLoanResponse returnBooks(List<Long> loanIds) {
+        logger.info("Processing batch return of {} loans", loanIds.size());
+
+        Map<Long, Loan> found = loanRepository.findByIdIn(new LinkedHashSet<>(loanIds)).stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+
+        String[] errors = new String[loanIds.size()];
+        Loan[] loans = new Loan[loanIds.size()];
+        Set<Long> requested = new HashSet<>();
+        for (int i = 0; i < loanIds.size(); i++) {
+            Long loanId = loanIds.get(i);
+            Loan loan = found.get(loanId);
+            if (!requested.add(loanId)) {
+                errors[i] = "Loan is listed more than once";
+            } else if (loan == null) {
+                errors[i] = "Loan not found with ID: " + loanId;
+            } else if (loan.getStatus() == Loan.LoanStatus.RETURNED) {
+                errors[i] = "Loan is already returned";
+            } else {
+                loans[i] = loan;
+            }
+        }
+        Map<Long, Book> books = lockBooks(Arrays.stream(loans).filter(Objects::nonNull)
+                .map(loan -> loan.getBook().getId()).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Loan loan : loans) {
+            if (loan == null) {
+                continue;
+            }
+            Loan.LoanStatus previousStatus = loan.getStatus();
+            boolean wasActive = previousStatus == Loan.LoanStatus.ACTIVE;
+            loan.setActualReturnDate(now);
+            loan.setStatus(Loan.LoanStatus.RETURNED);
+
+            Book book = books.get(loan.getBook().getId());
+            Long bookId = book.getId();
+            if (book.getAvailableCopies() < book.getTotalCopies()) {
+                book.setAvailableCopies(book.getAvailableCopies() + 1);
+                TransactionCallbacks.afterCommit(() -> bookCopyCounter.release(bookId));
+                catalogCache.evictBook(bookId);
+                availabilityIndex.index(book);
+            } else {
+                logger.warn("Book ID: {} already has all copies available, not incrementing", bookId);
+            }
+            if (wasActive) {
+                Long memberId = loan.getMember().getId();
+                TransactionCallbacks.afterCommit(() -> memberLoanCounter.release(memberId));
+            }
+            eventPublisher.publishEvent(new LoanReturned(LoanMapper.toDTO(loan), previousStatus));
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(loanIds.size());
+        return batchResponse(loanIds, loans, errors);
     }
 
     @Override
@@ -108,7 +329,7 @@ public class LoanServiceImpl implements LoanService {
     public LoanDTO getLoanById(Long id) {
         logger.debug("Fetching loan with ID: {}", id);
         return loanRepository.findById(id)
-                .map(this::convertToDTO)
+                .map(LoanMapper::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Loan not found with ID: " + id));
     }
 
@@ -121,7 +342,7 @@ public class LoanServiceImpl implements LoanService {
             throw new EntityNotFoundException("Member not found with ID: " + memberId);
         }
 
-        return loanRepository.findByMemberId(memberId, pageable).map(this::convertToDTO);
+        return loanRepository.findByMemberId(memberId, pageable).map(LoanMapper::toDTO);
     }
 
     @Override
@@ -133,110 +354,81 @@ public class LoanServiceImpl implements LoanService {
             throw new EntityNotFoundException("Book not found with ID: " + bookId);
         }
 
-        return loanRepository.findByBookId(bookId, pageable).map(this::convertToDTO);
+        return loanRepository.findByBookId(bookId, pageable).map(LoanMapper::toDTO);
     }
 
     @Override
-    @Transactional
     public void updateOverdueLoans() {
         logger.info("Updating overdue loans");
-        List<Loan> overdueLoans = loanRepository.findOverdueLoans(LocalDateTime.now());
-        
-        for (Loan loan : overdueLoans) {
-            loan.setStatus(Loan.LoanStatus.OVERDUE);
-            loanRepository.save(loan);
-            logger.debug("Marked loan ID: {} as overdue", loan.getId());
-        }
+        overdueLoanSweeper.sweep();
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean canMemberBorrow(Long memberId) {
-        return getActiveLoansCount(memberId) < MAX_ACTIVE_LOANS;
+        return memberLoanCounter.activeLoans(memberId) < MAX_ACTIVE_LOANS;
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getActiveLoansCount(Long memberId) {
-        return loanRepository.findByMemberIdAndStatus(memberId, Loan.LoanStatus.ACTIVE).size();
+        return memberRepository.countActiveLoans(memberId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<LoanDTO> getLoansByMember(Long memberId, Integer pageNo, Integer pageSize) {
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
-        Page<Loan> loans = loanRepository.findByMemberId(memberId, pageable);
-        Page<LoanDTO> loanDTOs = loans.map(this::convertToDTO);
-        return PaginatedResponse.from(loanDTOs);
+    public PaginatedResponse<LoanDTO> getLoansByMember(Long memberId, Integer pageNo, Integer pageSize, PageTotals totals) {
+        LoanSearchRequest searchRequest = new LoanSearchRequest();
+        searchRequest.setMemberId(memberId);
+        return getLoanListWithFilters(pageNo, pageSize, searchRequest, totals);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<LoanDTO> getLoansByBook(Long bookId, Integer pageNo, Integer pageSize) {
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
-        Page<Loan> loans = loanRepository.findByBookId(bookId, pageable);
-        Page<LoanDTO> loanDTOs = loans.map(this::convertToDTO);
-        return PaginatedResponse.from(loanDTOs);
+    public PaginatedResponse<LoanDTO> getLoansByBook(Long bookId, Integer pageNo, Integer pageSize, PageTotals totals) {
+        LoanSearchRequest searchRequest = new LoanSearchRequest();
+        searchRequest.setBookId(bookId);
+        return getLoanListWithFilters(pageNo, pageSize, searchRequest, totals);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<LoanDTO> getAllLoans(Integer pageNo, Integer pageSize) {
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
-        Page<Loan> loans = loanRepository.findAll(pageable);
-        Page<LoanDTO> loanDTOs = loans.map(this::convertToDTO);
-        return PaginatedResponse.from(loanDTOs);
+    public PaginatedResponse<LoanDTO> getAllLoans(Integer pageNo, Integer pageSize, PageTotals totals) {
+        return getLoanListWithFilters(pageNo, pageSize, null, totals);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<LoanDTO> getLoanListWithFilters(Integer pageNo, Integer pageSize, LoanSearchRequest searchRequest) {
+    public PaginatedResponse<LoanDTO> getLoanListWithFilters(Integer pageNo, Integer pageSize, LoanSearchRequest searchRequest,
+                                                             PageTotals totals) {
         Pageable pageable = PageRequest.of(pageNo - 1, pageSize);
-        
-        Specification<Loan> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            
-            if (searchRequest != null) {
-                if (searchRequest.getMemberId() != null) {
-                    predicates.add(cb.equal(root.get("member").get("id"), searchRequest.getMemberId()));
-                }
-                
-                if (searchRequest.getBookId() != null) {
-                    predicates.add(cb.equal(root.get("book").get("id"), searchRequest.getBookId()));
-                }
-                
-                if (searchRequest.getStatus() != null) {
-                    predicates.add(cb.equal(root.get("status"), searchRequest.getStatus()));
-                }
-                
-                if (searchRequest.getBorrowDateFrom() != null) {
-                    predicates.add(cb.greaterThanOrEqualTo(root.get("borrowDate"), searchRequest.getBorrowDateFrom()));
-                }
-                
-                if (searchRequest.getBorrowDateTo() != null) {
-                    predicates.add(cb.lessThanOrEqualTo(root.get("borrowDate"), searchRequest.getBorrowDateTo()));
-                }
-                
-                if (searchRequest.getReturnDateFrom() != null) {
-                    predicates.add(cb.greaterThanOrEqualTo(root.get("actualReturnDate"), searchRequest.getReturnDateFrom()));
-                }
-                
-                if (searchRequest.getReturnDateTo() != null) {
-                    predicates.add(cb.lessThanOrEqualTo(root.get("actualReturnDate"), searchRequest.getReturnDateTo()));
-                }
-                
-                if (searchRequest.getOverdue() != null && searchRequest.getOverdue()) {
-                    predicates.add(cb.lessThan(root.get("expectedReturnDate"), LocalDateTime.now()));
-                    predicates.add(cb.equal(root.get("status"), Loan.LoanStatus.ACTIVE));
-                }
-            }
-            
-            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
-        };
-        
-        Page<Loan> loans = loanRepository.findAll(spec, pageable);
-        Page<LoanDTO> loanDTOs = loans.map(this::convertToDTO);
-        return PaginatedResponse.from(loanDTOs);
+        LoanSearchRequest filter = LoanSpecifications.normalize(searchRequest);
+        return offsetPagination.fetch(loanRepository, LoanSpecifications.fromSearchRequest(filter), filter,
+                pageable, totals, LoanMapper::toDTO, "book", "member");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<LoanDTO> getLoanListByCursor(CursorPageRequest pageRequest, LoanSearchRequest searchRequest) {
+        return KeysetPagination.fetch(loanRepository, LoanSpecifications.fromSearchRequest(searchRequest),
+                pageRequest, SORTABLE_FIELDS, LoanMapper::toDTO, "book", "member");
+    }
+
+    @Override
+    public StreamingResponseBody exportLoans(LoanSearchRequest searchRequest, ExportFormat format) {
+        logger.debug("Exporting loans as {} with filters: {}", format, searchRequest);
+        return entityExporter.export(Loan.class, LoanSpecifications.fromSearchRequest(searchRequest),
+                LoanMapper::toDTO, EXPORT_COLUMNS, format, "book", "member");
+    }
+
+    /**
+     * Refuses members whose unpaid late fees are over the borrowing limit. The balance is
+     * an aggregate served from cache, so no fee rows are read on the borrow path.
+     */
+    private void requireGoodStanding(Long memberId) {
+        if (memberStanding.blocksBorrowing(memberId)) {
+            throw new IllegalStateException("Member has unpaid late fees over the borrowing limit");
+        }
     }
 
     private void validateLoanCreation(Book book, Member member) {
@@ -244,22 +436,76 @@ public class LoanServiceImpl implements LoanService {
             throw new IllegalStateException("No available copies of the book");
         }
 
-        if (!canMemberBorrow(member.getId())) {
+        // Takes the member's slot up front; it is handed back if the borrow rolls back.
+        if (!memberLoanCounter.tryAcquire(member.getId(), MAX_ACTIVE_LOANS)) {
             throw new IllegalStateException("Member has reached maximum number of active loans");
         }
     }
 
-    private LoanDTO convertToDTO(Loan loan) {
-        LoanDTO dto = new LoanDTO();
-        dto.setId(loan.getId());
-        dto.setBookId(loan.getBook().getId());
-        dto.setMemberId(loan.getMember().getId());
-        dto.setBorrowDate(loan.getBorrowDate());
-        dto.setExpectedReturnDate(loan.getExpectedReturnDate());
-        dto.setActualReturnDate(loan.getActualReturnDate());
-        dto.setStatus(loan.getStatus());
-        dto.setBookTitle(loan.getBook().getTitle());
-        dto.setMemberName(loan.getMember().getName());
-        return dto;
+    /**
+     * Reserves a copy with a conditional update rather than saving the loaded entity, so
+     * concurrent borrows of the same title neither oversell nor fail on the version check.
+     */
+    private void reserveCopy(Book book) {
+        Long bookId = book.getId();
+        if (!bookCopyCounter.tryAcquire(bookId, book.getAvailableCopies())) {
+            throw new IllegalStateException("No available copies of the book");
+        }
+        // Registered before the UPDATE, so the copy goes back even if the UPDATE itself fails.
+        // A refused UPDATE empties the slot instead, and the release must not refill it.
+        AtomicBoolean held = new AtomicBoolean(true);
+        TransactionCallbacks.afterRollback(() -> {
+            if (held.get()) {
+                bookCopyCounter.release(bookId);
+            }
+        });
+        long mark = bookCopyCounter.mark();
+        if (bookRepository.reserveCopy(bookId) == 0) {
+            held.set(false);
+            bookCopyCounter.markExhausted(bookId, mark);
+            throw new IllegalStateException("No available copies of the book");
+        }
+        catalogCache.evictBook(bookId);
+        availabilityIndex.reindex(bookId);
+    }
+
+    private Loan newLoan(Book book, Member member, LocalDateTime borrowDate) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(borrowDate);
+        loan.setExpectedReturnDate(borrowDate.plusDays(LOAN_PERIOD_DAYS));
+        loan.setStatus(Loan.LoanStatus.ACTIVE);
+        return loan;
+    }
+
+    private Map<Long, Book> lockBooks(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        return bookRepository.findAllByIdForUpdate(new HashSet<>(bookIds)).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    private static List<Integer> indexesWithout(String[] errors) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] == null) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    private BatchLoanResponse batchResponse(List<Long> ids, Loan[] loans, String[] errors) {
+        BatchLoanResponse response = new BatchLoanResponse();
+        for (int i = 0; i < ids.size(); i++) {
+            if (errors[i] != null) {
+                response.failed(ids.get(i), errors[i]);
+            } else {
+                response.succeeded(ids.get(i), LoanMapper.toDTO(loans[i]));
+            }
+        }
+        return response;
     }
 } 
\ No newline at end of file
@@ -1,26 +1,70 @@
 package com.library.management.service.impl;
 
+import com.library.management.cache.CatalogCache;
 import com.library.management.dto.MemberDTO;
+import com.library.management.dto.request.CursorPageRequest;
 import com.library.management.dto.request.MemberSearchRequest;
+import com.library.management.dto.response.CursorPaginatedResponse;
 import com.library.management.dto.response.PaginatedResponse;
 import com.library.management.entity.Member;
+import com.library.management.event.MemberCreated;
+import com.library.management.event.MemberUpdated;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.export.CsvColumns;
+import com.library.management.export.EntityExporter;
+import com.library.management.export.ExportFormat;
+import com.library.management.mapper.MemberMapper;
+import com.library.management.pagination.KeysetPagination;
+import com.library.management.pagination.OffsetPagination;
+import com.library.management.pagination.PageTotals;
+import com.library.management.pagination.SortableFields;
 import com.library.management.repository.MemberRepository;
+import com.library.management.repository.specification.MemberSpecifications;
 import com.library.management.service.MemberService;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @Service
 @Transactional
 public class MemberServiceImpl implements MemberService {
-    private final MemberRepository memberRepository;
+    private static final SortableFields SORTABLE_FIELDS = SortableFields.builder()
+            .add("name", String.class)
+            .add("email", String.class)
+            .add("createdAt", LocalDateTime.class)
+            .build();
+    private static final CsvColumns<MemberDTO> EXPORT_COLUMNS = CsvColumns.<MemberDTO>builder()
+            .add("id", MemberDTO::getId)
+            .add("name", MemberDTO::getName)
+            .add("email", MemberDTO::getEmail)
+            .add("phoneNumber", MemberDTO::getPhoneNumber)
+            .add("membershipId", MemberDTO::getMembershipId)
+            .add("active", MemberDTO::isActive)
+            .add("createdAt", MemberDTO::getCreatedAt)
+            .add("updatedAt", MemberDTO::getUpdatedAt)
+            .build();
 
-    public MemberServiceImpl(MemberRepository memberRepository) {
+    private final MemberRepository memberRepository;
+    private final EntityExporter entityExporter;
+    private final CatalogCache catalogCache;
+    private final OffsetPagination offsetPagination;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MemberServiceImpl(MemberRepository memberRepository, EntityExporter entityExporter,
+                             CatalogCache catalogCache, OffsetPagination offsetPagination,
+                             ApplicationEventPublisher eventPublisher) {
         this.memberRepository = memberRepository;
+        this.entityExporter = entityExporter;
+        this.catalogCache = catalogCache;
+        this.offsetPagination = offsetPagination;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -29,43 +73,33 @@ public class MemberServiceImpl implements MemberService {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        Member member = new Member();
-        BeanUtils.copyProperties(memberDTO, member);
-        member = memberRepository.save(member);
-        
-        MemberDTO savedMemberDTO = new MemberDTO();
-        BeanUtils.copyProperties(member, savedMemberDTO);
-        return savedMemberDTO;
+        Member member = memberRepository.save(MemberMapper.toEntity(memberDTO));
+        MemberDTO created = MemberMapper.toDTO(member);
+        eventPublisher.publishEvent(new MemberCreated(created));
+        return created;
     }
 
+    // Cache hits need no connection; a miss reads in the repository's own transaction.
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public MemberDTO getMemberById(Long id) {
-        Member member = memberRepository.findById(id)
+        return catalogCache.member(id, key -> memberRepository.findById(key).map(MemberMapper::toDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
-        
-        MemberDTO memberDTO = new MemberDTO();
-        BeanUtils.copyProperties(member, memberDTO);
-        return memberDTO;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public MemberDTO getMemberByEmail(String email) {
-        Member member = memberRepository.findByEmail(email)
+        return catalogCache.memberByEmail(email, key -> memberRepository.findByEmail(key).map(MemberMapper::toDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with email: " + email));
-        
-        MemberDTO memberDTO = new MemberDTO();
-        BeanUtils.copyProperties(member, memberDTO);
-        return memberDTO;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public MemberDTO getMemberByMembershipId(String membershipId) {
-        Member member = memberRepository.findByMembershipId(membershipId)
+        return catalogCache.memberByMembershipId(membershipId,
+                        key -> memberRepository.findByMembershipId(key).map(MemberMapper::toDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with membership ID: " + membershipId));
-        
-        MemberDTO memberDTO = new MemberDTO();
-        BeanUtils.copyProperties(member, memberDTO);
-        return memberDTO;
     }
 
     @Override
@@ -78,20 +112,24 @@ public class MemberServiceImpl implements MemberService {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        BeanUtils.copyProperties(memberDTO, member, "id", "membershipId", "active", "createdAt");
+        MemberDTO before = MemberMapper.toDTO(member);
+        MemberMapper.updateEntity(member, memberDTO);
         member = memberRepository.save(member);
-        
-        MemberDTO updatedMemberDTO = new MemberDTO();
-        BeanUtils.copyProperties(member, updatedMemberDTO);
-        return updatedMemberDTO;
+        catalogCache.evictMember(id, before.getEmail(), member.getEmail());
+        MemberDTO after = MemberMapper.toDTO(member);
+        eventPublisher.publishEvent(new MemberUpdated(before, after));
+        return after;
     }
 
     @Override
     public void deactivateMember(Long id) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
+        MemberDTO before = MemberMapper.toDTO(member);
         member.setActive(false);
         memberRepository.save(member);
+        catalogCache.evictMember(id);
+        eventPublisher.publishEvent(new MemberUpdated(before, MemberMapper.toDTO(member)));
     }
 
     @Override
@@ -105,38 +143,33 @@ public class MemberServiceImpl implements MemberService {
     public Page<MemberDTO> searchMembers(String name, String email, String membershipId, 
                                        String phoneNumber, Boolean active, Pageable pageable) {
         return memberRepository.searchMembers(name, email, membershipId, phoneNumber, active, pageable)
-                .map(member -> {
-                    MemberDTO dto = new MemberDTO();
-                    BeanUtils.copyProperties(member, dto);
-                    return dto;
-                });
+                .map(MemberMapper::toDTO);
     }
 
     @Override
     public Page<MemberDTO> getAllMembers(Pageable pageable) {
         return memberRepository.findAll(pageable)
-                .map(member -> {
-                    MemberDTO dto = new MemberDTO();
-                    BeanUtils.copyProperties(member, dto);
-                    return dto;
-                });
+                .map(MemberMapper::toDTO);
+    }
+
+    @Override
+    public PaginatedResponse<MemberDTO> getMemberListWithFilters(Integer pageNo, Integer pageSize, MemberSearchRequest searchRequest,
+                                                                 PageTotals totals) {
+        MemberSearchRequest filter = MemberSpecifications.normalize(searchRequest);
+        return offsetPagination.fetch(memberRepository, MemberSpecifications.fromSearchRequest(filter), filter,
+                PageRequest.of(pageNo - 1, pageSize), totals, MemberMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<MemberDTO> getMemberListByCursor(CursorPageRequest pageRequest, MemberSearchRequest searchRequest) {
+        return KeysetPagination.fetch(memberRepository, MemberSpecifications.fromSearchRequest(searchRequest),
+                pageRequest, SORTABLE_FIELDS, MemberMapper::toDTO);
     }
 
     @Override
-    public PaginatedResponse<MemberDTO> getMemberListWithFilters(Integer pageNo, Integer pageSize, MemberSearchRequest searchRequest) {
-        Page<Member> membersPage = memberRepository.searchMembers(
-            searchRequest.getName(),
-            searchRequest.getEmail(),
-            searchRequest.getMembershipId(),
-            searchRequest.getPhoneNumber(),
-            searchRequest.getActive(),
-            PageRequest.of(pageNo - 1, pageSize)
-        );
-
-        return PaginatedResponse.from(membersPage.map(member -> {
-            MemberDTO dto = new MemberDTO();
-            BeanUtils.copyProperties(member, dto);
-            return dto;
-        }));
+    public StreamingResponseBody exportMembers(MemberSearchRequest searchRequest, ExportFormat format) {
+        return entityExporter.export(Member.class, MemberSpecifications.fromSearchRequest(searchRequest),
+                MemberMapper::toDTO, EXPORT_COLUMNS, format);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.library.management.service.impl;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.entity.Book;
+import com.library.management.mapper.BookMapper;
+import com.library.management.repository.BookRepository;
+import com.library.management.service.BookSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Book search served by PostgreSQL's own indexes (the {@code postgres} profile): substring
+ * matches through pg_trgm GIN indexes on the lower-cased columns, and free-text queries
+ * ranked by the weighted {@code books.search_vector}. Every node answers from the database,
+ * so there is no in-memory index to warm or keep in step. {@link BookSearchServiceImpl}
+ * remains the backend for H2.
+ */
+@Service
+@Profile("postgres")
+public class PostgresBookSearchService implements BookSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresBookSearchService.class);
+    private final BookRepository bookRepository;
+
+    public PostgresBookSearchService(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Unsorted requests come back by relevance; an explicit sort falls back to the plain
+     * substring match in that order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchBooks(String query, Pageable pageable) {
+        logger.debug("Searching books with query: {}", query);
+        if (pageable.getSort().isUnsorted()) {
+            return bookRepository.searchRanked(query, pageable).map(BookMapper::toDTO);
+        }
+        return bookRepository.searchBooks(query, pageable).map(BookMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchByTitle(String title, Pageable pageable) {
+        logger.debug("Searching books by title: {}", title);
+        return bookRepository.searchByTitle(title, pageable).map(BookMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchByAuthor(String author, Pageable pageable) {
+        logger.debug("Searching books by author: {}", author);
+        return bookRepository.searchByAuthor(author, pageable).map(BookMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchByCategory(String category, Pageable pageable) {
+        logger.debug("Searching books by category: {}", category);
+        return bookRepository.searchByCategory(category, pageable).map(BookMapper::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> searchByAvailability(boolean available, Pageable pageable) {
+        logger.debug("Searching books by availability: {}", available);
+        if (available) {
+            return bookRepository.findAvailableBooks(pageable).map(BookMapper::toDTO);
+        }
+        return findAllBooks(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> findAllBooks(Pageable pageable) {
+        logger.debug("Fetching all books");
+        return bookRepository.findAll(pageable).map(BookMapper::toDTO);
+    }
+}
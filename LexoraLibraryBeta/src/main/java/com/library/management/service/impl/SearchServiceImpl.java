@@ -4,10 +4,14 @@ import com.library.management.dto.BookDTO;
 import com.library.management.dto.MemberDTO;
 import com.library.management.entity.Book;
 import com.library.management.entity.Member;
+import com.library.management.mapper.BookMapper;
+import com.library.management.mapper.MemberMapper;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.MemberRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSearchQuery;
+import com.library.management.search.SearchHits;
 import com.library.management.service.SearchService;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -17,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,39 +29,48 @@ public class SearchServiceImpl implements SearchService {
 
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
+    private final BookSearchIndex bookSearchIndex;
 
-    public SearchServiceImpl(BookRepository bookRepository, MemberRepository memberRepository) {
+    public SearchServiceImpl(BookRepository bookRepository, MemberRepository memberRepository,
+                             BookSearchIndex bookSearchIndex) {
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
+        this.bookSearchIndex = bookSearchIndex;
     }
 
     @Override
     public Page<BookDTO> searchBooks(String query, Pageable pageable) {
-        return bookRepository.findAll(createBookSpecification(query), pageable).map(this::convertToBookDTO);
+        if (query != null && pageable.getSort().isUnsorted()) {
+            Optional<SearchHits> hits = bookSearchIndex.search(BookSearchQuery.freeText(query), pageable);
+            if (hits.isPresent()) {
+                return hits.get().toPage(bookRepository.findAllById(hits.get().getBookIds()), BookMapper::toDTO, pageable);
+            }
+        }
+        return bookRepository.findAll(createBookSpecification(query), pageable).map(BookMapper::toDTO);
     }
 
     @Override
     public Page<BookDTO> searchBooksByTitle(String title, Pageable pageable) {
         return bookRepository.findByTitleContainingIgnoreCase(title, pageable)
-                .map(this::convertToBookDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
     public Page<BookDTO> searchBooksByAuthor(String author, Pageable pageable) {
         return bookRepository.findByAuthorContainingIgnoreCase(author, pageable)
-                .map(this::convertToBookDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
     public Page<BookDTO> searchBooksByCategory(String category, Pageable pageable) {
         return bookRepository.findByCategoryContainingIgnoreCase(category, pageable)
-                .map(this::convertToBookDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
     public Page<BookDTO> searchBooksByAvailability(boolean available, Pageable pageable) {
         return bookRepository.findByAvailableCopiesGreaterThan(available ? 0 : -1, pageable)
-                .map(this::convertToBookDTO);
+                .map(BookMapper::toDTO);
     }
 
     @Override
@@ -69,31 +83,31 @@ public class SearchServiceImpl implements SearchService {
                 criteriaBuilder.like(criteriaBuilder.lower(root.get("membershipId")), likePattern)
             );
         };
-        return memberRepository.findAll(spec, pageable).map(this::convertToMemberDTO);
+        return memberRepository.findAll(spec, pageable).map(MemberMapper::toDTO);
     }
 
     @Override
     public Page<MemberDTO> searchMembersByName(String name, Pageable pageable) {
         return memberRepository.findByNameContainingIgnoreCase(name, pageable)
-                .map(this::convertToMemberDTO);
+                .map(MemberMapper::toDTO);
     }
 
     @Override
     public Page<MemberDTO> searchMembersByEmail(String email, Pageable pageable) {
         return memberRepository.findByEmailContainingIgnoreCase(email, pageable)
-                .map(this::convertToMemberDTO);
+                .map(MemberMapper::toDTO);
     }
 
     @Override
     public Page<MemberDTO> searchMembersByMembershipId(String membershipId, Pageable pageable) {
         return memberRepository.findByMembershipIdContainingIgnoreCase(membershipId, pageable)
-                .map(this::convertToMemberDTO);
+                .map(MemberMapper::toDTO);
     }
 
     @Override
     public Page<MemberDTO> searchMembersByStatus(boolean active, Pageable pageable) {
         return memberRepository.findByActive(active, pageable)
-                .map(this::convertToMemberDTO);
+                .map(MemberMapper::toDTO);
     }
 
     private Specification<Book> createBookSpecification(String query) {
@@ -113,16 +127,4 @@ public class SearchServiceImpl implements SearchService {
             return predicates.isEmpty() ? null : criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-
-    private BookDTO convertToBookDTO(Book book) {
-        BookDTO dto = new BookDTO();
-        BeanUtils.copyProperties(book, dto);
-        return dto;
-    }
-
-    private MemberDTO convertToMemberDTO(Member member) {
-        MemberDTO dto = new MemberDTO();
-        BeanUtils.copyProperties(member, dto);
-        return dto;
-    }
 } 
\ No newline at end of file
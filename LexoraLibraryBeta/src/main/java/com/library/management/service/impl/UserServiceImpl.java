@@ -1,10 +1,16 @@
 package com.library.management.service.impl;
 
+import com.library.management.config.CacheConfig;
 import com.library.management.dto.UserDTO;
 import com.library.management.entity.User;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.mapper.UserMapper;
 import com.library.management.repository.UserRepository;
+import com.library.management.security.ValidatedTokenCache;
 import com.library.management.service.UserService;
+import com.library.management.util.TransactionCallbacks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,17 +24,39 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ValidatedTokenCache validatedTokenCache;
+    private final CacheManager cacheManager;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           ValidatedTokenCache validatedTokenCache, CacheManager cacheManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.validatedTokenCache = validatedTokenCache;
+        this.cacheManager = cacheManager;
     }
 
+    /**
+     * Cached by username; every change to a user below evicts the entry, so role and
+     * password changes apply to the next request rather than after the TTL. Not a
+     * synchronized load: that holds a cache lock across the query and pins virtual threads.
+     * Instead the put is checked against the user's eviction generation, so a load that read
+     * the account before a change committed cannot cache it after the change's eviction.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        Cache userDetails = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        UserDetails cached = userDetails.get(username, UserDetails.class);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = validatedTokenCache.generation(username);
+        UserDetails loaded = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        userDetails.put(username, loaded);
+        if (validatedTokenCache.generation(username) != generation) {
+            userDetails.evict(username);
+        }
+        return loaded;
     }
 
     @Override
@@ -45,17 +73,7 @@ public class UserServiceImpl implements UserService {
         user.setActive(true);
 
         User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
-    }
-
-    private UserDTO convertToDTO(User user) {
-        return UserDTO.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .name(user.getName())
-                .role(user.getRoles().isEmpty() ? null : user.getRoles().iterator().next())
-                .build();
+        return UserMapper.toDTO(savedUser);
     }
 
     @Override
@@ -68,7 +86,9 @@ public class UserServiceImpl implements UserService {
         existingUser.setName(user.getName());
         existingUser.setEmail(user.getEmail());
         existingUser.setEnabled(user.isEnabled());
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        evictCachedUser(savedUser);
+        return savedUser;
     }
 
     @Override
@@ -76,6 +96,7 @@ public class UserServiceImpl implements UserService {
         User user = getUserById(id);
         user.setEnabled(false);
         userRepository.save(user);
+        evictCachedUser(user);
     }
 
     @Override
@@ -98,6 +119,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        evictCachedUser(user);
     }
 
     @Override
@@ -105,6 +127,7 @@ public class UserServiceImpl implements UserService {
         User user = getUserById(id);
         user.addRole(role.toUpperCase());
         userRepository.save(user);
+        evictCachedUser(user);
     }
 
     @Override
@@ -112,5 +135,18 @@ public class UserServiceImpl implements UserService {
         User user = getUserById(id);
         user.removeRole(role.toUpperCase());
         userRepository.save(user);
+        evictCachedUser(user);
+    }
+
+    // Neither the cached principal nor tokens already validated for it may outlive a change to the account.
+    // The token cache moves the user's generation first, so a load racing this eviction does not cache.
+    private void evictCachedUser(User user) {
+        TransactionCallbacks.afterCommit(() -> {
+            validatedTokenCache.invalidateUser(user.getUsername());
+            Cache userDetails = cacheManager.getCache(CacheConfig.USER_DETAILS);
+            if (userDetails != null) {
+                userDetails.evict(user.getUsername());
+            }
+        });
     }
-} 
\ No newline at end of file
+}
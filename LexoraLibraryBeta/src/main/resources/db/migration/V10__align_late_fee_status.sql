@@ -0,0 +1,5 @@
+-- The entity has always written PENDING/PAID/WAIVED; V1 only allowed PAID/UNPAID.
+UPDATE late_fees SET status = 'PENDING' WHERE status = 'UNPAID';
+ALTER TABLE late_fees DROP CONSTRAINT late_fees_status_check;
+ALTER TABLE late_fees ALTER COLUMN status SET DEFAULT 'PENDING';
+ALTER TABLE late_fees ADD CONSTRAINT late_fees_status_check CHECK (status IN ('PENDING', 'PAID', 'WAIVED'));
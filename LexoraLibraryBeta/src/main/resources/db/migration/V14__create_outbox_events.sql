@@ -0,0 +1,17 @@
+-- Domain events recorded with the change that caused them and deleted once delivered.
+-- Ids are not pooled: delivery follows id order. They are taken at commit, under the row lock
+-- of the book, member or loan the event is about, so for each of those id order is commit order.
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(16) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    performed_by VARCHAR(255) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    parked_at TIMESTAMP
+);
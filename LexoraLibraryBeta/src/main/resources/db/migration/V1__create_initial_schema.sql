@@ -72,7 +72,7 @@ CREATE TABLE audit_logs (
     performed_by VARCHAR(255) NOT NULL,
     entity_type VARCHAR(50) NOT NULL,
     entity_id VARCHAR(50),
-    changes CLOB,
+    changes TEXT,
     timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -0,0 +1,10 @@
+-- One row per scheduled job; a node owns the job while locked_until is in the future
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
+
+-- Supports the keyset-chunked overdue sweep
+CREATE INDEX idx_loans_status_expected_return ON loans(status, expected_return_date, id);
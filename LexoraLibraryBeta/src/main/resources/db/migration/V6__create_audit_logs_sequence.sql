@@ -0,0 +1,3 @@
+-- Pooled ids for audit_logs so the audit writer can batch its inserts.
+-- Hibernate takes 50 ids per call, so the sequence steps by the same amount.
+CREATE SEQUENCE audit_logs_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Pooled ids for books so bulk imports can batch their inserts.
+-- Hibernate takes 50 ids per call, so the sequence steps by the same amount.
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
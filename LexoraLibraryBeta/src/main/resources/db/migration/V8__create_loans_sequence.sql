@@ -0,0 +1,3 @@
+-- Pooled ids for loans so batch borrows can insert their loans in one JDBC batch.
+-- Hibernate takes 50 ids per call, so the sequence steps by the same amount.
+CREATE SEQUENCE loans_seq START WITH 1 INCREMENT BY 50;
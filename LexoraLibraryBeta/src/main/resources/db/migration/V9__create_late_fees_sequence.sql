@@ -0,0 +1,6 @@
+-- Pooled ids for late_fees so the nightly fee accrual can batch its inserts.
+-- Hibernate takes 50 ids per call, so the sequence steps by the same amount.
+CREATE SEQUENCE late_fees_seq START WITH 1 INCREMENT BY 50;
+
+-- Supports the keyset-chunked walk over OVERDUE loans
+CREATE INDEX idx_loans_status_id ON loans(status, id);
@@ -0,0 +1,3 @@
+-- PostgreSQL only (H2 has no partial indexes).
+-- Supports the per-member outstanding balance used to gate borrowing
+CREATE INDEX idx_late_fees_pending_loan ON late_fees(loan_id) WHERE status = 'PENDING';
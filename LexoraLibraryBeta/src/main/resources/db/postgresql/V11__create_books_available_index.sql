@@ -0,0 +1,3 @@
+-- PostgreSQL only (H2 has no partial indexes).
+-- Serves the "available" filter from the database while the in-memory availability index warms
+CREATE INDEX idx_books_available_id ON books(id) WHERE available_copies > 0;
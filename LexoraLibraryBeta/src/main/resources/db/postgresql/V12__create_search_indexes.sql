@@ -0,0 +1,22 @@
+-- PostgreSQL only: substring and ranked full-text search for books and members.
+-- The search predicates are LOWER(column) LIKE '%term%', which no B-tree can serve;
+-- trigram GIN indexes on the same expressions can.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_books_title_trgm ON books USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX idx_books_author_trgm ON books USING gin (lower(author) gin_trgm_ops);
+CREATE INDEX idx_books_category_trgm ON books USING gin (lower(category) gin_trgm_ops);
+CREATE INDEX idx_books_isbn_trgm ON books USING gin (lower(isbn) gin_trgm_ops);
+
+CREATE INDEX idx_members_name_trgm ON members USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_members_email_trgm ON members USING gin (lower(email) gin_trgm_ops);
+
+-- Words in any order, ranked: title outweighs author outweighs category. The 'simple'
+-- configuration lowercases without stemming, so author names match as typed.
+ALTER TABLE books ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(author, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(category, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_books_search_vector ON books USING gin (search_vector);
@@ -0,0 +1,14 @@
+-- PostgreSQL only: columns the entities gained after V1 that H2 has only ever received
+-- through ddl-auto=update, so the postgres profile can run with ddl-auto=validate.
+-- V1 could not run on PostgreSQL before (it declared a CLOB), so these tables are empty.
+ALTER TABLE audit_logs ADD COLUMN details TEXT;
+ALTER TABLE audit_logs ALTER COLUMN entity_id TYPE BIGINT USING entity_id::BIGINT;
+
+ALTER TABLE late_fees RENAME COLUMN paid_at TO paid_date;
+ALTER TABLE late_fees ADD COLUMN days_overdue INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE late_fees ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE late_fees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN email VARCHAR(255) NOT NULL UNIQUE;
+ALTER TABLE users ADD COLUMN name VARCHAR(255) NOT NULL;
+ALTER TABLE users ADD COLUMN enabled BOOLEAN NOT NULL DEFAULT true;
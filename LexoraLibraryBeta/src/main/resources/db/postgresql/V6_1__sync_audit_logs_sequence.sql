@@ -0,0 +1,4 @@
+-- PostgreSQL only (H2 has no setval, and its dev database starts empty): start audit_logs_seq
+-- past any ids the BIGSERIAL column already handed out. Runs where spring.flyway.locations
+-- includes classpath:db/postgresql.
+SELECT setval('audit_logs_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs));
@@ -0,0 +1,116 @@
+package com.library.management.audit;
+
+import com.library.management.entity.AuditLog;
+import com.library.management.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "library.audit.batch-size=100",
+        "library.audit.flush-interval=PT0.05S",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({AuditLogWriter.class, SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditLogWriterTest {
+
+    private static final int ENTRIES = 1_000;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAll();
+    }
+
+    @Test
+    void submit_ConcurrentCallers_AllEntriesWrittenInBatches() throws InterruptedException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long writtenBefore = auditLogWriter.getWritten();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < ENTRIES; i++) {
+            long entityId = i;
+            executor.execute(() -> assertTrue(auditLogWriter.submit(entry(entityId))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(auditLogWriter.awaitDrained(Duration.ofSeconds(30)));
+
+        assertEquals(ENTRIES, auditLogRepository.count());
+        assertEquals(ENTRIES, auditLogWriter.getWritten() - writtenBefore);
+        // One statement per batch plus one sequence call per 50 ids, not one insert per entry.
+        assertEquals(ENTRIES, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ENTRIES / 5,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void dropPolicy_QueueFull_DropsAndShutdownFlushesTheRest() throws InterruptedException {
+        // Never started, so nothing drains the queue until shutdown.
+        AuditLogWriter writer = new AuditLogWriter(auditLogRepository, transactionManager, new SimpleMeterRegistry(),
+                2, 10, Duration.ofMillis(50), AuditLogWriter.OverflowPolicy.DROP, Duration.ZERO, false);
+        ReflectionTestUtils.setField(writer, "entityManager", entityManager);
+
+        assertTrue(writer.submit(entry(1L)));
+        assertTrue(writer.submit(entry(2L)));
+        assertFalse(writer.submit(entry(3L)));
+        assertEquals(1, writer.getDropped());
+
+        writer.shutdown();
+
+        assertEquals(2, auditLogRepository.count());
+        assertFalse(writer.submit(entry(4L)));
+    }
+
+    private AuditLog entry(long entityId) {
+        return AuditLog.builder()
+                .action("UPDATE")
+                .entityType("BOOK")
+                .entityId(entityId)
+                .details("Updated book")
+                .performedBy("librarian")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.library.management.cache;
+
+import com.library.management.circulation.BookCopyCounter;
+import com.library.management.config.CacheConfig;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.MemberDTO;
+import com.library.management.entity.Book;
+import com.library.management.entity.Member;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.service.impl.BookServiceImpl;
+import com.library.management.service.impl.MemberServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({BookServiceImpl.class, MemberServiceImpl.class, CatalogCache.class, CacheConfig.class, BookCopyCounter.class,
+        SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MemberServiceImpl memberService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        book = new Book();
+        book.setTitle("Cached Title");
+        book.setAuthor("Some Author");
+        book.setIsbn("9781300000001");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2018);
+        book.setTotalCopies(3);
+        book.setAvailableCopies(3);
+        book = bookRepository.save(book);
+
+        member = new Member();
+        member.setName("Cached Reader");
+        member.setEmail("cached@example.com");
+        member.setMembershipId("M-CACHED-1");
+        member = memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void bookReads_AfterTheFirst_AreServedFromCache() {
+        statistics.clear();
+        assertEquals("Cached Title", bookService.getBookById(book.getId()).getTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals("Cached Title", bookService.getBookById(book.getId()).getTitle());
+        assertEquals(book.getId(), bookService.getBookByIsbn("9781300000001").getId());
+        assertFalse(bookService.isIsbnUnique("9781300000001"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateBook_EvictsTheBookAndItsOldIsbn() {
+        bookService.getBookByIsbn("9781300000001");
+
+        BookDTO changes = bookService.getBookById(book.getId());
+        BookDTO update = BookDTO.builder()
+                .title("Renamed Title")
+                .author(changes.getAuthor())
+                .isbn("9781300000002")
+                .category(changes.getCategory())
+                .publicationYear(changes.getPublicationYear())
+                .totalCopies(5)
+                .build();
+        bookService.updateBook(book.getId(), update);
+
+        BookDTO reloaded = bookService.getBookById(book.getId());
+        assertEquals("Renamed Title", reloaded.getTitle());
+        assertEquals(5, reloaded.getAvailableCopies());
+        assertThrows(EntityNotFoundException.class, () -> bookService.getBookByIsbn("9781300000001"));
+        assertTrue(bookService.isIsbnUnique("9781300000001"));
+        assertEquals(book.getId(), bookService.getBookByIsbn("9781300000002").getId());
+    }
+
+    @Test
+    void deleteBook_EvictsTheBook() {
+        bookService.getBookById(book.getId());
+
+        bookService.deleteBook(book.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.getBookById(book.getId()));
+        assertTrue(bookService.isIsbnUnique("9781300000001"));
+    }
+
+    @Test
+    void loadsThatRaceAnEviction_AreNotKept() {
+        BookDTO staleBook = BookDTO.builder().id(book.getId()).isbn("9781300000001").availableCopies(2).build();
+        catalogCache.book(book.getId(), id -> {
+            catalogCache.evictBook(id);
+            return Optional.of(staleBook);
+        });
+        catalogCache.bookByIsbn("9781300000001", isbn -> {
+            catalogCache.evictBook(book.getId());
+            return Optional.of(staleBook);
+        });
+        MemberDTO staleMember = new MemberDTO();
+        staleMember.setId(member.getId());
+        staleMember.setName("Stale Reader");
+        staleMember.setEmail("cached@example.com");
+        catalogCache.memberByEmail("cached@example.com", email -> {
+            catalogCache.evictMember(member.getId());
+            return Optional.of(staleMember);
+        });
+
+        assertEquals(3, bookService.getBookById(book.getId()).getAvailableCopies());
+        assertEquals("Cached Reader", memberService.getMemberById(member.getId()).getName());
+    }
+
+    @Test
+    void memberReads_ShareOneEntryAcrossIdEmailAndMembershipId() {
+        statistics.clear();
+        assertEquals(member.getId(), memberService.getMemberByEmail("cached@example.com").getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals("Cached Reader", memberService.getMemberById(member.getId()).getName());
+        assertEquals(member.getId(), memberService.getMemberByMembershipId("M-CACHED-1").getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateAndDeactivateMember_EvictTheMember() {
+        memberService.getMemberByEmail("cached@example.com");
+
+        MemberDTO update = new MemberDTO();
+        update.setName("Renamed Reader");
+        update.setEmail("renamed@example.com");
+        memberService.updateMember(member.getId(), update);
+
+        assertEquals("Renamed Reader", memberService.getMemberByMembershipId("M-CACHED-1").getName());
+        assertThrows(ResourceNotFoundException.class, () -> memberService.getMemberByEmail("cached@example.com"));
+        assertEquals(member.getId(), memberService.getMemberByEmail("renamed@example.com").getId());
+
+        memberService.deactivateMember(member.getId());
+
+        assertFalse(memberService.getMemberById(member.getId()).isActive());
+    }
+}
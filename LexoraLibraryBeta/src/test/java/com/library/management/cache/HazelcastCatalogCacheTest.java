@@ -0,0 +1,181 @@
+package com.library.management.cache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.library.management.circulation.BookCopyCounter;
+import com.library.management.config.CacheConfig;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.BookDTO;
+import com.library.management.entity.Book;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.service.impl.BookServiceImpl;
+import com.library.management.service.impl.MemberServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog cache on the Hazelcast backend, against two embedded members of a
+ * throwaway cluster: the application's, and a peer standing in for another node.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "library.cache.backend=hazelcast",
+        "library.cache.books.max-size=500",
+        "logging.level.com.library.management=WARN",
+        "logging.level.com.hazelcast=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import({BookServiceImpl.class, MemberServiceImpl.class, CatalogCache.class, CacheConfig.class, BookCopyCounter.class,
+        HazelcastCatalogCacheTest.EmbeddedCluster.class, SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HazelcastCatalogCacheTest {
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    @Qualifier("peer")
+    private HazelcastInstance peer;
+
+    private CatalogCache peerCache;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        peerCache = new CatalogCache(new HazelcastCacheManager(peer));
+
+        book = new Book();
+        book.setTitle("Shared Title");
+        book.setAuthor("Some Author");
+        book.setIsbn("9781400000001");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2020);
+        book.setTotalCopies(2);
+        book.setAvailableCopies(2);
+        book = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void cachesAreClusterMapsWithTheConfiguredBounds() {
+        assertEquals(2, hazelcastInstance.getCluster().getMembers().size());
+        assertInstanceOf(HazelcastCacheManager.class, cacheManager);
+        assertEquals(500, hazelcastInstance.getConfig().getMapConfig(CacheConfig.BOOKS).getEvictionConfig().getSize());
+        assertEquals(600, hazelcastInstance.getConfig().getMapConfig(CacheConfig.BOOKS).getTimeToLiveSeconds());
+    }
+
+    @Test
+    void readThroughOnOneNode_IsAHitOnTheOther() {
+        bookService.getBookByIsbn("9781400000001");
+
+        AtomicInteger loads = new AtomicInteger();
+        Optional<BookDTO> fromPeer = peerCache.bookByIsbn("9781400000001", isbn -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertEquals(0, loads.get());
+        assertEquals("Shared Title", fromPeer.orElseThrow().getTitle());
+    }
+
+    @Test
+    void updateOnOneNode_EvictsForTheOther() {
+        BookDTO cached = bookService.getBookById(book.getId());
+        BookDTO update = BookDTO.builder()
+                .title("Changed Title")
+                .author(cached.getAuthor())
+                .isbn(cached.getIsbn())
+                .category(cached.getCategory())
+                .publicationYear(cached.getPublicationYear())
+                .build();
+
+        bookService.updateBook(book.getId(), update);
+
+        AtomicInteger loads = new AtomicInteger();
+        peerCache.book(book.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertEquals(1, loads.get());
+        assertEquals("Changed Title", bookService.getBookById(book.getId()).getTitle());
+    }
+
+    @TestConfiguration
+    static class EmbeddedCluster {
+        private final String clusterName = "catalog-cache-test-" + UUID.randomUUID();
+
+        @Bean(destroyMethod = "shutdown")
+        @Primary
+        HazelcastInstance hazelcastInstance() {
+            return Hazelcast.newHazelcastInstance(member());
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        HazelcastInstance peer(HazelcastInstance hazelcastInstance) {
+            return Hazelcast.newHazelcastInstance(member());
+        }
+
+        private Config member() {
+            Config config = new Config();
+            config.setClusterName(clusterName);
+            config.setProperty("hazelcast.phone.home.enabled", "false");
+            config.setProperty("hazelcast.logging.type", "slf4j");
+            config.setProperty("hazelcast.wait.seconds.before.join", "0");
+            config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+            JoinConfig join = config.getNetworkConfig().getJoin();
+            join.getMulticastConfig().setEnabled(false);
+            join.getAutoDetectionConfig().setEnabled(false);
+            join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+            return config;
+        }
+    }
+}
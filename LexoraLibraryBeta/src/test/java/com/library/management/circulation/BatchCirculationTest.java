@@ -0,0 +1,170 @@
+package com.library.management.circulation;
+
+import com.library.management.cache.CatalogCache;
+import com.library.management.config.CacheConfig;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.response.BatchLoanResponse;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.service.impl.LoanServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({LoanServiceImpl.class, BookCopyCounter.class, MemberLoanCounter.class, MemberStanding.class,
+        CatalogCache.class, CacheConfig.class, SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatchCirculationTest {
+
+    @MockBean
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private LoanServiceImpl loanService;
+
+    @Autowired
+    private MemberLoanCounter memberLoanCounter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long memberId;
+    private List<Long> bookIds;
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("Kiosk Reader");
+        member.setEmail("kiosk@example.com");
+        memberId = memberRepository.save(member).getId();
+
+        bookIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            bookIds.add(bookRepository.save(book(i, i == 2 ? 0 : 1)).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberLoanCounter.invalidateAll();
+    }
+
+    @Test
+    void borrowBatch_LendsUpToTheLoanLimit_AndReportsEachBook() {
+        List<Long> requested = List.of(bookIds.get(0), bookIds.get(1), bookIds.get(2), bookIds.get(1),
+                -1L, bookIds.get(3), bookIds.get(4), bookIds.get(5), bookIds.get(6));
+
+        BatchLoanResponse response = loanService.borrowBooks(memberId, requested);
+
+        assertEquals(5, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+        List<String> errors = response.getItems().stream().map(BatchLoanResponse.Item::getError).toList();
+        assertNull(errors.get(0));
+        assertNull(errors.get(1));
+        assertEquals("No available copies of the book", errors.get(2));
+        assertEquals("Book is listed more than once", errors.get(3));
+        assertEquals("Book not found with ID: -1", errors.get(4));
+        assertNull(errors.get(7));
+        assertEquals("Member has reached maximum number of active loans", errors.get(8));
+        assertEquals(bookIds.get(0), response.getItems().get(0).getLoan().getBookId());
+
+        assertEquals(5, loanRepository.count());
+        assertEquals(5, memberLoanCounter.activeLoans(memberId));
+        assertEquals(0, bookRepository.findById(bookIds.get(0)).orElseThrow().getAvailableCopies());
+        assertEquals(1, bookRepository.findById(bookIds.get(6)).orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void borrowBatch_StatementCountDoesNotGrowWithTheBatch() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        memberLoanCounter.activeLoans(memberId);
+
+        statistics.clear();
+        loanService.borrowBooks(memberId, List.of(bookIds.get(0)));
+        long single = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        loanService.borrowBooks(memberId, List.of(bookIds.get(1), bookIds.get(3), bookIds.get(4), bookIds.get(5)));
+
+        // Member, locked books, batched loan insert and batched copy update; the first call may also hit the sequence.
+        assertTrue(statistics.getPrepareStatementCount() <= single,
+                statistics.getPrepareStatementCount() + " statements for four books, " + single + " for one");
+        assertEquals(5, loanRepository.count());
+    }
+
+    @Test
+    void returnBatch_ClosesLoansAndPutsCopiesBack() {
+        List<Long> loanIds = loanService.borrowBooks(memberId, List.of(bookIds.get(0), bookIds.get(1))).getItems()
+                .stream().map(item -> item.getLoan().getId()).toList();
+        loanService.returnBook(loanIds.get(1));
+
+        BatchLoanResponse response = loanService.returnBooks(List.of(loanIds.get(0), loanIds.get(1), 999_999L));
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(Loan.LoanStatus.RETURNED, response.getItems().get(0).getLoan().getStatus());
+        assertEquals("Loan is already returned", response.getItems().get(1).getError());
+        assertEquals("Loan not found with ID: 999999", response.getItems().get(2).getError());
+        assertEquals(1, bookRepository.findById(bookIds.get(0)).orElseThrow().getAvailableCopies());
+        assertEquals(0, memberLoanCounter.activeLoans(memberId));
+    }
+
+    private static Book book(int i, int copies) {
+        Book book = new Book();
+        book.setTitle("Stacked Title " + i);
+        book.setAuthor("Some Author");
+        book.setIsbn(String.valueOf(9781100000000L + i));
+        book.setCategory("Fiction");
+        book.setPublicationYear(2015);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(copies);
+        return book;
+    }
+}
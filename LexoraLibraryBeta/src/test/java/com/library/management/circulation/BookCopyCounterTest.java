@@ -0,0 +1,50 @@
+package com.library.management.circulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCopyCounterTest {
+
+    private final BookCopyCounter counter = new BookCopyCounter(Duration.ofMinutes(5), true);
+
+    @Test
+    void markExhausted_AfterAReturnSinceTheMark_KeepsTheReturnedCopy() {
+        assertTrue(counter.tryAcquire(1L, 1));
+        long mark = counter.mark();
+        counter.release(1L);
+
+        counter.markExhausted(1L, mark);
+
+        assertTrue(counter.mayHaveCopies(1L));
+    }
+
+    @Test
+    void markExhausted_WithNoReturnSinceTheMark_EmptiesTheSlot() {
+        assertTrue(counter.tryAcquire(1L, 2));
+        counter.markExhausted(1L, counter.mark());
+
+        assertFalse(counter.mayHaveCopies(1L));
+    }
+
+    @Test
+    void tryAcquire_ExhaustedSlotButCopiesInTheDatabase_Reseeds() {
+        assertTrue(counter.tryAcquire(1L, 1));
+        counter.markExhausted(1L, counter.mark());
+
+        assertTrue(counter.tryAcquire(1L, 1));
+        assertFalse(counter.tryAcquire(1L, 1), "a slot emptied by takes alone is not re-seeded");
+    }
+
+    @Test
+    void disabled_LeavesEveryCheckToTheDatabase() {
+        BookCopyCounter disabled = new BookCopyCounter(Duration.ofMinutes(5), false);
+        disabled.markExhausted(1L, disabled.mark());
+
+        assertTrue(disabled.mayHaveCopies(1L));
+        assertTrue(disabled.tryAcquire(1L, 1));
+        assertFalse(disabled.tryAcquire(1L, 0));
+    }
+}
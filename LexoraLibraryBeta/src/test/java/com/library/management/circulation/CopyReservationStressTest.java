@@ -0,0 +1,223 @@
+package com.library.management.circulation;
+
+import com.library.management.cache.CatalogCache;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.service.impl.LoanServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Borrows one title far more often than it has copies, from many threads at once, and
+ * checks that exactly as many loans are created as there were copies.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import({LoanServiceImpl.class, BookCopyCounter.class, MemberLoanCounter.class, SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CopyReservationStressTest {
+
+    private static final int COPIES = 100;
+    private static final int BORROWS = 10_000;
+    private static final int THREADS = 64;
+    private static final int MEMBERS = 1_000;
+
+    @MockBean
+    private MemberStanding memberStanding;
+
+    @MockBean
+    private CatalogCache catalogCache;
+
+    @MockBean
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private LoanServiceImpl loanService;
+
+    @Autowired
+    private BookCopyCounter bookCopyCounter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Book book;
+    private List<Long> memberIds;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Popular Title");
+        book.setAuthor("Some Author");
+        book.setIsbn("9780134685991");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2020);
+        book.setTotalCopies(COPIES);
+        book.setAvailableCopies(COPIES);
+        book = bookRepository.save(book);
+
+        List<Member> members = new ArrayList<>(MEMBERS);
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setEmail("member" + i + "@example.com");
+            members.add(member);
+        }
+        memberIds = memberRepository.saveAll(members).stream().map(Member::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        bookCopyCounter.invalidate(book.getId());
+    }
+
+    @Test
+    void borrowBook_ManyConcurrentBorrowers_NeverOversells() throws InterruptedException {
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        long attemptsBefore = bookCopyCounter.getDatabaseAttempts();
+        long conflictsBefore = bookCopyCounter.getDatabaseConflicts();
+        long rejectionsBefore = bookCopyCounter.getFastRejections();
+
+        runConcurrently(i -> {
+            LoanDTO request = new LoanDTO();
+            request.setBookId(book.getId());
+            request.setMemberId(memberIds.get(i % MEMBERS));
+            try {
+                loanService.borrowBook(request);
+                borrowed.incrementAndGet();
+            } catch (IllegalStateException e) {
+                if ("No available copies of the book".equals(e.getMessage())) {
+                    rejected.incrementAndGet();
+                } else {
+                    unexpected.add(e);
+                }
+            } catch (RuntimeException e) {
+                unexpected.add(e);
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures, first: " + unexpected.peek());
+        assertEquals(COPIES, borrowed.get());
+        assertEquals(BORROWS - COPIES, rejected.get());
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+        assertEquals(COPIES, loanRepository.findActiveLoansForBook(book.getId()).size());
+
+        // Only borrows that could succeed reach the conditional update; the rest are turned away in
+        // memory, by the counter or, when the row was read after the last copy went, by the row itself.
+        assertEquals(COPIES, bookCopyCounter.getDatabaseAttempts() - attemptsBefore);
+        assertEquals(0, bookCopyCounter.getDatabaseConflicts() - conflictsBefore);
+        assertTrue(bookCopyCounter.getFastRejections() - rejectionsBefore <= BORROWS - COPIES);
+    }
+
+    @Test
+    void reserveCopy_ConcurrentUpdates_TakeExactlyTheAvailableCopies() throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(i -> reserved.addAndGet(transaction.execute(status -> bookRepository.reserveCopy(book.getId()))));
+
+        assertEquals(COPIES, reserved.get());
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    void returnBook_AfterExhaustion_MakesCopyBorrowableAgain() {
+        List<Long> loanIds = new ArrayList<>();
+        for (int i = 0; i < COPIES; i++) {
+            LoanDTO request = new LoanDTO();
+            request.setBookId(book.getId());
+            request.setMemberId(memberIds.get(i));
+            loanIds.add(loanService.borrowBook(request).getId());
+        }
+        LoanDTO next = new LoanDTO();
+        next.setBookId(book.getId());
+        next.setMemberId(memberIds.get(COPIES));
+        assertThrows(IllegalStateException.class, () -> loanService.borrowBook(next));
+
+        loanService.returnBook(loanIds.get(0));
+
+        assertEquals(Loan.LoanStatus.ACTIVE, loanService.borrowBook(next).getStatus());
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+    }
+
+    private void runConcurrently(IntTask task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < BORROWS; i++) {
+                int attempt = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        task.run(attempt);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int attempt);
+    }
+}
@@ -0,0 +1,227 @@
+package com.library.management.circulation;
+
+import com.library.management.cache.CatalogCache;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.service.impl.LoanServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import({LoanServiceImpl.class, BookCopyCounter.class, MemberLoanCounter.class, SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberLoanCounterTest {
+
+    private static final int MEMBERS = 8;
+    private static final int THREADS = 32;
+    private static final int OPERATIONS = 4_000;
+    private static final int MAX_ACTIVE_LOANS = 5;
+
+    @MockBean
+    private MemberStanding memberStanding;
+
+    @MockBean
+    private CatalogCache catalogCache;
+
+    @MockBean
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private LoanServiceImpl loanService;
+
+    @Autowired
+    private MemberLoanCounter memberLoanCounter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Book book;
+    private List<Long> memberIds;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Plentiful Title");
+        book.setAuthor("Some Author");
+        book.setIsbn("9780321349606");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2020);
+        book.setTotalCopies(MEMBERS * MAX_ACTIVE_LOANS * 2);
+        book.setAvailableCopies(MEMBERS * MAX_ACTIVE_LOANS * 2);
+        book = bookRepository.save(book);
+
+        memberIds = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("Member " + i);
+            member.setEmail("counter" + i + "@example.com");
+            memberIds.add(memberRepository.save(member).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberLoanCounter.invalidateAll();
+    }
+
+    @Test
+    void concurrentBorrowAndReturn_CounterMatchesDatabase() throws InterruptedException {
+        List<Queue<Long>> openLoans = new ArrayList<>();
+        memberIds.forEach(id -> openLoans.add(new ConcurrentLinkedQueue<>()));
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.execute(() -> {
+                int member = ThreadLocalRandom.current().nextInt(MEMBERS);
+                try {
+                    Long loanId = ThreadLocalRandom.current().nextBoolean() ? openLoans.get(member).poll() : null;
+                    if (loanId != null) {
+                        loanService.returnBook(loanId);
+                    } else {
+                        LoanDTO request = new LoanDTO();
+                        request.setBookId(book.getId());
+                        request.setMemberId(memberIds.get(member));
+                        openLoans.get(member).add(loanService.borrowBook(request).getId());
+                    }
+                } catch (IllegalStateException e) {
+                    if (!e.getMessage().startsWith("Member has reached")) {
+                        unexpected.add(e);
+                    }
+                } catch (RuntimeException e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures, first: " + unexpected.peek());
+        for (Long memberId : memberIds) {
+            int inDatabase = memberRepository.countActiveLoans(memberId);
+            assertTrue(inDatabase <= MAX_ACTIVE_LOANS, "member " + memberId + " exceeded the limit");
+            assertEquals(inDatabase, memberLoanCounter.activeLoans(memberId));
+        }
+        assertEquals(0, memberLoanCounter.reconcile());
+    }
+
+    @Test
+    void reconcile_LoanWrittenBehindCountersBack_CorrectsDrift() {
+        Long memberId = memberIds.get(0);
+        assertEquals(0, memberLoanCounter.activeLoans(memberId));
+
+        saveActiveLoan(memberId);
+
+        assertEquals(0, memberLoanCounter.activeLoans(memberId));
+        assertEquals(1, memberLoanCounter.reconcile());
+        assertEquals(1, memberLoanCounter.activeLoans(memberId));
+    }
+
+    @Test
+    void tryAcquire_TransactionRolledBack_GivesSlotBack() {
+        Long memberId = memberIds.get(0);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(memberLoanCounter.tryAcquire(memberId, MAX_ACTIVE_LOANS));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, memberLoanCounter.activeLoans(memberId));
+
+        transaction.executeWithoutResult(status -> assertTrue(memberLoanCounter.tryAcquire(memberId, 1)));
+        transaction.executeWithoutResult(status -> assertFalse(memberLoanCounter.tryAcquire(memberId, 1)));
+        assertEquals(1, memberLoanCounter.activeLoans(memberId));
+    }
+
+    @Test
+    void seed_InsideTheBorrowingTransaction_CountsItsOwnLoanOnce() {
+        Long memberId = memberIds.get(0);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(memberLoanCounter.tryAcquire(memberId, MAX_ACTIVE_LOANS));
+            saveActiveLoan(memberId);
+            memberLoanCounter.invalidate(memberId);
+            assertEquals(1, memberLoanCounter.activeLoans(memberId));
+        });
+
+        assertEquals(1, memberLoanCounter.activeLoans(memberId));
+        assertEquals(0, memberLoanCounter.reconcile());
+    }
+
+    @Test
+    void tryAcquire_CounterDisabled_CountsInTheDatabase() {
+        Long memberId = memberIds.get(0);
+        MemberLoanCounter uncached = new MemberLoanCounter(memberRepository, loanRepository, transactionManager, false);
+        saveActiveLoan(memberId);
+
+        assertEquals(1, uncached.activeLoans(memberId));
+        assertEquals(1, uncached.tryAcquire(memberId, 2, 3));
+        saveActiveLoan(memberId);
+        assertFalse(uncached.tryAcquire(memberId, 2));
+    }
+
+    private void saveActiveLoan(Long memberId) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(memberRepository.findById(memberId).orElseThrow());
+        loan.setBorrowDate(LocalDateTime.now());
+        loan.setExpectedReturnDate(LocalDateTime.now().plusDays(14));
+        loan.setStatus(Loan.LoanStatus.ACTIVE);
+        loanRepository.save(loan);
+    }
+}
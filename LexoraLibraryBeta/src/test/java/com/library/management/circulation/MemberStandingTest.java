@@ -0,0 +1,205 @@
+package com.library.management.circulation;
+
+import com.library.management.cache.CatalogCache;
+import com.library.management.config.CacheConfig;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.Book;
+import com.library.management.entity.LateFee;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.export.EntityExporter;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LateFeeRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.service.impl.LateFeeServiceImpl;
+import com.library.management.service.impl.LoanServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "library.fees.borrow-limit=10.00",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({MemberStanding.class, CatalogCache.class, CacheConfig.class, LoanServiceImpl.class, LateFeeServiceImpl.class,
+        LateFeeRates.class, BookCopyCounter.class, MemberLoanCounter.class, SliceTestConfig.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberStandingTest {
+
+    @MockBean
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private MemberStanding memberStanding;
+
+    @Autowired
+    private LoanServiceImpl loanService;
+
+    @Autowired
+    private LateFeeServiceImpl lateFeeService;
+
+    @Autowired
+    private MemberLoanCounter memberLoanCounter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LateFeeRepository lateFeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Overdue Title");
+        book.setAuthor("Some Author");
+        book.setIsbn("9781200000001");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2012);
+        book.setTotalCopies(10);
+        book.setAvailableCopies(10);
+        book = bookRepository.save(book);
+
+        member = new Member();
+        member.setName("Owing Reader");
+        member.setEmail("owing@example.com");
+        member = memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lateFeeRepository.deleteAll();
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberLoanCounter.invalidateAll();
+        cacheManager.getCache(CacheConfig.MEMBER_BALANCES).clear();
+    }
+
+    @Test
+    void outstandingBalance_SumsPendingFeesOnly_AndIsServedFromCache() {
+        fee("6.00", LateFee.FeeStatus.PENDING);
+        fee("4.50", LateFee.FeeStatus.PENDING);
+        fee("20.00", LateFee.FeeStatus.PAID);
+        fee("30.00", LateFee.FeeStatus.WAIVED);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        assertEquals(0, new BigDecimal("10.50").compareTo(memberStanding.outstandingBalance(member.getId())));
+        assertTrue(memberStanding.blocksBorrowing(member.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(lateFeeService.hasUnpaidFees(member.getId()));
+    }
+
+    @Test
+    void borrowBook_RefusedOverTheLimit_UntilAFeeIsPaid() {
+        LateFee large = fee("8.00", LateFee.FeeStatus.PENDING);
+        fee("3.00", LateFee.FeeStatus.PENDING);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> loanService.borrowBook(borrow()));
+        assertEquals("Member has unpaid late fees over the borrowing limit", exception.getMessage());
+
+        lateFeeService.payLateFee(large.getId());
+
+        assertEquals(0, new BigDecimal("3.00").compareTo(memberStanding.outstandingBalance(member.getId())));
+        assertNotNull(loanService.borrowBook(borrow()).getId());
+    }
+
+    @Test
+    void outstandingBalance_NoFees_IsZero() {
+        assertEquals(0, BigDecimal.ZERO.compareTo(memberStanding.outstandingBalance(member.getId())));
+        assertFalse(memberStanding.blocksBorrowing(member.getId()));
+        assertFalse(lateFeeService.hasUnpaidFees(member.getId()));
+    }
+
+    @Test
+    void outstandingBalance_LoadRacingAnInvalidation_IsNotCached() {
+        LateFeeRepository fees = mock(LateFeeRepository.class);
+        MemberStanding standing = new MemberStanding(fees,
+                new ConcurrentMapCacheManager(CacheConfig.MEMBER_BALANCES), new BigDecimal("10.00"));
+        when(fees.sumPendingAmountByMemberId(7L)).thenAnswer(invocation -> {
+            // A fee is paid while the sum is being read.
+            standing.invalidate(7L);
+            return new BigDecimal("12.00");
+        }).thenReturn(BigDecimal.ZERO);
+
+        assertEquals(0, new BigDecimal("12.00").compareTo(standing.outstandingBalance(7L)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(standing.outstandingBalance(7L)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(standing.outstandingBalance(7L)));
+        verify(fees, times(2)).sumPendingAmountByMemberId(7L);
+    }
+
+    private LateFee fee(String amount, LateFee.FeeStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(LocalDateTime.now().minusDays(30));
+        loan.setExpectedReturnDate(LocalDateTime.now().minusDays(16));
+        loan.setActualReturnDate(LocalDateTime.now().minusDays(2));
+        loan.setStatus(Loan.LoanStatus.RETURNED);
+        loan = loanRepository.save(loan);
+
+        LateFee fee = new LateFee();
+        fee.setLoan(loan);
+        fee.setAmount(new BigDecimal(amount));
+        fee.setDaysOverdue(14);
+        fee.setStatus(status);
+        return lateFeeRepository.save(fee);
+    }
+
+    private LoanDTO borrow() {
+        LoanDTO dto = new LoanDTO();
+        dto.setBookId(book.getId());
+        dto.setMemberId(member.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,16 @@
+package com.library.management.config;
+
+import com.library.management.pagination.FilteredCounts;
+import com.library.management.pagination.OffsetPagination;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Beans every service-level {@code @DataJpaTest} slice needs alongside the classes under
+ * test: paging with its cached counts, and an in-memory meter registry.
+ */
+@TestConfiguration
+@Import({OffsetPagination.class, FilteredCounts.class, SimpleMeterRegistry.class})
+public class SliceTestConfig {
+}
@@ -124,7 +124,7 @@ public class BookControllerTest {
     @WithMockUser(roles = {"LIBRARIAN", "MEMBER"})
     void getAllBooks_Success() throws Exception {
         Page<BookDTO> page = new PageImpl<>(Arrays.asList(testBookDTO));
-        when(bookService.getBookListWithFilters(any(), any(), any())).thenReturn(PaginatedResponse.from(page));
+        when(bookService.getBookListWithFilters(any(), any(), any(), any())).thenReturn(PaginatedResponse.from(page));
 
         mockMvc.perform(get("/api/books"))
                 .andExpect(status().isOk())
@@ -136,7 +136,7 @@ public class BookControllerTest {
     @WithMockUser(roles = {"LIBRARIAN", "MEMBER"})
     void searchBooks_Success() throws Exception {
         Page<BookDTO> page = new PageImpl<>(Arrays.asList(testBookDTO));
-        when(bookService.getBookListWithFilters(any(), any(), any())).thenReturn(PaginatedResponse.from(page));
+        when(bookService.getBookListWithFilters(any(), any(), any(), any())).thenReturn(PaginatedResponse.from(page));
 
         mockMvc.perform(get("/api/books/search")
                 .param("title", "Test")
@@ -152,7 +152,7 @@ public class BookControllerTest {
     @WithMockUser(roles = {"LIBRARIAN", "MEMBER"})
     void searchBooks_NoParams_Success() throws Exception {
         Page<BookDTO> page = new PageImpl<>(Arrays.asList(testBookDTO));
-        when(bookService.getBookListWithFilters(any(), any(), any())).thenReturn(PaginatedResponse.from(page));
+        when(bookService.getBookListWithFilters(any(), any(), any(), any())).thenReturn(PaginatedResponse.from(page));
 
         mockMvc.perform(get("/api/books/search"))
                 .andExpect(status().isOk())
@@ -78,7 +78,7 @@ public class LoanControllerTest {
     @WithMockUser(roles = {"LIBRARIAN", "MEMBER"})
     void getBookLoans_Success() throws Exception {
         PaginatedResponse<LoanDTO> response = PaginatedResponse.from(new PageImpl<>(Arrays.asList(testLoanDTO)));
-        when(loanService.getLoansByBook(anyLong(), any(), any())).thenReturn(response);
+        when(loanService.getLoansByBook(anyLong(), any(), any(), any())).thenReturn(response);
 
         mockMvc.perform(get("/api/loans/book/{bookId}", 1))
                 .andExpect(status().isOk())
@@ -90,7 +90,7 @@ public class LoanControllerTest {
     @WithMockUser(roles = {"LIBRARIAN", "MEMBER"})
     void getMemberLoans_Success() throws Exception {
         PaginatedResponse<LoanDTO> response = PaginatedResponse.from(new PageImpl<>(Arrays.asList(testLoanDTO)));
-        when(loanService.getLoansByMember(anyLong(), any(), any())).thenReturn(response);
+        when(loanService.getLoansByMember(anyLong(), any(), any(), any())).thenReturn(response);
 
         mockMvc.perform(get("/api/loans/member/{memberId}", 1))
                 .andExpect(status().isOk())
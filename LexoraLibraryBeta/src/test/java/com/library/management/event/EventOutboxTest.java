@@ -0,0 +1,294 @@
+package com.library.management.event;
+
+import com.library.management.audit.AuditTrail;
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.LoanDTO;
+import com.library.management.entity.AuditLog;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.repository.AuditLogRepository;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.OutboxEventRepository;
+import com.library.management.repository.SchedulerLockRepository;
+import com.library.management.scheduling.JobLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "library.events.outbox.dispatcher.enabled=false",
+        "library.events.outbox.batch-size=2",
+        "library.events.outbox.max-attempts=2"
+})
+@Import({EventOutbox.class, OutboxDispatcher.class, AuditTrail.class, JobLockService.class, SimpleMeterRegistry.class,
+        JacksonAutoConfiguration.class, EventOutboxTest.RecordingConsumer.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventOutboxTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        consumer.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        auditLogRepository.deleteAll();
+        schedulerLockRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void events_AreRecordedOnlyWhenTheirTransactionCommits() {
+        publish(new BookCreated(book(1L, "Silent harbor")));
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new BookCreated(book(2L, "Rolled back")));
+            status.setRollbackOnly();
+        });
+
+        List<OutboxEvent> recorded = outboxEventRepository.findAll();
+        assertEquals(1, recorded.size());
+        assertEquals("BookCreated", recorded.get(0).getEventType());
+        assertEquals(DomainEvent.BOOK, recorded.get(0).getAggregateType());
+        assertEquals(1L, recorded.get(0).getAggregateId());
+        assertEquals("SYSTEM", recorded.get(0).getPerformedBy());
+        assertEquals(0, recorded.get(0).getAttempts());
+    }
+
+    @Test
+    void eventsAboutOneAggregate_TakeTheirIdsInCommitOrder() throws Exception {
+        Long bookId = bookRepository.save(storedBook()).getId();
+        CountDownLatch firstHoldsRow = new CountDownLatch(1);
+        CountDownLatch secondPublished = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The first transaction changes the row first and commits first, but publishes last.
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE books SET title = ? WHERE id = ?", "First", bookId);
+                firstHoldsRow.countDown();
+                await(secondPublished);
+                eventPublisher.publishEvent(new BookUpdated(book(bookId, "Silent harbor"), book(bookId, "First")));
+            }));
+            await(firstHoldsRow);
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                eventPublisher.publishEvent(new BookUpdated(book(bookId, "Silent harbor"), book(bookId, "Second")));
+                secondPublished.countDown();
+            }));
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        List<String> titlesInIdOrder = outboxEventRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .map(row -> row.getPayload().contains("\"First\"") ? "First" : "Second")
+                .toList();
+        assertEquals(List.of("First", "Second"), titlesInIdOrder);
+    }
+
+    @Test
+    void dispatchPending_DeliversInBatchesInRecordedOrder_AndDeletesWhatWasDelivered() {
+        LoanDTO loan = loan(7L, Loan.LoanStatus.ACTIVE);
+        List<DomainEvent> published = List.of(
+                new BookCreated(book(1L, "Silent harbor")),
+                new LoanOpened(loan),
+                new LoanOverdue(7L, 3L),
+                new FeeAssessed(11L, 7L, 3L, new BigDecimal("4.00"), 4),
+                new LoanReturned(loan(7L, Loan.LoanStatus.RETURNED), Loan.LoanStatus.OVERDUE));
+        published.forEach(this::publish);
+        double deliveredBefore = outcomes("delivered");
+
+        assertEquals(5, outboxDispatcher.dispatchPending());
+
+        assertEquals(List.of(2, 2, 1), consumer.batches.stream().map(List::size).toList());
+        List<RecordedEvent> delivered = consumer.batches.stream().flatMap(List::stream).toList();
+        assertEquals(published, delivered.stream().map(RecordedEvent::event).toList());
+        assertEquals(delivered.stream().map(RecordedEvent::sequence).sorted().toList(),
+                delivered.stream().map(RecordedEvent::sequence).toList());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(5.0, outcomes("delivered") - deliveredBefore);
+
+        List<AuditLog> audit = auditLogRepository.findAll();
+        assertEquals(1, audit.size(), "only catalog changes are audited");
+        assertEquals("CREATE", audit.get(0).getAction());
+        assertEquals("Created new book: Silent harbor", audit.get(0).getDetails());
+        assertEquals("SYSTEM", audit.get(0).getPerformedBy());
+    }
+
+    @Test
+    void failedBatch_IsRetriedOneEventAtATime_AndAnEventThatKeepsFailingIsParked() {
+        publish(new LoanOverdue(1L, 3L));
+        publish(new LoanOverdue(2L, 3L));
+        publish(new LoanOverdue(4L, 3L));
+        consumer.failOn = 2L;
+        double parkedBefore = outcomes("parked");
+
+        assertEquals(0, outboxDispatcher.dispatchPending());
+        assertEquals(3, outboxEventRepository.count());
+
+        assertEquals(1, outboxDispatcher.dispatchPending(), "the first event goes through alone, the second fails again");
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertEquals(2L, parked.getAggregateId());
+        assertEquals(2, parked.getAttempts());
+        assertNotNull(parked.getParkedAt());
+        assertEquals("cannot take loan 2", parked.getLastError());
+
+        assertEquals(1, outboxDispatcher.dispatchPending(), "later events go ahead without the parked one");
+        assertEquals(List.of(1L, 2L, 1L, 2L, 4L), consumer.batches.stream().flatMap(List::stream)
+                .map(recorded -> recorded.event().aggregateId()).toList());
+        assertEquals(1, outboxEventRepository.count());
+        assertEquals(1.0, outcomes("parked") - parkedBefore);
+    }
+
+    @Test
+    void dispatchPending_WhileAnotherNodeHoldsTheLock_DeliversNothing() {
+        publish(new LoanOverdue(1L, 3L));
+        JobLockService otherNode = new JobLockService(schedulerLockRepository, transactionManager);
+        assertTrue(otherNode.tryLock(OutboxDispatcher.LOCK_NAME, Duration.ofMinutes(1)));
+
+        assertEquals(0, outboxDispatcher.dispatchPending());
+        assertTrue(consumer.batches.isEmpty());
+
+        otherNode.unlock(OutboxDispatcher.LOCK_NAME);
+        assertEquals(1, outboxDispatcher.dispatchPending());
+    }
+
+    private double outcomes(String outcome) {
+        return meterRegistry.get("library.events.outbox.events").tag("outcome", outcome).counter().count();
+    }
+
+    private void publish(DomainEvent event) {
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Book storedBook() {
+        Book book = new Book();
+        book.setTitle("Silent harbor");
+        book.setAuthor("Ada Okafor");
+        book.setIsbn("9780000000001");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2001);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        return book;
+    }
+
+    private static BookDTO book(Long id, String title) {
+        return BookDTO.builder()
+                .id(id)
+                .title(title)
+                .author("Ada Okafor")
+                .isbn("9780000000001")
+                .category("Fiction")
+                .publicationYear(2001)
+                .totalCopies(1)
+                .availableCopies(1)
+                .build();
+    }
+
+    private static LoanDTO loan(Long id, Loan.LoanStatus status) {
+        LocalDateTime borrowed = LocalDateTime.of(2024, 3, 1, 10, 0);
+        return LoanDTO.builder()
+                .id(id)
+                .bookId(1L)
+                .memberId(3L)
+                .borrowDate(borrowed)
+                .expectedReturnDate(borrowed.plusDays(14))
+                .actualReturnDate(status == Loan.LoanStatus.RETURNED ? borrowed.plusDays(18) : null)
+                .status(status)
+                .build();
+    }
+
+    static class RecordingConsumer implements DomainEventConsumer {
+        final List<List<RecordedEvent>> batches = new ArrayList<>();
+        Long failOn;
+
+        @Override
+        public void accept(List<RecordedEvent> events) {
+            batches.add(events);
+            events.stream()
+                    .filter(recorded -> recorded.event().aggregateId().equals(failOn))
+                    .findFirst()
+                    .ifPresent(recorded -> {
+                        throw new IllegalStateException("cannot take loan " + failOn);
+                    });
+        }
+
+        void reset() {
+            batches.clear();
+            failOn = null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.library.management.export;
+
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.exception.InvalidExportException;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.repository.specification.BookSpecifications;
+import com.library.management.repository.specification.LoanSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "library.export.fetch-size=10",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(EntityExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityExporterTest {
+
+    private static final int LOANS = 35;
+
+    private static final CsvColumns<Map<String, Object>> LOAN_COLUMNS = CsvColumns.<Map<String, Object>>builder()
+            .add("id", row -> row.get("id"))
+            .add("bookTitle", row -> row.get("bookTitle"))
+            .add("memberName", row -> row.get("memberName"))
+            .build();
+
+    @Autowired
+    private EntityExporter entityExporter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("Reader, \"Senior\"");
+        member.setEmail("reader@example.com");
+        memberRepository.save(member);
+
+        for (int i = 0; i < LOANS; i++) {
+            Book book = new Book();
+            book.setTitle("Title " + i);
+            book.setAuthor("Author " + i);
+            book.setIsbn(String.valueOf(9781000000000L + i));
+            book.setCategory("Fiction");
+            book.setPublicationYear(2001);
+            book.setTotalCopies(1);
+            book.setAvailableCopies(0);
+            bookRepository.save(book);
+
+            Loan loan = new Loan();
+            loan.setBook(book);
+            loan.setMember(member);
+            loan.setBorrowDate(LocalDateTime.now().minusDays(20));
+            loan.setExpectedReturnDate(LocalDateTime.now().minusDays(6));
+            loan.setStatus(i % 5 == 0 ? Loan.LoanStatus.RETURNED : Loan.LoanStatus.OVERDUE);
+            loanRepository.save(loan);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void ndjson_OneLinePerMatchingRowInIdOrder_InOneSelect() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LoanSearchRequest filter = new LoanSearchRequest();
+        filter.setStatus(Loan.LoanStatus.OVERDUE);
+
+        statistics.clear();
+        String output = write(entityExporter.export(Loan.class, LoanSpecifications.fromSearchRequest(filter),
+                this::toRow, LOAN_COLUMNS, ExportFormat.NDJSON, "book", "member"));
+
+        List<String> lines = output.lines().toList();
+        assertEquals(28, lines.size());
+        assertTrue(output.endsWith("\n"));
+        assertTrue(lines.get(0).contains("\"bookTitle\":\"Title 1\""));
+        assertTrue(lines.get(27).contains("\"bookTitle\":\"Title 34\""));
+        // Book and member come with each row, even after the persistence context is cleared.
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void csv_HeaderThenQuotedFields() throws IOException {
+        String output = write(entityExporter.export(Loan.class, null, this::toRow, LOAN_COLUMNS, ExportFormat.CSV,
+                "book", "member"));
+
+        List<String> lines = output.lines().toList();
+        assertEquals(LOANS + 1, lines.size());
+        assertEquals("id,bookTitle,memberName", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",Title 0,\"Reader, \"\"Senior\"\"\""));
+    }
+
+    @Test
+    void csv_TextThatReadsAsAFormula_IsKeptAsText() throws IOException {
+        String output = write(entityExporter.export(Loan.class, null,
+                loan -> Map.<String, Object>of("id", -1, "bookTitle", "=HYPERLINK(\"x\")", "memberName", "-2+3"),
+                LOAN_COLUMNS, ExportFormat.CSV));
+
+        assertEquals("-1,\"'=HYPERLINK(\"\"x\"\")\",'-2+3", output.lines().toList().get(1));
+    }
+
+    @Test
+    void noMatches_WritesOnlyTheHeader() throws IOException {
+        String output = write(entityExporter.export(Book.class,
+                BookSpecifications.fromSearchRequest(bookTitled("missing")), book -> Map.<String, Object>of(),
+                LOAN_COLUMNS, ExportFormat.CSV));
+
+        assertEquals("id,bookTitle,memberName\r\n", output);
+    }
+
+    @Test
+    void unknownFormat_Rejected() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from(null));
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertThrows(InvalidExportException.class, () -> ExportFormat.from("xml"));
+    }
+
+    private Map<String, Object> toRow(Loan loan) {
+        return Map.of("id", loan.getId(), "bookTitle", loan.getBook().getTitle(), "memberName", loan.getMember().getName());
+    }
+
+    private static BookSearchRequest bookTitled(String title) {
+        BookSearchRequest request = new BookSearchRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
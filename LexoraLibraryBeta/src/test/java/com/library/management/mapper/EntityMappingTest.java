@@ -0,0 +1,141 @@
+package com.library.management.mapper;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.MemberDTO;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mapping a freshly loaded entity must read only its own columns: no statement is issued
+ * and the lazy {@code loans} collections stay uninitialized.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class EntityMappingTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private PersistenceUnitUtil persistenceUnitUtil;
+    private Long bookId;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        Book book = new Book();
+        book.setTitle("Silent Harbor");
+        book.setAuthor("Ada Okafor");
+        book.setIsbn("9780000000019");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2001);
+        book.setTotalCopies(3);
+        book.setAvailableCopies(2);
+        entityManager.persist(book);
+
+        Member member = new Member();
+        member.setName("Reader");
+        member.setEmail("reader@example.com");
+        member.setPhoneNumber("+15551234567");
+        member.setMembershipId("MEM-1");
+        entityManager.persist(member);
+
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(LocalDateTime.now().minusDays(3));
+        loan.setExpectedReturnDate(LocalDateTime.now().plusDays(11));
+        loan.setStatus(Loan.LoanStatus.ACTIVE);
+        entityManager.persist(loan);
+
+        entityManager.flush();
+        entityManager.clear();
+        bookId = book.getId();
+        memberId = member.getId();
+    }
+
+    @Test
+    void memberToDTO_CopiesColumns_WithoutLoadingLoans() {
+        Member member = entityManager.find(Member.class, memberId);
+        statistics.clear();
+
+        MemberDTO dto = MemberMapper.toDTO(member);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertFalse(persistenceUnitUtil.isLoaded(member, "loans"));
+        assertEquals(memberId, dto.getId());
+        assertEquals("Reader", dto.getName());
+        assertEquals("reader@example.com", dto.getEmail());
+        assertEquals("+15551234567", dto.getPhoneNumber());
+        assertEquals("MEM-1", dto.getMembershipId());
+        assertTrue(dto.isActive());
+        assertEquals(member.getCreatedAt(), dto.getCreatedAt());
+        assertEquals(member.getUpdatedAt(), dto.getUpdatedAt());
+    }
+
+    @Test
+    void bookToDTO_CopiesColumns_WithoutLoadingLoans() {
+        Book book = entityManager.find(Book.class, bookId);
+        statistics.clear();
+
+        BookDTO dto = BookMapper.toDTO(book);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertFalse(persistenceUnitUtil.isLoaded(book, "loans"));
+        assertEquals(new BookDTO(bookId, "Silent Harbor", "Ada Okafor", "9780000000019", "Fiction", 2001, 3, 2), dto);
+    }
+
+    @Test
+    void toDTO_WorksOnDetachedEntities() {
+        Member member = entityManager.find(Member.class, memberId);
+        Book book = entityManager.find(Book.class, bookId);
+        entityManager.clear();
+
+        assertEquals("Reader", MemberMapper.toDTO(member).getName());
+        assertEquals("Silent Harbor", BookMapper.toDTO(book).getTitle());
+    }
+
+    @Test
+    void updateEntity_KeepsMembershipIdAndStatus() {
+        Member member = entityManager.find(Member.class, memberId);
+        MemberDTO update = new MemberDTO();
+        update.setId(99L);
+        update.setName("Renamed");
+        update.setEmail("renamed@example.com");
+        update.setMembershipId("MEM-99");
+        update.setActive(false);
+
+        MemberMapper.updateEntity(member, update);
+
+        assertEquals(memberId, member.getId());
+        assertEquals("Renamed", member.getName());
+        assertEquals("renamed@example.com", member.getEmail());
+        assertNull(member.getPhoneNumber());
+        assertEquals("MEM-1", member.getMembershipId());
+        assertTrue(member.isActive());
+        assertFalse(persistenceUnitUtil.isLoaded(member, "loans"));
+    }
+}
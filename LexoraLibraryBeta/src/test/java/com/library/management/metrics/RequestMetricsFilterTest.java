@@ -0,0 +1,88 @@
+package com.library.management.metrics;
+
+import com.library.management.controller.BookController;
+import com.library.management.service.BookImportService;
+import com.library.management.service.BookService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestMetricsFilterTest {
+
+    private static final String SELECT_BOOK = "select b1_0.id from books b1_0 where b1_0.id=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementMetrics statementMetrics = new StatementMetrics(meterRegistry);
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, Duration.ofSeconds(1), 50);
+
+    @Test
+    void doFilter_RecordsStatementsRowsAndEntityLoads_PerControllerMethod() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/categories");
+        HandlerMethod handler = categoryAvailabilityHandler();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            statementMetrics.inspect(SELECT_BOOK);
+            statementMetrics.inspect(SELECT_BOOK);
+            statementMetrics.inspect("select count(*) from books b1_0");
+            RequestQueryStats.rowsFetched(12);
+            RequestQueryStats.entityLoaded();
+        });
+
+        assertEquals(3, summary("library.http.request.statements").totalAmount());
+        assertEquals(12, summary("library.http.request.rows").totalAmount());
+        assertEquals(1, summary("library.http.request.entity.loads").totalAmount());
+        RequestQueryStats stats = RequestMetricsFilter.stats(request).orElseThrow();
+        assertTrue(stats.describeShapes().startsWith("    2 x " + SELECT_BOOK));
+        assertTrue(RequestQueryStats.current().isEmpty(), "scope must not leak to the next request on this thread");
+    }
+
+    @Test
+    void doFilter_RecordsNothing_WhenNoControllerHandledTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/actuator/metrics");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> statementMetrics.inspect(SELECT_BOOK));
+
+        assertNull(meterRegistry.find("library.http.request.statements").summary());
+        assertEquals(1, RequestMetricsFilter.stats(request).orElseThrow().getStatements());
+    }
+
+    @Test
+    void statementsOutsideARequest_AreOnlyCountedGlobally() {
+        statementMetrics.inspect(SELECT_BOOK);
+
+        assertTrue(RequestQueryStats.current().isEmpty());
+        assertEquals(1, meterRegistry.get("library.jdbc.statements").tag("kind", "select").counter().count());
+    }
+
+    @Test
+    void bucket_GroupsStatementCounts() {
+        assertEquals("0", ControllerObservationConvention.bucket(0));
+        assertEquals("1", ControllerObservationConvention.bucket(1));
+        assertEquals("2-5", ControllerObservationConvention.bucket(5));
+        assertEquals("6-20", ControllerObservationConvention.bucket(6));
+        assertEquals("21-100", ControllerObservationConvention.bucket(100));
+        assertEquals("over-100", ControllerObservationConvention.bucket(101));
+    }
+
+    private HandlerMethod categoryAvailabilityHandler() throws NoSuchMethodException {
+        BookController controller = new BookController(mock(BookService.class), mock(BookImportService.class));
+        return new HandlerMethod(controller, BookController.class.getMethod("getCategoryAvailability"));
+    }
+
+    private DistributionSummary summary(String name) {
+        return meterRegistry.get(name)
+                .tag("controller", "BookController")
+                .tag("handler", "getCategoryAvailability")
+                .summary();
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.management.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementMetrics statementMetrics = new StatementMetrics(meterRegistry);
+
+    @Test
+    void inspect_CountsStatementsByKind_AndLeavesSqlUnchanged() {
+        String sql = "select b1_0.id from books b1_0 where b1_0.id=?";
+
+        assertSame(sql, statementMetrics.inspect(sql));
+        statementMetrics.inspect("  (select 1) union (select 2)");
+        statementMetrics.inspect("WITH recent AS (select id from loans) select * from recent");
+        statementMetrics.inspect("insert into loans (book_id,member_id,id) values (?,?,?)");
+        statementMetrics.inspect("update books set available_copies=available_copies-1 where id=?");
+        statementMetrics.inspect("delete from late_fees where id=?");
+        statementMetrics.inspect("call next value for loans_seq");
+
+        assertEquals(3, count("select"));
+        assertEquals(1, count("insert"));
+        assertEquals(1, count("update"));
+        assertEquals(1, count("delete"));
+        assertEquals(1, count("other"));
+    }
+
+    private double count(String kind) {
+        return meterRegistry.get("library.jdbc.statements").tag("kind", kind).counter().count();
+    }
+}
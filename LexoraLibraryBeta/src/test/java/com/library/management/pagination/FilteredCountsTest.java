@@ -0,0 +1,219 @@
+package com.library.management.pagination;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.LoanDTO;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.entity.Loan;
+import com.library.management.event.BookCreated;
+import com.library.management.event.BookDeleted;
+import com.library.management.event.BookUpdated;
+import com.library.management.event.LoanOpened;
+import com.library.management.event.LoanReturned;
+import com.library.management.event.LoansOverdue;
+import com.library.management.repository.specification.BookSpecifications;
+import com.library.management.repository.specification.LoanSpecifications;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilteredCountsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FilteredCounts filteredCounts;
+    private TransactionTemplate transactionTemplate;
+    private AtomicInteger counted;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filteredCounts = new FilteredCounts(Duration.ofMinutes(5), 100, meterRegistry);
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:filtered-counts");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        counted = new AtomicInteger();
+    }
+
+    @Test
+    void count_IsTakenOncePerNormalizedFilter() {
+        assertEquals(7, count(books("FICTION", null), 7));
+        assertEquals(7, count(books("fiction", false), 99));
+        assertEquals(1, counted.get());
+
+        assertEquals(1.0, meterRegistry.get("library.pagination.counts").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("library.pagination.counts").tag("result", "miss").counter().count());
+        assertEquals(0.5, meterRegistry.get("library.pagination.counts.hit.ratio").gauge().value());
+        assertEquals(2, meterRegistry.get("library.pagination.counts.staleness").timer().count());
+    }
+
+    @Test
+    void bookEvents_AdjustMatchingCountsOnCommit() {
+        count(books("fiction", null), 10);
+        count(books("history", null), 5);
+        count(books(null, null), 15);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            filteredCounts.on(new BookCreated(book("Fiction", 1)));
+            assertEquals(10, count(books("fiction", null), -1), "not applied before commit");
+        });
+        assertEquals(11, count(books("fiction", null), -1));
+        assertEquals(5, count(books("history", null), -1));
+        assertEquals(16, count(books(null, null), -1));
+
+        filteredCounts.on(new BookUpdated(book("Fiction", 1), book("History", 1)));
+        assertEquals(10, count(books("fiction", null), -1));
+        assertEquals(6, count(books("history", null), -1));
+
+        filteredCounts.on(new BookDeleted(book("History", 1)));
+        assertEquals(5, count(books("history", null), -1));
+        assertEquals(15, count(books(null, null), -1));
+        assertEquals(3, counted.get());
+    }
+
+    @Test
+    void rolledBackChanges_LeaveCountsAlone() {
+        count(books("fiction", null), 10);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            filteredCounts.on(new BookCreated(book("Fiction", 1)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(10, count(books("fiction", null), -1));
+    }
+
+    @Test
+    void countTakenWhileAChangeIsInFlight_IsNotCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            filteredCounts.on(new BookCreated(book("Fiction", 1)));
+            assertEquals(10, count(books("fiction", null), 10));
+        });
+
+        assertEquals(11, count(books("fiction", null), 11));
+        assertEquals(11, count(books("fiction", null), -1));
+        assertEquals(2, counted.get());
+    }
+
+    @Test
+    void changeCommittedWhileCounting_KeepsThatCountOutOfTheCache() {
+        assertEquals(10, filteredCounts.count(books("fiction", null), () -> {
+            counted.incrementAndGet();
+            filteredCounts.on(new BookCreated(book("Fiction", 1)));
+            return 10;
+        }));
+
+        assertEquals(11, count(books("fiction", null), 11));
+        assertEquals(2, counted.get());
+    }
+
+    @Test
+    void loansInFlight_OnlyKeepAvailabilityCountsOutOfTheCache() {
+        transactionTemplate.executeWithoutResult(status -> {
+            filteredCounts.on(new LoanOpened(loan(1L, Loan.LoanStatus.ACTIVE)));
+            assertEquals(10, count(books("fiction", null), 10));
+            assertEquals(8, count(books(null, true), 8));
+        });
+
+        assertEquals(10, count(books("fiction", null), -1));
+        assertEquals(7, count(books(null, true), 7));
+        assertEquals(3, counted.get());
+    }
+
+    @Test
+    void loanEvents_AdjustLoanCounts_AndDropAvailabilityCounts() {
+        LoanSearchRequest byMember = loans(1L, null);
+        LoanSearchRequest active = loans(null, Loan.LoanStatus.ACTIVE);
+        LoanSearchRequest returned = loans(null, Loan.LoanStatus.RETURNED);
+        count(byMember, 3);
+        count(active, 20);
+        count(returned, 40);
+        count(books(null, true), 8);
+        count(books(null, null), 10);
+
+        LoanDTO loan = loan(1L, Loan.LoanStatus.ACTIVE);
+        filteredCounts.on(new LoanOpened(loan));
+        assertEquals(4, count(byMember, -1));
+        assertEquals(21, count(active, -1));
+        assertEquals(10, count(books(null, null), -1));
+        assertEquals(7, count(books(null, true), 7), "availability may have changed, so it is recounted");
+
+        loan.setStatus(Loan.LoanStatus.RETURNED);
+        loan.setActualReturnDate(LocalDateTime.now());
+        filteredCounts.on(new LoanReturned(loan, Loan.LoanStatus.ACTIVE));
+        assertEquals(4, count(byMember, -1));
+        assertEquals(20, count(active, -1));
+        assertEquals(41, count(returned, -1));
+
+        filteredCounts.on(new LoansOverdue(5));
+        assertEquals(4, count(byMember, -1));
+        assertEquals(15, count(active, 15));
+        assertEquals(7, counted.get());
+    }
+
+    @Test
+    void counts_ExpireAfterMaxStaleness_EvenWhenAdjusted() throws InterruptedException {
+        filteredCounts = new FilteredCounts(Duration.ofMillis(200), 100, meterRegistry);
+        count(books("fiction", null), 10);
+        filteredCounts.on(new BookCreated(book("Fiction", 1)));
+        assertEquals(11, count(books("fiction", null), -1));
+
+        Thread.sleep(300);
+
+        assertEquals(12, count(books("fiction", null), 12));
+        assertEquals(2, counted.get());
+    }
+
+    private long count(Object filter, long value) {
+        return filteredCounts.count(filter, () -> {
+            counted.incrementAndGet();
+            return value;
+        });
+    }
+
+    private static BookSearchRequest books(String category, Boolean available) {
+        BookSearchRequest filter = new BookSearchRequest();
+        filter.setCategory(category);
+        filter.setAvailable(available);
+        return BookSpecifications.normalize(filter);
+    }
+
+    private static LoanSearchRequest loans(Long memberId, Loan.LoanStatus status) {
+        LoanSearchRequest filter = new LoanSearchRequest();
+        filter.setMemberId(memberId);
+        filter.setStatus(status);
+        return LoanSpecifications.normalize(filter);
+    }
+
+    private static BookDTO book(String category, int availableCopies) {
+        return BookDTO.builder()
+                .id(1L)
+                .title("Silent harbor")
+                .author("Ada Okafor")
+                .isbn("9780000000001")
+                .category(category)
+                .publicationYear(2001)
+                .totalCopies(1)
+                .availableCopies(availableCopies)
+                .build();
+    }
+
+    private static LoanDTO loan(Long memberId, Loan.LoanStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return LoanDTO.builder()
+                .id(1L)
+                .bookId(1L)
+                .memberId(memberId)
+                .borrowDate(now)
+                .expectedReturnDate(now.plusDays(14))
+                .status(status)
+                .build();
+    }
+}
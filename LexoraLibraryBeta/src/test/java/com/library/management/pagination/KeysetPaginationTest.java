@@ -0,0 +1,135 @@
+package com.library.management.pagination;
+
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.response.CursorPaginatedResponse;
+import com.library.management.entity.Book;
+import com.library.management.exception.InvalidPaginationException;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.specification.BookSpecifications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class KeysetPaginationTest {
+
+    private static final int BOOKS = 23;
+    private static final SortableFields FIELDS = SortableFields.builder()
+            .add("title", String.class)
+            .add("publicationYear", Integer.class)
+            .add("createdAt", LocalDateTime.class)
+            .build();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            // Only five distinct titles, so most rows are ordered by the id tiebreak.
+            book.setTitle("Title " + (i % 5));
+            book.setAuthor("Author " + i);
+            book.setIsbn(String.valueOf(9780000000000L + i));
+            book.setCategory(i % 2 == 0 ? "Fiction" : "History");
+            book.setPublicationYear(2000 + i % 3);
+            book.setTotalCopies(1);
+            book.setAvailableCopies(1);
+            bookRepository.save(book);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void fetch_WalksEveryRowOnceInSortOrder() {
+        List<Book> seen = walk("title,desc", null, 4);
+
+        assertEquals(BOOKS, seen.size());
+        assertEquals(BOOKS, seen.stream().map(Book::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getTitle().compareTo(seen.get(i).getTitle()) >= 0,
+                    "rows out of order at index " + i);
+        }
+    }
+
+    @Test
+    void fetch_WithFilter_OnlyPagesThroughMatchingRows() {
+        BookSearchRequest filter = new BookSearchRequest();
+        filter.setCategory("history");
+
+        List<Book> seen = walk("publicationYear", filter, 5);
+
+        assertEquals(BOOKS / 2, seen.size());
+        assertTrue(seen.stream().allMatch(book -> "History".equals(book.getCategory())));
+        assertEquals(seen.size(), new HashSet<>(seen.stream().map(Book::getId).toList()).size());
+    }
+
+    @Test
+    void fetch_CountsOnlyWhenAsked() {
+        CursorPaginatedResponse<Book> withoutTotal = fetch(CursorPageRequest.of(null, 5, null, false), null);
+        assertNull(withoutTotal.getTotalElements());
+        assertFalse(withoutTotal.isLast());
+
+        CursorPaginatedResponse<Book> withTotal = fetch(CursorPageRequest.of(null, 5, null, true), null);
+        assertEquals(BOOKS, withTotal.getTotalElements());
+    }
+
+    @Test
+    void fetch_RejectsTamperedCursorsAndUnsupportedSorts() {
+        String next = fetch(CursorPageRequest.of(null, 5, "title", false), null).getNext();
+        assertNotNull(next);
+
+        assertThrows(InvalidPaginationException.class,
+                () -> fetch(CursorPageRequest.of(next, 5, "publicationYear", false), null));
+        assertThrows(InvalidPaginationException.class,
+                () -> fetch(CursorPageRequest.of("not-a-cursor", 5, "title", false), null));
+        assertThrows(InvalidPaginationException.class,
+                () -> fetch(CursorPageRequest.of(null, 5, "isbn", false), null));
+        assertThrows(InvalidPaginationException.class,
+                () -> fetch(CursorPageRequest.of(null, 5, "title,sideways", false), null));
+    }
+
+    private List<Book> walk(String sort, BookSearchRequest filter, int pageSize) {
+        List<Book> seen = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String after = null;
+        CursorPaginatedResponse<Book> page;
+        do {
+            page = fetch(CursorPageRequest.of(after, pageSize, sort, false), filter);
+            assertTrue(page.getContent().size() <= pageSize);
+            seen.addAll(page.getContent());
+            after = page.getNext();
+            assertTrue(page.isLast() || cursors.add(after), "cursor repeated");
+        } while (!page.isLast());
+        assertNull(page.getNext());
+        return seen;
+    }
+
+    private CursorPaginatedResponse<Book> fetch(CursorPageRequest request, BookSearchRequest filter) {
+        return KeysetPagination.fetch(bookRepository, BookSpecifications.fromSearchRequest(filter), request, FIELDS, book -> book);
+    }
+}
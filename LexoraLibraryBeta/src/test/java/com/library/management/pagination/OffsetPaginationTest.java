@@ -0,0 +1,174 @@
+package com.library.management.pagination;
+
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.response.PaginatedResponse;
+import com.library.management.entity.Book;
+import com.library.management.exception.InvalidPaginationException;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.specification.BookSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(SliceTestConfig.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OffsetPaginationTest {
+
+    private static final int BOOKS = 23;
+
+    @Autowired
+    private OffsetPagination offsetPagination;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Title " + (i % 5));
+            book.setAuthor("Author " + i);
+            book.setIsbn(String.valueOf(9780000000000L + i));
+            book.setCategory(i % 2 == 0 ? "Fiction" : "History");
+            book.setPublicationYear(2000 + i % 3);
+            book.setTotalCopies(1);
+            book.setAvailableCopies(1);
+            bookRepository.save(book);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void fetch_WithoutTotals_WalksEveryRowOnceByIdWithoutCounting() {
+        List<Long> seen = new ArrayList<>();
+        PaginatedResponse<Book> page;
+        int pageNo = 0;
+        do {
+            statistics.clear();
+            page = fetch(null, PageRequest.of(pageNo++, 5), PageTotals.NONE);
+            assertEquals(1, statistics.getPrepareStatementCount(), "one select for the slice and no count");
+            assertEquals(pageNo, page.getPageNo());
+            assertNull(page.getTotalElements());
+            assertNull(page.getTotalPages());
+            assertEquals(PageTotals.NONE, page.getTotals());
+            page.getContent().forEach(book -> seen.add(book.getId()));
+        } while (!page.isLast());
+
+        assertEquals(5, pageNo);
+        assertEquals(BOOKS, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    void fetch_WithoutTotals_LastIsExactOnFullFinalPage() {
+        BookSearchRequest filter = new BookSearchRequest();
+        filter.setCategory("fiction");
+
+        assertFalse(fetch(filter, PageRequest.of(0, 6), PageTotals.NONE).isLast());
+        PaginatedResponse<Book> last = fetch(filter, PageRequest.of(1, 6), PageTotals.NONE);
+        assertEquals(6, last.getContent().size());
+        assertTrue(last.isLast());
+        assertTrue(fetch(filter, PageRequest.of(2, 6), PageTotals.NONE).getContent().isEmpty());
+    }
+
+    @Test
+    void fetch_WithSort_KeepsTheRequestedOrder() {
+        PaginatedResponse<Book> page = fetch(null, PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "author")),
+                PageTotals.NONE);
+
+        List<String> authors = page.getContent().stream().map(Book::getAuthor).toList();
+        assertEquals(List.of("Author 4", "Author 3", "Author 22", "Author 21", "Author 20"), authors);
+    }
+
+    @Test
+    void fetch_ExactTotals_CountsEveryTime() {
+        PaginatedResponse<Book> page = fetch(null, PageRequest.of(1, 5), PageTotals.EXACT);
+        assertEquals(BOOKS, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+        assertEquals(PageTotals.EXACT, page.getTotals());
+
+        statistics.clear();
+        fetch(null, PageRequest.of(2, 5), PageTotals.EXACT);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fetch_EstimatedTotals_AreCountedOncePerFilterAndCorrectedByTheSlice() {
+        BookSearchRequest history = new BookSearchRequest();
+        history.setCategory("history");
+
+        statistics.clear();
+        PaginatedResponse<Book> first = fetch(history, PageRequest.of(0, 5), PageTotals.ESTIMATE);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(BOOKS / 2, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+        assertEquals(PageTotals.ESTIMATE, first.getTotals());
+
+        Book extra = bookRepository.findAll(Sort.by("id")).get(0);
+        extra.setCategory("History");
+        bookRepository.save(extra);
+
+        statistics.clear();
+        PaginatedResponse<Book> last = fetch(history, PageRequest.of(2, 5), PageTotals.ESTIMATE);
+        assertEquals(1, statistics.getPrepareStatementCount(), "the cached count is reused");
+        assertTrue(last.isLast());
+        assertEquals(BOOKS / 2 + 1, last.getTotalElements(), "the last page knows the exact total");
+
+        BookSearchRequest fiction = new BookSearchRequest();
+        fiction.setCategory("fiction");
+        statistics.clear();
+        fetch(fiction, PageRequest.of(0, 5), PageTotals.ESTIMATE);
+        assertEquals(2, statistics.getPrepareStatementCount(), "another filter has its own count");
+    }
+
+    @Test
+    void pageTotals_ParsesCaseInsensitively_AndDefaultsToNone() {
+        assertEquals(PageTotals.NONE, PageTotals.from(null));
+        assertEquals(PageTotals.NONE, PageTotals.from(" "));
+        assertEquals(PageTotals.ESTIMATE, PageTotals.from("Estimate"));
+        assertEquals(PageTotals.EXACT, PageTotals.from("exact"));
+        assertThrows(InvalidPaginationException.class, () -> PageTotals.from("approximately"));
+    }
+
+    private PaginatedResponse<Book> fetch(BookSearchRequest filter, Pageable pageable, PageTotals totals) {
+        BookSearchRequest normalized = BookSpecifications.normalize(filter);
+        return offsetPagination.fetch(bookRepository, BookSpecifications.fromSearchRequest(normalized), normalized,
+                pageable, totals, book -> book);
+    }
+}
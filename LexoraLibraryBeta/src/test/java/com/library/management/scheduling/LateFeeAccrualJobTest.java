@@ -0,0 +1,175 @@
+package com.library.management.scheduling;
+
+import com.library.management.circulation.LateFeeRates;
+import com.library.management.circulation.MemberStanding;
+import com.library.management.config.CacheConfig;
+import com.library.management.entity.Book;
+import com.library.management.entity.LateFee;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LateFeeRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "library.fees.accrual.batch-size=10",
+        "library.fees.daily-rate=1.00",
+        "library.fees.category-daily-rates=Children=0.25, reference=2.50",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({LateFeeAccrualJob.class, LateFeeRates.class, MemberStanding.class, CacheConfig.class, JobLockService.class,
+        SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LateFeeAccrualJobTest {
+
+    private static final int OVERDUE_LOANS = 25;
+
+    @Autowired
+    private LateFeeAccrualJob lateFeeAccrualJob;
+
+    @Autowired
+    private LateFeeRepository lateFeeRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Loan> loans = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Book fiction = bookRepository.save(book("9780000000101", "Fiction"));
+        Book children = bookRepository.save(book("9780000000102", "CHILDREN"));
+        Book reference = bookRepository.save(book("9780000000103", "Reference"));
+        Member member = new Member();
+        member.setName("Late Reader");
+        member.setEmail("late@example.com");
+        memberRepository.save(member);
+
+        Book[] books = {fiction, children, reference};
+        for (int i = 0; i < OVERDUE_LOANS; i++) {
+            loans.add(loanRepository.save(loan(books[i % 3], member, 3 + i, Loan.LoanStatus.OVERDUE)));
+        }
+        loanRepository.save(loan(fiction, member, 10, Loan.LoanStatus.RETURNED));
+        loanRepository.save(loan(fiction, member, -2, Loan.LoanStatus.ACTIVE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        lateFeeRepository.deleteAll();
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        loans.clear();
+    }
+
+    @Test
+    void accrue_CreatesOneFeePerOverdueLoan_AtTheCategoryRate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double loansBefore = meterRegistry.get("library.fees.accrual.loans").counter().count();
+        statistics.clear();
+
+        LateFeeAccrualJob.Result result = lateFeeAccrualJob.accrue();
+
+        assertEquals(new LateFeeAccrualJob.Result(OVERDUE_LOANS, OVERDUE_LOANS, 0), result);
+        Map<Long, LateFee> fees = feesByLoan();
+        assertEquals(OVERDUE_LOANS, fees.size());
+        assertEquals(new BigDecimal("3.00"), fees.get(loans.get(0).getId()).getAmount());
+        assertEquals(3, fees.get(loans.get(0).getId()).getDaysOverdue());
+        assertEquals(new BigDecimal("1.00"), fees.get(loans.get(1).getId()).getAmount());
+        assertEquals(new BigDecimal("12.50"), fees.get(loans.get(2).getId()).getAmount());
+        // Three chunks of at most ten loans: loans, existing fees, sequence and one insert batch each.
+        assertTrue(statistics.getPrepareStatementCount() <= 3 * 4 + 1,
+                "Statements prepared: " + statistics.getPrepareStatementCount());
+        assertEquals(loansBefore + OVERDUE_LOANS, meterRegistry.get("library.fees.accrual.loans").counter().count());
+        assertTrue(meterRegistry.get("library.fees.accrual.throughput").gauge().value() > 0);
+    }
+
+    @Test
+    void accrue_UpdatesPendingFeesOnly() {
+        lateFeeAccrualJob.accrue();
+        Map<Long, LateFee> fees = feesByLoan();
+        LateFee paid = fees.get(loans.get(0).getId());
+        paid.setStatus(LateFee.FeeStatus.PAID);
+        paid.setAmount(BigDecimal.ONE);
+        lateFeeRepository.save(paid);
+        LateFee stale = fees.get(loans.get(2).getId());
+        stale.setAmount(BigDecimal.ONE);
+        lateFeeRepository.save(stale);
+
+        LateFeeAccrualJob.Result result = lateFeeAccrualJob.accrue();
+
+        assertEquals(new LateFeeAccrualJob.Result(OVERDUE_LOANS, 0, 1), result);
+        assertEquals(0, BigDecimal.ONE.compareTo(lateFeeRepository.findById(paid.getId()).orElseThrow().getAmount()));
+        assertNotEquals(0, BigDecimal.ONE.compareTo(lateFeeRepository.findById(stale.getId()).orElseThrow().getAmount()));
+    }
+
+    private Map<Long, LateFee> feesByLoan() {
+        return lateFeeRepository.findByLoanIdIn(loans.stream().map(Loan::getId).toList()).stream()
+                .collect(Collectors.toMap(fee -> fee.getLoan().getId(), Function.identity()));
+    }
+
+    private static Book book(String isbn, String category) {
+        Book book = new Book();
+        book.setTitle("Title " + isbn);
+        book.setAuthor("Author");
+        book.setIsbn(isbn);
+        book.setCategory(category);
+        book.setPublicationYear(2010);
+        book.setTotalCopies(50);
+        book.setAvailableCopies(50);
+        return book;
+    }
+
+    private static Loan loan(Book book, Member member, int daysOverdue, Loan.LoanStatus status) {
+        LocalDateTime due = LocalDateTime.now().minusDays(daysOverdue).minusHours(1);
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(due.minusDays(14));
+        loan.setExpectedReturnDate(due);
+        loan.setStatus(status);
+        return loan;
+    }
+}
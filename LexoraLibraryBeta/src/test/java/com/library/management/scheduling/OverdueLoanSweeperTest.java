@@ -0,0 +1,167 @@
+package com.library.management.scheduling;
+
+import com.library.management.circulation.MemberLoanCounter;
+import com.library.management.entity.Book;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.event.LoanOverdue;
+import com.library.management.event.LoansOverdue;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.repository.SchedulerLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OverdueLoanSweeperTest {
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> events;
+    private JobLockService jobLockService;
+    private Book book;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+        jobLockService = new JobLockService(schedulerLockRepository, transactionManager);
+
+        book = new Book();
+        book.setTitle("Test Book");
+        book.setAuthor("Test Author");
+        book.setIsbn("9780134685991");
+        book.setCategory("Fiction");
+        book.setPublicationYear(2020);
+        book.setTotalCopies(20);
+        book.setAvailableCopies(20);
+        book = bookRepository.save(book);
+
+        member = new Member();
+        member.setName("Test Member");
+        member.setEmail("member@example.com");
+        member = memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    void sweep_InChunks_MarksOnlyOverdueActiveLoans() {
+        List<Long> overdue = saveLoans(7, Loan.LoanStatus.ACTIVE, LocalDateTime.now().minusDays(1));
+        List<Long> notDue = saveLoans(2, Loan.LoanStatus.ACTIVE, LocalDateTime.now().plusDays(1));
+        List<Long> returned = saveLoans(1, Loan.LoanStatus.RETURNED, LocalDateTime.now().minusDays(1));
+
+        OverdueLoanSweeper sweeper = sweeper(3);
+
+        assertEquals(7, sweeper.sweep());
+        assertStatus(overdue, Loan.LoanStatus.OVERDUE);
+        assertStatus(notDue, Loan.LoanStatus.ACTIVE);
+        assertStatus(returned, Loan.LoanStatus.RETURNED);
+        assertEquals(0, sweeper.sweep());
+
+        assertEquals(7.0, meterRegistry.get("library.loans.overdue.marked").counter().count());
+        assertEquals(2, meterRegistry.get("library.loans.overdue.sweep").timer().count());
+        assertEquals(List.of(new LoansOverdue(3), new LoansOverdue(3), new LoansOverdue(1)),
+                events.stream().filter(LoansOverdue.class::isInstance).toList());
+        assertEquals(overdue.stream().map(id -> new LoanOverdue(id, member.getId())).toList(),
+                events.stream().filter(LoanOverdue.class::isInstance).toList());
+    }
+
+    @Test
+    void sweep_WithoutBatchSize_UsesSingleUpdate() {
+        List<Long> overdue = saveLoans(5, Loan.LoanStatus.ACTIVE, LocalDateTime.now().minusHours(1));
+
+        assertEquals(5, sweeper(0).sweep());
+        assertStatus(overdue, Loan.LoanStatus.OVERDUE);
+        assertEquals(List.of(new LoansOverdue(5)), events);
+    }
+
+    @Test
+    void scheduledSweep_LockHeldByAnotherNode_Skips() {
+        List<Long> overdue = saveLoans(2, Loan.LoanStatus.ACTIVE, LocalDateTime.now().minusDays(1));
+        JobLockService otherNode = new JobLockService(schedulerLockRepository, transactionManager);
+        assertTrue(otherNode.tryLock(OverdueLoanSweeper.LOCK_NAME, Duration.ofMinutes(5)));
+
+        sweeper(10).scheduledSweep();
+        assertStatus(overdue, Loan.LoanStatus.ACTIVE);
+
+        otherNode.unlock(OverdueLoanSweeper.LOCK_NAME);
+        sweeper(10).scheduledSweep();
+        assertStatus(overdue, Loan.LoanStatus.OVERDUE);
+    }
+
+    @Test
+    void tryLock_ExpiredLease_CanBeTakenOver() throws InterruptedException {
+        JobLockService otherNode = new JobLockService(schedulerLockRepository, transactionManager);
+        assertTrue(otherNode.tryLock("job", Duration.ofSeconds(1)));
+        assertFalse(jobLockService.tryLock("job", Duration.ofMinutes(5)));
+
+        Thread.sleep(1_100);
+
+        assertTrue(jobLockService.tryLock("job", Duration.ofMinutes(5)));
+        assertFalse(otherNode.tryLock("job", Duration.ofMinutes(5)));
+    }
+
+    private OverdueLoanSweeper sweeper(int batchSize) {
+        return new OverdueLoanSweeper(loanRepository, transactionManager, jobLockService,
+                new MemberLoanCounter(memberRepository, loanRepository, transactionManager, true), events::add,
+                meterRegistry, batchSize, Duration.ofMinutes(5));
+    }
+
+    private List<Long> saveLoans(int count, Loan.LoanStatus status, LocalDateTime expectedReturnDate) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Loan loan = new Loan();
+            loan.setBook(book);
+            loan.setMember(member);
+            loan.setBorrowDate(expectedReturnDate.minusDays(14));
+            loan.setExpectedReturnDate(expectedReturnDate);
+            loan.setStatus(status);
+            ids.add(loanRepository.save(loan).getId());
+        }
+        return ids;
+    }
+
+    private void assertStatus(List<Long> loanIds, Loan.LoanStatus expected) {
+        loanRepository.findAllById(loanIds).forEach(loan -> assertEquals(expected, loan.getStatus()));
+    }
+}
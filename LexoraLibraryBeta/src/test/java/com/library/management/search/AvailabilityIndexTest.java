@@ -0,0 +1,175 @@
+package com.library.management.search;
+
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityIndex(bookRepository, transactionManager, true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void queries_WhileWarming_ReturnEmpty() {
+        assertFalse(index.isReady());
+        assertTrue(index.availableBooks(PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.categoryCounts().isEmpty());
+    }
+
+    @Test
+    void warmUp_LoadsCopyCountsInKeysetBatches() throws InterruptedException {
+        when(bookRepository.findAvailabilityAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(ref(1L, "Fiction", 2), ref(2L, "Fiction", 0)));
+        when(bookRepository.findAvailabilityAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(ref(3L, "History", 1)));
+        when(bookRepository.findAvailabilityAfter(eq(3L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        index.warmUp();
+        awaitReady();
+
+        SearchHits hits = index.availableBooks(PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(2, hits.getTotalHits());
+        assertEquals(List.of(1L, 3L), hits.getBookIds());
+        assertEquals(List.of(new CategoryAvailabilityResponse("Fiction", 2, 1),
+                new CategoryAvailabilityResponse("History", 1, 1)), index.categoryCounts().orElseThrow());
+    }
+
+    @Test
+    void reindex_StoresTheCountReadInTheTransaction_AndFlipsAvailabilityOnlyAtZero() throws InterruptedException {
+        when(bookRepository.findAvailabilityAfter(any(), any(Pageable.class))).thenReturn(List.of());
+        when(bookRepository.findAvailabilityById(5L)).thenReturn(
+                Optional.of(ref(5L, "Fiction", 1)), Optional.of(ref(5L, "Fiction", 0)), Optional.of(ref(5L, "Fiction", 1)));
+        index.warmUp();
+        awaitReady();
+
+        index.index(book(5L, "Fiction", 2));
+        index.reindex(5L);
+        assertTrue(index.isAvailable(5L));
+
+        index.reindex(5L);
+        assertFalse(index.isAvailable(5L));
+        assertEquals(List.of(new CategoryAvailabilityResponse("Fiction", 1, 0)), index.categoryCounts().orElseThrow());
+
+        index.reindex(5L);
+        assertTrue(index.isAvailable(5L));
+        assertEquals(1, index.availableBooks(PageRequest.of(0, 10)).orElseThrow().getTotalHits());
+    }
+
+    @Test
+    void rebuild_ChangesCommittedWhileLoading_AreNotAppliedTwice() throws InterruptedException {
+        // A return commits before the first batch is read, so the batch already sees its copy;
+        // a borrow commits while the second batch is read. Both are replayed onto the new bitmaps.
+        when(bookRepository.findAvailabilityById(1L))
+                .thenReturn(Optional.of(ref(1L, "Fiction", 1)), Optional.of(ref(1L, "Fiction", 0)));
+        when(bookRepository.findAvailabilityAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.reindex(1L);
+            return List.of(ref(1L, "Fiction", 1), ref(2L, "Fiction", 0));
+        });
+        when(bookRepository.findAvailabilityAfter(eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.reindex(1L);
+            return List.of();
+        });
+
+        index.rebuild();
+        awaitReady();
+
+        assertFalse(index.isAvailable(1L));
+        assertEquals(List.of(new CategoryAvailabilityResponse("Fiction", 2, 0)), index.categoryCounts().orElseThrow());
+    }
+
+    @Test
+    void index_MovingCategory_AndRemove_KeepCountsInSync() throws InterruptedException {
+        when(bookRepository.findAvailabilityAfter(any(), any(Pageable.class))).thenReturn(List.of());
+        index.warmUp();
+        awaitReady();
+
+        index.index(book(1L, "Fiction", 1));
+        index.index(book(2L, "Fiction", 3));
+        index.index(book(2L, "Poetry", 3));
+        assertEquals(List.of(new CategoryAvailabilityResponse("Fiction", 1, 1),
+                new CategoryAvailabilityResponse("Poetry", 1, 1)), index.categoryCounts().orElseThrow());
+
+        index.remove(1L);
+        assertFalse(index.isAvailable(1L));
+        assertEquals(List.of(new CategoryAvailabilityResponse("Poetry", 1, 1)), index.categoryCounts().orElseThrow());
+    }
+
+    @Test
+    void bitmaps_PageAvailableBooksInIdOrder() {
+        AvailabilityIndex.Bitmaps bitmaps = new AvailabilityIndex.Bitmaps();
+        for (long id = 1; id <= 30; id++) {
+            bitmaps.put(id, "Series", id % 3 == 0 ? 0 : 1);
+        }
+
+        SearchHits second = bitmaps.availableBooks(5, 5);
+
+        assertEquals(20, second.getTotalHits());
+        assertEquals(List.of(8L, 10L, 11L, 13L, 14L), second.getBookIds());
+        assertTrue(bitmaps.availableBooks(20, 5).getBookIds().isEmpty());
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 200 && !index.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(index.isReady());
+    }
+
+    private Book book(Long id, String category, int availableCopies) {
+        Book book = new Book();
+        book.setId(id);
+        book.setCategory(category);
+        book.setAvailableCopies(availableCopies);
+        return book;
+    }
+
+    private BookRepository.AvailabilityRef ref(Long id, String category, int availableCopies) {
+        return new BookRepository.AvailabilityRef() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getCategory() {
+                return category;
+            }
+
+            public Integer getAvailableCopies() {
+                return availableCopies;
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.library.management.search;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(bookRepository, transactionManager, true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void search_WhileWarming_ReturnsEmpty() {
+        assertFalse(index.isReady());
+        assertTrue(index.search(BookSearchQuery.freeText("java"), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void warmUp_LoadsCatalogInKeysetBatches() throws InterruptedException {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(book(1L, "Effective Java", "Joshua Bloch", "Programming", "9780134685991"),
+                        book(2L, "Java Concurrency in Practice", "Brian Goetz", "Programming", "9780321349606")));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(book(3L, "Dune", "Frank Herbert", "Fiction", "9780441172719")));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        index.warmUp();
+        awaitReady();
+
+        SearchHits hits = index.search(BookSearchQuery.freeText("java"), PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(2, hits.getTotalHits());
+        assertEquals(List.of(1L, 2L), hits.getBookIds());
+    }
+
+    @Test
+    void index_AfterWarmUp_KeepsIndexInSync() throws InterruptedException {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(any(), any(Pageable.class))).thenReturn(List.of());
+        index.warmUp();
+        awaitReady();
+
+        index.index(book(7L, "The Hobbit", "J.R.R. Tolkien", "Fantasy", "9780547928227"));
+        assertEquals(List.of(7L), search("hobb"));
+
+        index.index(book(7L, "The Silmarillion", "J.R.R. Tolkien", "Fantasy", "9780547928227"));
+        assertEquals(List.of(), search("hobbit"));
+        assertEquals(List.of(7L), search("silmarillion"));
+
+        index.remove(7L);
+        assertEquals(List.of(), search("tolkien"));
+    }
+
+    @Test
+    void segment_RanksTitleMatchesAboveCategoryMatches() {
+        IndexSegment segment = new IndexSegment();
+        segment.add(1L, "Cooking at Home", "Ann Baker", "History", "1111111111");
+        segment.add(2L, "A History of Rome", "Mary Beard", "Classics", "2222222222");
+
+        SearchHits hits = segment.search(BookSearchQuery.freeText("history"), 0, 10).orElseThrow();
+
+        assertEquals(List.of(2L, 1L), hits.getBookIds());
+    }
+
+    @Test
+    void segment_RequiresEveryTokenAndMatchesPrefixes() {
+        IndexSegment segment = new IndexSegment();
+        segment.add(1L, "Domain-Driven Design", "Eric Evans", "Software", "9780321125217");
+        segment.add(2L, "Design Patterns", "Erich Gamma", "Software", "9780201633610");
+
+        assertEquals(List.of(1L), segment.search(BookSearchQuery.freeText("dom desi"), 0, 10).orElseThrow().getBookIds());
+        assertEquals(2, segment.search(BookSearchQuery.freeText("eri"), 0, 10).orElseThrow().getTotalHits());
+        assertEquals(List.of(2L), segment.search(BookSearchQuery.fields(null, "gamma", null), 0, 10).orElseThrow().getBookIds());
+        assertEquals(0, segment.search(BookSearchQuery.fields("gamma", null, null), 0, 10).orElseThrow().getTotalHits());
+    }
+
+    @Test
+    void segment_MatchesHyphenatedIsbnPrefix() {
+        IndexSegment segment = new IndexSegment();
+        segment.add(1L, "Dune", "Frank Herbert", "Fiction", "978-0-441-17271-9");
+
+        assertEquals(List.of(1L), segment.search(BookSearchQuery.freeText("978-0-441"), 0, 10).orElseThrow().getBookIds());
+        assertEquals(List.of(1L), segment.search(BookSearchQuery.freeText("9780441172719"), 0, 10).orElseThrow().getBookIds());
+    }
+
+    @Test
+    void segment_PaginatesStablyAcrossEqualScores() {
+        IndexSegment segment = new IndexSegment();
+        for (long id = 50; id >= 1; id--) {
+            segment.add(id, "Volume " + id, "Same Author", "Series", String.valueOf(1000000000L + id));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            SearchHits hits = segment.search(BookSearchQuery.fields(null, "same", null), page * 10L, 10).orElseThrow();
+            assertEquals(50, hits.getTotalHits());
+            seen.addAll(hits.getBookIds());
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            expected.add(id);
+        }
+        assertEquals(expected, seen);
+        assertTrue(segment.search(BookSearchQuery.fields(null, "same", null), 50, 10).orElseThrow().getBookIds().isEmpty());
+    }
+
+    @Test
+    void segment_PrefixMatchingTooManyTerms_LeavesTheSearchToTheDatabase() {
+        IndexSegment segment = new IndexSegment();
+        for (long id = 1; id <= 300; id++) {
+            segment.add(id, "Topic" + id, "Same Author", "Series", String.valueOf(1000000000L + id));
+        }
+
+        assertTrue(segment.search(BookSearchQuery.freeText("topic"), 0, 10).isEmpty());
+        assertEquals(11, segment.search(BookSearchQuery.freeText("topic12"), 0, 10).orElseThrow().getTotalHits());
+    }
+
+    @Test
+    void segment_FilterDropsRejectedBooksBeforeRanking() {
+        IndexSegment segment = new IndexSegment();
+        for (long id = 1; id <= 6; id++) {
+            segment.add(id, "Volume " + id, "Same Author", "Series", String.valueOf(1000000000L + id));
+        }
+
+        SearchHits hits = segment.search(BookSearchQuery.fields(null, "same", null), id -> id % 2 == 0, 1, 10).orElseThrow();
+
+        assertEquals(3, hits.getTotalHits());
+        assertEquals(List.of(4L, 6L), hits.getBookIds());
+    }
+
+    private List<Long> search(String text) {
+        return index.search(BookSearchQuery.freeText(text), PageRequest.of(0, 10)).orElseThrow().getBookIds();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 200 && !index.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(index.isReady());
+    }
+
+    private Book book(Long id, String title, String author, String category, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setCategory(category);
+        book.setIsbn(isbn);
+        return book;
+    }
+}
@@ -0,0 +1,124 @@
+package com.library.management.security;
+
+import com.library.management.entity.User;
+import com.library.management.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private UserService userService;
+    private ValidatedTokenCache tokenCache;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+
+        user = new User();
+        user.setUsername("librarian");
+        user.addRole("LIBRARIAN");
+        userService = mock(UserService.class);
+        when(userService.loadUserByUsername("librarian")).thenReturn(user);
+
+        tokenCache = new ValidatedTokenCache(true, 100, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtService, userService, tokenCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedToken_ParsedAndLoadedOnce() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(authenticate(token)).isEqualTo("librarian");
+        }
+
+        verify(jwtService, times(1)).parseToken(token);
+        verify(userService, times(1)).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void invalidateUser_NextRequestValidatesAgain() throws Exception {
+        String token = jwtService.generateToken(user);
+        authenticate(token);
+
+        tokenCache.invalidateUser("librarian");
+        authenticate(token);
+
+        verify(userService, times(2)).loadUserByUsername("librarian");
+    }
+
+    @Test
+    void loadRacingAnInvalidation_IsNotCached() throws Exception {
+        String token = jwtService.generateToken(user);
+        when(userService.loadUserByUsername("librarian")).thenAnswer(invocation -> {
+            // The account changes while the principal is being loaded.
+            tokenCache.invalidateUser("librarian");
+            return user;
+        }).thenReturn(user);
+
+        authenticate(token);
+        authenticate(token);
+        authenticate(token);
+
+        verify(userService, times(2)).loadUserByUsername("librarian");
+    }
+
+    @Test
+    void cache_NeverServesTokenPastItsExpiry() {
+        Instant now = Instant.parse("2024-01-01T10:00:00Z");
+        ValidatedTokenCache early = new ValidatedTokenCache(true, 100, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+        early.put("token", user, now.plusSeconds(30), early.generation("librarian"));
+        assertThat(early.get("token")).contains(user);
+
+        ValidatedTokenCache later = new ValidatedTokenCache(true, 100, Duration.ofHours(1),
+                Clock.fixed(now.plusSeconds(31), ZoneOffset.UTC));
+        later.put("token", user, now.plusSeconds(30), later.generation("librarian"));
+        assertThat(later.get("token")).isEmpty();
+    }
+
+    @Test
+    void disabledCache_ValidatesEveryRequest() throws Exception {
+        filter = new JwtAuthenticationFilter(jwtService, userService, new ValidatedTokenCache(false, 100, Duration.ofMinutes(5)));
+        String token = jwtService.generateToken(user);
+
+        authenticate(token);
+        authenticate(token);
+
+        verify(userService, times(2)).loadUserByUsername("librarian");
+    }
+
+    private String authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+}
@@ -1,6 +1,8 @@
 package com.library.management.service;
 
+import com.library.management.audit.AuditLogWriter;
 import com.library.management.entity.AuditLog;
+import com.library.management.export.EntityExporter;
 import com.library.management.repository.AuditLogRepository;
 import com.library.management.service.impl.AuditServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +36,12 @@ class AuditServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private EntityExporter entityExporter;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -47,7 +55,7 @@ class AuditServiceTest {
 
     @BeforeEach
     void setUp() {
-        auditService = new AuditServiceImpl(auditLogRepository);
+        auditService = new AuditServiceImpl(auditLogRepository, auditLogWriter, entityExporter);
         testAuditLog = AuditLog.builder()
             .entityType("Book")
             .entityId(1L)
@@ -74,7 +82,7 @@ class AuditServiceTest {
         auditService.logAction(action, entityType, entityId, details);
 
         ArgumentCaptor<AuditLog> auditLogCaptor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(auditLogWriter).submit(auditLogCaptor.capture());
 
         AuditLog savedAuditLog = auditLogCaptor.getValue();
         assertEquals(action, savedAuditLog.getAction());
@@ -90,7 +98,7 @@ class AuditServiceTest {
 
         auditService.logAction("CREATE", "BOOK", 1L, "Created new book");
 
-        verify(auditLogRepository).save(any(AuditLog.class));
+        verify(auditLogWriter).submit(any(AuditLog.class));
     }
 
     @Test
@@ -99,7 +107,7 @@ class AuditServiceTest {
 
         auditService.logAction("CREATE", "BOOK", 1L, "Created new book");
 
-        verify(auditLogRepository).save(any(AuditLog.class));
+        verify(auditLogWriter).submit(any(AuditLog.class));
     }
 
     @Test
@@ -108,7 +116,7 @@ class AuditServiceTest {
 
         auditService.logAction("CREATE", "BOOK", 1L, "Created new book");
 
-        verify(auditLogRepository).save(any(AuditLog.class));
+        verify(auditLogWriter).submit(any(AuditLog.class));
     }
 
     @Test
@@ -0,0 +1,185 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.response.BulkImportResponse;
+import com.library.management.entity.Book;
+import com.library.management.export.ExportFormat;
+import com.library.management.repository.BookRepository;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.service.impl.BookImportServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "library.books.import.chunk-size=20",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(BookImportServiceImpl.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuditService auditService;
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void importBooks_InsertsEachChunkAsOneBatch_WithOneAuditEntryPerChunk() {
+        List<BookDTO> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(book("978100000" + String.format("%04d", i)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResponse response = bookImportService.importBooks(books);
+
+        assertEquals(50, response.getReceived());
+        assertEquals(50, response.getCreated());
+        assertEquals(0, response.getRejected());
+        assertEquals(50, bookRepository.count());
+        assertEquals(50, statistics.getEntityInsertCount());
+        // Per chunk of 20: the ISBN lookup, at most one sequence call and one batched insert.
+        assertTrue(statistics.getPrepareStatementCount() <= 9,
+                "Statements prepared: " + statistics.getPrepareStatementCount());
+        verify(auditService, times(3)).logAction(eq("BULK_CREATE"), eq("BOOK"), anyLong(), anyString());
+        verify(bookSearchIndex, times(50)).index(any(Book.class));
+    }
+
+    @Test
+    void importBooks_ReportsBadRowsAndImportsTheRest() {
+        bookRepository.save(entity(book("9781000000001")));
+        BookDTO noTitle = book("9781000000003");
+        noTitle.setTitle(" ");
+        List<BookDTO> books = new ArrayList<>(List.of(
+                book("9781000000001"),
+                book("9781000000002"),
+                noTitle,
+                book("not-an-isbn"),
+                book("9781000000002"),
+                book("9781000000004")));
+        books.add(null);
+
+        BulkImportResponse response = bookImportService.importBooks(books);
+
+        assertEquals(7, response.getReceived());
+        assertEquals(2, response.getCreated());
+        assertEquals(5, response.getRejected());
+        assertEquals(List.of(1, 3, 4, 5, 7),
+                response.getErrors().stream().map(BulkImportResponse.RowError::getRow).toList());
+        assertEquals("Book with ISBN 9781000000001 already exists", response.getErrors().get(0).getMessage());
+        assertEquals("Title is required", response.getErrors().get(1).getMessage());
+        assertEquals("Invalid ISBN format", response.getErrors().get(2).getMessage());
+        assertEquals("Duplicate ISBN in this import", response.getErrors().get(3).getMessage());
+        assertEquals("Empty row", response.getErrors().get(4).getMessage());
+        assertTrue(bookRepository.findByIsbn("9781000000004").isPresent());
+        assertEquals(3, bookRepository.count());
+    }
+
+    @Test
+    void importCsv_ReadsHeaderAndQuotedFields_AndSkipsUnreadableRows() throws IOException {
+        String csv = """
+                isbn,title,author,category,publicationYear,totalCopies
+                9781000000011,"Letters, Collected",Author One,Poetry,1999,3
+                9781000000012,Second,Author Two,History,nineteen,1
+                9781000000013,Third,Author Three,History,2001,2
+                """;
+
+        BulkImportResponse response = bookImportService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ExportFormat.CSV);
+
+        assertEquals(3, response.getReceived());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getErrors().get(0).getRow());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Unreadable row"));
+        Book letters = bookRepository.findByIsbn("9781000000011").orElseThrow();
+        assertEquals("Letters, Collected", letters.getTitle());
+        assertEquals(3, letters.getAvailableCopies());
+    }
+
+    @Test
+    void importNdjson_OneBookPerLine() throws IOException {
+        String ndjson = """
+                {"isbn":"9781000000021","title":"First","author":"A","category":"Art","publicationYear":2010,"totalCopies":1}
+                {"isbn":"9781000000022","title":"Second","author":"B","category":"Art","publicationYear":1700,"totalCopies":1}
+                """;
+
+        BulkImportResponse response = bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ExportFormat.NDJSON);
+
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getCreated());
+        assertEquals("Publication year must be after 1800", response.getErrors().get(0).getMessage());
+    }
+
+    private static BookDTO book(String isbn) {
+        return BookDTO.builder()
+                .title("Title " + isbn)
+                .author("Author")
+                .isbn(isbn)
+                .category("Fiction")
+                .publicationYear(2001)
+                .totalCopies(2)
+                .build();
+    }
+
+    private static Book entity(BookDTO dto) {
+        Book book = new Book();
+        book.setTitle(dto.getTitle());
+        book.setAuthor(dto.getAuthor());
+        book.setIsbn(dto.getIsbn());
+        book.setCategory(dto.getCategory());
+        book.setPublicationYear(dto.getPublicationYear());
+        book.setTotalCopies(dto.getTotalCopies());
+        book.setAvailableCopies(dto.getTotalCopies());
+        return book;
+    }
+}
@@ -3,6 +3,7 @@ package com.library.management.service;
 import com.library.management.dto.BookDTO;
 import com.library.management.entity.Book;
 import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
 import com.library.management.service.impl.BookSearchServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,9 @@ class BookSearchServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
     @InjectMocks
     private BookSearchServiceImpl bookSearchService;
 
@@ -1,26 +1,48 @@
 package com.library.management.service;
 
+import com.library.management.cache.CatalogCache;
+import com.library.management.circulation.BookCopyCounter;
 import com.library.management.dto.BookDTO;
+import com.library.management.dto.request.BookSearchRequest;
+import com.library.management.dto.response.CategoryAvailabilityResponse;
+import com.library.management.dto.response.PaginatedResponse;
 import com.library.management.entity.Book;
+import com.library.management.event.BookCreated;
+import com.library.management.event.BookDeleted;
+import com.library.management.event.BookUpdated;
+import com.library.management.export.EntityExporter;
 import com.library.management.entity.Loan;
+import com.library.management.pagination.FilteredCounts;
+import com.library.management.pagination.OffsetPagination;
+import com.library.management.pagination.PageTotals;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.LoanRepository;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSearchQuery;
+import com.library.management.search.SearchHits;
 import com.library.management.service.impl.BookServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongPredicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,7 +58,19 @@ class BookServiceTest {
     private LoanRepository loanRepository;
 
     @Mock
-    private AuditService auditService;
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookCopyCounter bookCopyCounter;
+
+    @Mock
+    private EntityExporter entityExporter;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private BookService bookService;
     private Book testBook;
@@ -44,7 +78,10 @@ class BookServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookService = new BookServiceImpl(bookRepository, loanRepository, auditService);
+        bookService = new BookServiceImpl(bookRepository, loanRepository, bookSearchIndex, bookCopyCounter, entityExporter,
+                new CatalogCache(new NoOpCacheManager()), availabilityIndex,
+                new OffsetPagination(new FilteredCounts(Duration.ofMinutes(5), 100, new SimpleMeterRegistry())),
+                eventPublisher);
 
         testBook = new Book();
         testBook.setId(1L);
@@ -74,7 +111,8 @@ class BookServiceTest {
         assertNotNull(result);
         assertEquals(testBookDTO.getTitle(), result.getTitle());
         assertEquals(testBookDTO.getAuthor(), result.getAuthor());
-        verify(auditService).logAction("CREATE", "BOOK", 1L, "Created new book: Test Book");
+        verify(bookSearchIndex).index(testBook);
+        verify(eventPublisher).publishEvent(any(BookCreated.class));
     }
 
     @Test
@@ -119,7 +157,7 @@ class BookServiceTest {
         assertNotNull(result);
         assertEquals(testBookDTO.getTitle(), result.getTitle());
         assertEquals(testBookDTO.getAuthor(), result.getAuthor());
-        verify(auditService).logAction("UPDATE", "BOOK", 1L, "Updated book: Test Book");
+        verify(eventPublisher).publishEvent(any(BookUpdated.class));
     }
 
     @Test
@@ -130,7 +168,8 @@ class BookServiceTest {
         bookService.deleteBook(1L);
 
         verify(bookRepository).delete(testBook);
-        verify(auditService).logAction("DELETE", "BOOK", 1L, "Deleted book: Test Book");
+        verify(bookSearchIndex).remove(1L);
+        verify(eventPublisher).publishEvent(any(BookDeleted.class));
     }
 
     @Test
@@ -160,4 +199,63 @@ class BookServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals(testBook.getTitle(), result.getContent().get(0).getTitle());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getBookListWithFilters_TextFiltersUseSearchIndex() {
+        BookSearchRequest searchRequest = new BookSearchRequest();
+        searchRequest.setTitle("test");
+        when(bookSearchIndex.search(any(BookSearchQuery.class), any(Pageable.class)))
+                .thenReturn(Optional.of(new SearchHits(List.of(1L), 1)));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(testBook));
+
+        PaginatedResponse<BookDTO> result = bookService.getBookListWithFilters(1, 10, searchRequest, PageTotals.EXACT);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(testBook.getTitle(), result.getContent().get(0).getTitle());
+        verify(bookRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getBookListWithFilters_IndexWarming_FallsBackToJpa() {
+        BookSearchRequest searchRequest = new BookSearchRequest();
+        searchRequest.setTitle("test");
+        when(bookSearchIndex.search(any(BookSearchQuery.class), any(Pageable.class))).thenReturn(Optional.empty());
+        when(bookRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new PageImpl<>(List.of(testBook)));
+
+        PaginatedResponse<BookDTO> result = bookService.getBookListWithFilters(1, 10, searchRequest, PageTotals.EXACT);
+
+        assertEquals(1, result.getTotalElements());
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getBookListWithFilters_AvailableTextSearch_FiltersHitsByAvailabilityIndex() {
+        BookSearchRequest searchRequest = new BookSearchRequest();
+        searchRequest.setTitle("test");
+        searchRequest.setAvailable(true);
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.search(any(BookSearchQuery.class), any(LongPredicate.class), any(Pageable.class)))
+                .thenReturn(Optional.of(new SearchHits(List.of(1L), 1)));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(testBook));
+
+        PaginatedResponse<BookDTO> result = bookService.getBookListWithFilters(1, 10, searchRequest, PageTotals.EXACT);
+
+        assertEquals(1, result.getTotalElements());
+        verify(bookRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getCategoryAvailability_IndexWarming_FallsBackToAggregateQuery() {
+        BookRepository.CategoryCount fiction = mock(BookRepository.CategoryCount.class);
+        when(fiction.getCategory()).thenReturn("Fiction");
+        when(fiction.getBooks()).thenReturn(4L);
+        when(fiction.getAvailableBooks()).thenReturn(3L);
+        when(availabilityIndex.categoryCounts()).thenReturn(Optional.empty());
+        when(bookRepository.countByCategory()).thenReturn(List.of(fiction));
+
+        List<CategoryAvailabilityResponse> result = bookService.getCategoryAvailability();
+
+        assertEquals(List.of(new CategoryAvailabilityResponse("Fiction", 4, 3)), result);
+    }
+}
@@ -0,0 +1,208 @@
+package com.library.management.service;
+
+import com.library.management.cache.CatalogCache;
+import com.library.management.circulation.BookCopyCounter;
+import com.library.management.circulation.LateFeeRates;
+import com.library.management.circulation.MemberLoanCounter;
+import com.library.management.circulation.MemberStanding;
+import com.library.management.config.SliceTestConfig;
+import com.library.management.dto.request.CursorPageRequest;
+import com.library.management.dto.request.LoanSearchRequest;
+import com.library.management.entity.Book;
+import com.library.management.entity.LateFee;
+import com.library.management.entity.Loan;
+import com.library.management.entity.Member;
+import com.library.management.export.EntityExporter;
+import com.library.management.pagination.PageTotals;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LateFeeRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
+import com.library.management.service.impl.LateFeeServiceImpl;
+import com.library.management.service.impl.LoanServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paged loan and late fee reads must cost the same number of statements whatever the page
+ * size, i.e. book and member are fetched with the page rather than lazily per row.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({LoanServiceImpl.class, LateFeeServiceImpl.class, LateFeeRates.class, BookCopyCounter.class,
+        MemberLoanCounter.class, EntityExporter.class, SliceTestConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoanReadStatementCountTest {
+
+    private static final int LOANS = 40;
+
+    @MockBean
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @MockBean
+    private MemberStanding memberStanding;
+
+    @MockBean
+    private CatalogCache catalogCache;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private LoanServiceImpl loanService;
+
+    @Autowired
+    private LateFeeServiceImpl lateFeeService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LateFeeRepository lateFeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Member> members = new ArrayList<>();
+    private final List<Loan> loans = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        members.add(member(0));
+        members.add(member(1));
+        for (int i = 0; i < LOANS; i++) {
+            // Every loan has its own book, so lazy loading would cost a select per row.
+            Member member = members.get(i < 4 ? 0 : 1);
+            Loan loan = new Loan();
+            loan.setBook(book(i));
+            loan.setMember(member);
+            loan.setBorrowDate(LocalDateTime.now().minusDays(30));
+            loan.setExpectedReturnDate(LocalDateTime.now().minusDays(16));
+            loan.setStatus(Loan.LoanStatus.OVERDUE);
+            loans.add(loanRepository.save(loan));
+
+            LateFee fee = new LateFee();
+            fee.setLoan(loan);
+            fee.setAmount(new BigDecimal("16.00"));
+            fee.setDaysOverdue(16);
+            fee.setStatus(LateFee.FeeStatus.PENDING);
+            lateFeeRepository.save(fee);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        lateFeeRepository.deleteAll();
+        loanRepository.deleteAll();
+        memberRepository.deleteAll();
+        bookRepository.deleteAll();
+        members.clear();
+        loans.clear();
+    }
+
+    @Test
+    void offsetPages_StatementCountIndependentOfPageSize() {
+        long small = statements(() -> loanService.getAllLoans(1, 5, PageTotals.NONE));
+        long large = statements(() -> loanService.getAllLoans(1, 30, PageTotals.NONE));
+        assertEquals(small, large);
+        assertEquals(1, large, "one select for the slice and no count");
+
+        LoanSearchRequest filter = new LoanSearchRequest();
+        filter.setStatus(Loan.LoanStatus.OVERDUE);
+        assertEquals(1, statements(() -> loanService.getLoanListWithFilters(1, 30, filter, PageTotals.NONE)));
+        assertEquals(2, statements(() -> loanService.getLoanListWithFilters(1, 30, filter, PageTotals.EXACT)),
+                "one select for the page and one count");
+        assertEquals(2, statements(() -> loanService.getLoansByMember(members.get(1).getId(), 1, 30, PageTotals.EXACT)));
+    }
+
+    @Test
+    void estimatedTotals_CountOncePerFilter() {
+        LoanSearchRequest filter = new LoanSearchRequest();
+        filter.setMemberId(members.get(1).getId());
+
+        assertEquals(2, statements(() -> loanService.getLoanListWithFilters(1, 5, filter, PageTotals.ESTIMATE)));
+        assertEquals(1, statements(() -> loanService.getLoanListWithFilters(2, 5, filter, PageTotals.ESTIMATE)));
+        assertEquals(36, loanService.getLoanListWithFilters(3, 5, filter, PageTotals.ESTIMATE).getTotalElements());
+    }
+
+    @Test
+    void cursorPages_StatementCountIndependentOfPageSize() {
+        assertEquals(1, statements(() -> loanService.getLoanListByCursor(CursorPageRequest.of(null, 5, null, false), null)));
+        assertEquals(1, statements(() -> loanService.getLoanListByCursor(CursorPageRequest.of(null, 30, null, false), null)));
+    }
+
+    @Test
+    void lateFeeReads_StatementCountIndependentOfRowCount() {
+        long few = statements(() -> lateFeeService.getUnpaidFeesByMember(members.get(0).getId()));
+        long many = statements(() -> lateFeeService.getUnpaidFeesByMember(members.get(1).getId()));
+        assertEquals(few, many);
+        assertEquals(1, many);
+
+        assertEquals(1, statements(() -> lateFeeService.getLateFeesByLoan(loans.get(0).getId(), PageRequest.of(0, 10))));
+    }
+
+    private long statements(Supplier<?> read) {
+        statistics.clear();
+        Object result = read.get();
+        assertNotNull(result);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Member member(int i) {
+        Member member = new Member();
+        member.setName("Member " + i);
+        member.setEmail("reader" + i + "@example.com");
+        return memberRepository.save(member);
+    }
+
+    private Book book(int i) {
+        Book book = new Book();
+        book.setTitle("Title " + i);
+        book.setAuthor("Author " + i);
+        book.setIsbn(String.valueOf(9781000000000L + i));
+        book.setCategory("Fiction");
+        book.setPublicationYear(2001);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        return bookRepository.save(book);
+    }
+}
@@ -1,12 +1,20 @@
 package com.library.management.service;
 
+import com.library.management.cache.CatalogCache;
+import com.library.management.circulation.BookCopyCounter;
+import com.library.management.circulation.MemberLoanCounter;
+import com.library.management.circulation.MemberStanding;
 import com.library.management.dto.LoanDTO;
 import com.library.management.entity.Book;
 import com.library.management.entity.Loan;
 import com.library.management.entity.Member;
+import com.library.management.event.LoanOpened;
+import com.library.management.event.LoanReturned;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.LoanRepository;
 import com.library.management.repository.MemberRepository;
+import com.library.management.scheduling.OverdueLoanSweeper;
+import com.library.management.search.AvailabilityIndex;
 import com.library.management.service.impl.LoanServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +22,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -42,6 +54,27 @@ class LoanServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private MemberLoanCounter memberLoanCounter;
+
+    @Mock
+    private MemberStanding memberStanding;
+
+    @Mock
+    private OverdueLoanSweeper overdueLoanSweeper;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BookCopyCounter bookCopyCounter = new BookCopyCounter(Duration.ofSeconds(30), true);
+
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(new NoOpCacheManager());
+
     @InjectMocks
     private LoanServiceImpl loanService;
 
@@ -85,15 +118,74 @@ class LoanServiceTest {
     void borrowBook_ValidRequest_Success() {
         when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
         when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
-        when(loanRepository.findByMemberIdAndStatus(1L, Loan.LoanStatus.ACTIVE)).thenReturn(Arrays.asList());
+        when(memberLoanCounter.tryAcquire(1L, 5)).thenReturn(true);
+        when(bookRepository.reserveCopy(1L)).thenReturn(1);
         when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
 
         LoanDTO result = loanService.borrowBook(testLoanDTO);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(bookRepository).save(testBook);
+        verify(bookRepository).reserveCopy(1L);
+        verify(bookRepository, never()).save(any(Book.class));
         verify(loanRepository).save(any(Loan.class));
+        verify(eventPublisher).publishEvent(any(LoanOpened.class));
+    }
+
+    @Test
+    void borrowBook_ReservationLost_ThrowsException() {
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(memberLoanCounter.tryAcquire(1L, 5)).thenReturn(true);
+        when(bookRepository.reserveCopy(1L)).thenReturn(0);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> loanService.borrowBook(testLoanDTO));
+        assertEquals("No available copies of the book", exception.getMessage());
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    @Test
+    void borrowBook_MemberAtLimit_ThrowsException() {
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(memberLoanCounter.tryAcquire(1L, 5)).thenReturn(false);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> loanService.borrowBook(testLoanDTO));
+        assertEquals("Member has reached maximum number of active loans", exception.getMessage());
+        verify(bookRepository, never()).reserveCopy(any());
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    @Test
+    void borrowBook_MemberOverFeeLimit_ThrowsException() {
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(memberStanding.blocksBorrowing(1L)).thenReturn(true);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> loanService.borrowBook(testLoanDTO));
+        assertEquals("Member has unpaid late fees over the borrowing limit", exception.getMessage());
+        verify(bookRepository, never()).findById(any());
+        verify(memberLoanCounter, never()).tryAcquire(any(), anyInt());
+    }
+
+    @Test
+    void getActiveLoansCount_UsesCountQuery() {
+        when(memberRepository.countActiveLoans(1L)).thenReturn(3);
+
+        assertEquals(3, loanService.getActiveLoansCount(1L));
+        verify(loanRepository, never()).findByMemberIdAndStatus(any(), any());
+    }
+
+    @Test
+    void borrowBook_CounterExhausted_RejectsWithoutDatabase() {
+        bookCopyCounter.markExhausted(1L, bookCopyCounter.mark());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> loanService.borrowBook(testLoanDTO));
+        assertEquals("No available copies of the book", exception.getMessage());
+        verifyNoInteractions(memberRepository, bookRepository, loanRepository);
     }
 
     @Test
@@ -145,10 +237,12 @@ class LoanServiceTest {
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        assertEquals(2, testBook.getAvailableCopies());
         assertEquals(Loan.LoanStatus.RETURNED, testLoan.getStatus());
-        verify(bookRepository).save(testBook);
+        verify(bookRepository).releaseCopy(1L);
+        verify(memberLoanCounter).release(1L);
+        verify(bookRepository, never()).save(any(Book.class));
         verify(loanRepository).save(testLoan);
+        verify(eventPublisher).publishEvent(new LoanReturned(result, Loan.LoanStatus.ACTIVE));
     }
 
     @Test
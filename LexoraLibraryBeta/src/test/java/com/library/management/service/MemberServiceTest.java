@@ -1,7 +1,9 @@
 package com.library.management.service;
 
+import com.library.management.cache.CatalogCache;
 import com.library.management.dto.MemberDTO;
 import com.library.management.entity.Member;
+import com.library.management.event.MemberCreated;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.MemberRepository;
 import com.library.management.service.impl.MemberServiceImpl;
@@ -10,8 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +37,12 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CatalogCache catalogCache = new CatalogCache(new NoOpCacheManager());
+
     @InjectMocks
     private MemberServiceImpl memberService;
 
@@ -69,6 +80,7 @@ class MemberServiceTest {
         assertEquals(testMemberDTO.getEmail(), result.getEmail());
         assertTrue(result.getMembershipId().startsWith("MEM-"));
         verify(memberRepository).save(any(Member.class));
+        verify(eventPublisher).publishEvent(any(MemberCreated.class));
     }
 
     @Test
@@ -0,0 +1,159 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.service.impl.PostgresBookSearchService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrations, including {@code db/postgresql}, against a real PostgreSQL
+ * (embedded binaries, no server needed) and checks that searches return the right books and
+ * are planned onto the trigram and full-text indexes.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.flyway.enabled=true",
+        "logging.level.com.library.management=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresBookSearchService.class)
+@ActiveProfiles({"test", "postgres"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostgresBookSearchServiceTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Autowired
+    private PostgresBookSearchService bookSearchService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        book("The Hobbit", "J.R.R. Tolkien", "Fantasy", "9780261102217");
+        book("The Fellowship of the Ring", "J.R.R. Tolkien", "Fantasy", "9780261103573");
+        book("A Brief History of Time", "Stephen Hawking", "Science", "9780553380163");
+        book("Time and the Ring of Fire", "Ada Smith", "History", "9780000000019");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void searchBooks_RanksTitleMatchesAboveOtherFields() {
+        Page<BookDTO> result = bookSearchService.searchBooks("ring", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of("The Fellowship of the Ring", "Time and the Ring of Fire"), titles(result));
+    }
+
+    @Test
+    void searchBooks_MatchesWordsInAnyOrder_AndSubstrings() {
+        assertEquals(List.of("A Brief History of Time"),
+                titles(bookSearchService.searchBooks("hawking time", PageRequest.of(0, 10))));
+        assertEquals(List.of("The Hobbit"),
+                titles(bookSearchService.searchBooks("obbi", PageRequest.of(0, 10))));
+        assertEquals(List.of("A Brief History of Time"),
+                titles(bookSearchService.searchBooks("0553380", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void searchBooks_WithExplicitSort_UsesThatOrder() {
+        Page<BookDTO> result = bookSearchService.searchBooks("tolkien", PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(List.of("The Fellowship of the Ring", "The Hobbit"), titles(result));
+    }
+
+    @Test
+    void searchByField_IsCaseInsensitiveSubstringMatch() {
+        assertEquals(2, bookSearchService.searchByAuthor("TOLK", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, bookSearchService.searchByTitle("brief hist", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, bookSearchService.searchByCategory("cien", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void searches_AreServedByTheSearchIndexes() {
+        // Too few rows for the planner to prefer an index on its own
+        jdbcTemplate.execute("SET enable_seqscan = off");
+        try {
+            assertPlanUses("SELECT id FROM books b WHERE lower(b.title) LIKE '%hobb%'", "idx_books_title_trgm");
+            assertPlanUses("SELECT id FROM books b WHERE b.search_vector @@ plainto_tsquery('simple', 'ring')",
+                    "idx_books_search_vector");
+            assertPlanUses("SELECT id FROM members m WHERE lower(m.email) LIKE '%example%'", "idx_members_email_trgm");
+        } finally {
+            jdbcTemplate.execute("RESET enable_seqscan");
+        }
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertTrue(plan.contains(index), () -> "expected " + index + " in plan:\n" + plan);
+    }
+
+    private List<String> titles(Page<BookDTO> page) {
+        return page.getContent().stream().map(BookDTO::getTitle).toList();
+    }
+
+    private void book(String title, String author, String category, String isbn) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setCategory(category);
+        book.setIsbn(isbn);
+        book.setPublicationYear(2000);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        bookRepository.save(book);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -5,6 +5,9 @@ import com.library.management.dto.MemberDTO;
 import com.library.management.entity.Book;
 import com.library.management.entity.Member;
 import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSearchQuery;
+import com.library.management.search.SearchHits;
 import com.library.management.repository.MemberRepository;
 import com.library.management.service.impl.SearchServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,10 +23,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +38,9 @@ class SearchServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
     @Mock
     private MemberRepository memberRepository;
 
@@ -72,6 +81,23 @@ class SearchServiceTest {
         assertEquals(testBook.getTitle(), result.getContent().get(0).getTitle());
     }
 
+    @Test
+    void searchBooks_IndexReady_ServesRankedHits() {
+        Book second = new Book();
+        second.setId(2L);
+        second.setTitle("Testing Patterns");
+        when(bookSearchIndex.search(any(BookSearchQuery.class), any(Pageable.class)))
+                .thenReturn(Optional.of(new SearchHits(List.of(2L, 1L), 2)));
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testBook, second));
+
+        Page<BookDTO> result = searchService.searchBooks("test", pageable);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(1).getId());
+        verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void searchBooksByTitle_Success() {
         Page<Book> bookPage = new PageImpl<>(List.of(testBook));
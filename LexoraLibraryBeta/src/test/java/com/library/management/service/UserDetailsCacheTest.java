@@ -0,0 +1,98 @@
+package com.library.management.service;
+
+import com.library.management.config.CacheConfig;
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import com.library.management.security.ValidatedTokenCache;
+import com.library.management.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, UserServiceImpl.class})
+class UserDetailsCacheTest {
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private ValidatedTokenCache validatedTokenCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+        user = new User();
+        user.setId(1L);
+        user.setUsername("librarian");
+        user.setPassword("encoded");
+        user.addRole("LIBRARIAN");
+        when(userRepository.findByUsername("librarian")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void loadUserByUsername_SecondCallServedFromCache() {
+        assertSame(user, userService.loadUserByUsername("librarian"));
+        assertSame(user, userService.loadUserByUsername("librarian"));
+
+        verify(userRepository, times(1)).findByUsername("librarian");
+    }
+
+    @Test
+    void accountChanges_EvictCachedPrincipal() {
+        userService.loadUserByUsername("librarian");
+
+        userService.addRole(1L, "admin");
+        userService.loadUserByUsername("librarian");
+        userService.removeRole(1L, "admin");
+        userService.loadUserByUsername("librarian");
+        userService.deleteUser(1L);
+        userService.loadUserByUsername("librarian");
+
+        verify(userRepository, times(4)).findByUsername("librarian");
+        verify(validatedTokenCache, times(3)).invalidateUser("librarian");
+    }
+
+    @Test
+    void loadRacingAnEviction_IsNotCached() {
+        when(validatedTokenCache.generation("librarian")).thenReturn(0L, 1L, 1L);
+
+        userService.loadUserByUsername("librarian");
+        userService.loadUserByUsername("librarian");
+        userService.loadUserByUsername("librarian");
+
+        verify(userRepository, times(2)).findByUsername("librarian");
+    }
+
+    @Test
+    void unknownUser_NotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(Exception.class, () -> userService.loadUserByUsername("ghost"));
+        assertThrows(Exception.class, () -> userService.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+}
@@ -4,6 +4,7 @@ import com.library.management.dto.UserDTO;
 import com.library.management.entity.User;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.UserRepository;
+import com.library.management.security.ValidatedTokenCache;
 import com.library.management.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -31,6 +34,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ValidatedTokenCache validatedTokenCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache userDetailsCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -60,6 +72,7 @@ class UserServiceTest {
 
     @Test
     void loadUserByUsername_Success() {
+        when(cacheManager.getCache("userDetails")).thenReturn(userDetailsCache);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         User result = (User) userService.loadUserByUsername("testuser");
@@ -71,6 +84,7 @@ class UserServiceTest {
 
     @Test
     void loadUserByUsername_UserNotFound() {
+        when(cacheManager.getCache("userDetails")).thenReturn(userDetailsCache);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> 
@@ -125,6 +139,7 @@ class UserServiceTest {
         when(passwordEncoder.matches("oldPassword", "encodedPassword")).thenReturn(true);
         when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache("userDetails")).thenReturn(userDetailsCache);
 
         userService.changePassword(1L, "oldPassword", "newPassword");
 
@@ -133,6 +148,8 @@ class UserServiceTest {
         verify(userRepository).save(argThat(user -> 
             user.getPassword().equals("newEncodedPassword")
         ));
+        verify(userDetailsCache).evict("testuser");
+        verify(validatedTokenCache).invalidateUser("testuser");
     }
 
     @Test